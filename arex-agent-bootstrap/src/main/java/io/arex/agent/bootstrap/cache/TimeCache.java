@@ -1,38 +1,72 @@
 package io.arex.agent.bootstrap.cache;
 
-import io.arex.agent.bootstrap.TraceContextManager;
-import io.arex.agent.bootstrap.internal.Pair;
+import io.arex.agent.bootstrap.ctx.ArexThreadLocal;
 
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Mocked time of the replaying case, stored in the current thread (transmitted with the trace context).
+ * Time machine advices call {@link #get()} on every clock call in the JVM, so when no replay with mocked time
+ * is active it only reads {@link #ACTIVE_COUNT}.
+ */
 public class TimeCache {
-    private static final ConcurrentHashMap<String, Pair<Long, Long>> CACHE = new ConcurrentHashMap<>(30);
+    /**
+     * number of mocked times put and not yet removed
+     */
+    private static final AtomicInteger ACTIVE_COUNT = new AtomicInteger(0);
+    private static final ArexThreadLocal<MockedTime> TIME_CONTEXT = new ArexThreadLocal<>();
 
     public static long get() {
-        String traceId = TraceContextManager.get();
-        if (traceId == null) {
+        if (ACTIVE_COUNT.get() == 0) {
             return 0L;
         }
-        Pair<Long, Long> time = CACHE.get(traceId);
-        return time == null ? 0L :
-                time.getFirst() + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - time.getSecond());
+        MockedTime time = TIME_CONTEXT.get();
+        if (time == null || !time.active.get()) {
+            return 0L;
+        }
+        return time.millis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - time.nanoTime);
     }
 
     public static void put(long value) {
-        String traceId = TraceContextManager.get();
-        if (traceId != null) {
-            CACHE.put(traceId, Pair.of(value, System.nanoTime()));
+        MockedTime time = TIME_CONTEXT.get();
+        if (time != null) {
+            time.deactivate();
         }
+        ACTIVE_COUNT.incrementAndGet();
+        TIME_CONTEXT.set(new MockedTime(value, System.nanoTime()));
     }
 
+    /**
+     * The mocked time ends for all threads it was transmitted to, whichever thread removes it
+     */
     public static void remove() {
-        remove(TraceContextManager.get());
+        MockedTime time = TIME_CONTEXT.get();
+        if (time == null) {
+            return;
+        }
+        TIME_CONTEXT.remove();
+        time.deactivate();
     }
 
-    public static void remove(String traceId) {
-        if (traceId != null) {
-            CACHE.remove(traceId);
+    private static final class MockedTime {
+        private final long millis;
+        /**
+         * System.nanoTime() when put
+         */
+        private final long nanoTime;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        MockedTime(long millis, long nanoTime) {
+            this.millis = millis;
+            this.nanoTime = nanoTime;
+        }
+
+        void deactivate() {
+            if (active.compareAndSet(true, false)) {
+                ACTIVE_COUNT.decrementAndGet();
+            }
         }
     }
 }
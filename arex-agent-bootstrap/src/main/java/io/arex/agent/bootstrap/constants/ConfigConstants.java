@@ -13,6 +13,8 @@ public class ConfigConstants {
     public static final String DYNAMIC_RESULT_SIZE_LIMIT = "arex.dynamic.result.size.limit";
     public static final String TIME_MACHINE = "arex.time.machine";
     public static final String STORAGE_SERVICE_MODE = "arex.storage.mode";
+    public static final String LOCAL_STORAGE_DIR = "arex.storage.local.dir";
+    public static final String LOCAL_STORAGE_MAX_SIZE = "arex.storage.local.max.size";
     public static final String ALLOW_DAY_WEEKS = "arex.allow.day.weeks";
     public static final String ALLOW_TIME_FROM = "arex.allow.time.from";
     public static final String ALLOW_TIME_TO = "arex.allow.time.to";
@@ -24,6 +26,13 @@ public class ConfigConstants {
     public static final String DUBBO_STREAM_REPLAY_THRESHOLD = "arex.dubbo.replay.threshold";
     public static final String DISABLE_REPLAY = "arex.disable.replay";
     public static final String DISABLE_RECORD = "arex.disable.record";
+    public static final String REPLAY_PREFETCH = "arex.replay.prefetch";
+    public static final String HTTP_BODY_MAX_CAPTURE_SIZE = "arex.http.body.max.capture.size";
+    public static final String HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE = "arex.httpclient.body.max.capture.size";
+    public static final String SERVLET_RESPONSE_TEE = "arex.servlet.response.tee";
+    public static final String MOCKER_RAW_JSON_BODY = "arex.mocker.raw.json.body";
+    public static final String HEADER_INCLUDE = "arex.header.include";
+    public static final String HEADER_EXCLUDE = "arex.header.exclude";
     public static final String DURING_WORK = "arex.during.work";
     public static final String AGENT_VERSION = "arex.agent.version";
     public static final String IP_VALIDATE = "arex.ip.validate";
@@ -31,6 +40,12 @@ public class ConfigConstants {
     public static final String DECELERATE_CODE = "arex.decelerate.code";
     public static final String SERIALIZER_CONFIG = "arex.serializer.config";
     public static final String BUFFER_SIZE = "arex.buffer.size";
+    public static final String RECORD_WORKER_COUNT = "arex.record.worker.count";
+    public static final String RECORD_BATCH_SIZE = "arex.record.batch.size";
+    public static final String RECORD_BATCH_LINGER_MS = "arex.record.batch.linger.ms";
+    public static final String RECORD_SPOOL_DIR = "arex.record.spool.dir";
+    public static final String RECORD_SPOOL_MAX_SIZE = "arex.record.spool.max.size";
+    public static final String RECORD_SPOOL_SEGMENT_SIZE = "arex.record.spool.segment.size";
     public static final String SHADED_LOGGER_SHOW_DATE_TIME = "shaded.org.slf4j.simpleLogger.showDateTime";
     public static final String SHADED_LOGGER_DATE_TIME_FORMAT = "shaded.org.slf4j.simpleLogger.dateTimeFormat";
 }
@@ -42,6 +42,10 @@ public interface Mocker extends Serializable {
         private String body;
         private Map<String, Object> attributes;
         private String type;
+        /**
+         * the body is json produced by the serializer, not serialized itself
+         */
+        private transient boolean jsonBody;
 
         public Target() {
         }
@@ -81,6 +85,19 @@ public interface Mocker extends Serializable {
 
         public void setBody(String body) {
             this.body = body;
+            this.jsonBody = false;
+        }
+
+        /**
+         * Set a body known to be json, it may be embedded as a raw json value when the mocker is serialized
+         */
+        public void setJsonBody(String body) {
+            this.body = body;
+            this.jsonBody = true;
+        }
+
+        public boolean jsonBody() {
+            return this.jsonBody;
         }
 
         public void setAttributes(Map<String, Object> attributes) {
@@ -1,44 +1,69 @@
 package io.arex.agent.bootstrap.cache;
 
-import io.arex.agent.bootstrap.TraceContextManager;
-import io.arex.agent.bootstrap.internal.Pair;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
-import java.lang.reflect.Field;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 class TimeCacheTest {
-    @BeforeAll
-    static void setUp() {
-        Mockito.mockStatic(TraceContextManager.class);
-    }
-
-    @AfterAll
-    static void tearDown() {
-        Mockito.clearAllCaches();
-    }
 
     @Test
     void getAndPutAndRemove() {
-        // traceId is null
-        Mockito.when(TraceContextManager.get()).thenReturn(null);
+        // not put
         assertEquals(0, TimeCache.get());
-        TimeCache.put(1L);
+        TimeCache.remove();
         assertEquals(0, TimeCache.get());
 
-        // traceId is not null
-        Mockito.when(TraceContextManager.get()).thenReturn("test");
-        assertEquals(0, TimeCache.get());
         TimeCache.put(1L);
         assertNotEquals(0, TimeCache.get());
 
+        // other thread without trace context
+        assertEquals(0L, CompletableFuture.supplyAsync(TimeCache::get).join());
+
         // remove
         TimeCache.remove();
         assertEquals(0, TimeCache.get());
     }
+
+    @Test
+    void transmit() {
+        TimeCache.put(1L);
+        TraceTransmitter transmitter = TraceTransmitter.create();
+        long actual = CompletableFuture.supplyAsync(() -> {
+            try (TraceTransmitter tm = transmitter.transmit()) {
+                return TimeCache.get();
+            }
+        }).join();
+        assertNotEquals(0, actual);
+        assertNotEquals(0, TimeCache.get());
+
+        TimeCache.remove();
+        assertEquals(0, TimeCache.get());
+    }
+
+    @Test
+    void removeInOtherThread() {
+        TimeCache.put(1L);
+        TraceTransmitter transmitter = TraceTransmitter.create();
+        // exit of the case on another thread ends the mocked time
+        CompletableFuture.runAsync(() -> {
+            try (TraceTransmitter tm = transmitter.transmit()) {
+                TimeCache.remove();
+            }
+        }).join();
+        assertEquals(0, TimeCache.get());
+        // removed once
+        TimeCache.remove();
+
+        TimeCache.put(1L);
+        TimeCache.put(2L);
+        TimeCache.remove();
+        assertEquals(0, CompletableFuture.supplyAsync(() -> {
+            TimeCache.put(3L);
+            TimeCache.remove();
+            return TimeCache.get();
+        }).join());
+        assertEquals(0, TimeCache.get());
+    }
 }
@@ -8,6 +8,7 @@ import io.arex.foundation.healthy.HealthManager;
 import io.arex.foundation.serializer.JacksonSerializer;
 import io.arex.foundation.services.ConfigService;
 import io.arex.foundation.services.DataCollectorService;
+import io.arex.foundation.services.LocalDataCollector;
 import io.arex.foundation.services.TimerService;
 import io.arex.foundation.util.NetUtils;
 import io.arex.inst.extension.ExtensionTransformer;
@@ -130,10 +131,10 @@ public abstract class BaseAgentInstaller implements AgentInstaller {
     private void initDataCollector() {
         DataCollector collector = DataCollectorService.INSTANCE;
         if (ConfigManager.INSTANCE.isLocalStorage()) {
+            // an extension collector takes precedence over the embedded one
             List<DataCollector> extendCollectorList = ServiceLoader.load(DataCollector.class, getClassLoader());
-            if (CollectionUtil.isNotEmpty(extendCollectorList)) {
-                collector = extendCollectorList.get(0);
-            }
+            collector = CollectionUtil.isNotEmpty(extendCollectorList) ?
+                extendCollectorList.get(0) : LocalDataCollector.INSTANCE;
         }
         collector.start();
         DataService.builder().setDataCollector(collector).build();
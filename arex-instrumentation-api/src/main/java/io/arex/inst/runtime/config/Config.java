@@ -44,6 +44,8 @@ public class Config {
     private final int recordRate;
     private final String recordVersion;
     private final Set<String> includeServiceOperations;
+    private final boolean rawJsonBody;
+    private final HeaderFilter headerFilter;
 
     Config(boolean enableDebug, String serviceName, List<DynamicClassEntity> dynamicClassList,
         Map<String, String> properties,
@@ -57,6 +59,9 @@ public class Config {
         this.recordRate = recordRate;
         this.recordVersion = properties.get("arex.agent.version");
         this.includeServiceOperations = StringUtil.splitToSet(properties.get("includeServiceOperations"), ',');
+        this.rawJsonBody = Boolean.parseBoolean(properties.get(ConfigConstants.MOCKER_RAW_JSON_BODY));
+        this.headerFilter = HeaderFilter.compile(properties.get(ConfigConstants.HEADER_INCLUDE),
+            properties.get(ConfigConstants.HEADER_EXCLUDE));
         buildDynamicClassInfo();
     }
 
@@ -177,6 +182,17 @@ public class Config {
         return includeServiceOperations;
     }
 
+    /**
+     * Whether the json bodies of the mocker are embedded as raw json values instead of escaped strings
+     */
+    public boolean isRawJsonBody() {
+        return rawJsonBody;
+    }
+
+    public HeaderFilter getHeaderFilter() {
+        return headerFilter;
+    }
+
     public boolean isLocalStorage() {
         return STORAGE_MODE.equalsIgnoreCase(getString(STORAGE_SERVICE_MODE));
     }
@@ -0,0 +1,94 @@
+package io.arex.inst.runtime.config;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.util.StringUtil;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Headers captured into servlet, netty and http client mockers, compiled once per config from
+ * {@link ConfigConstants#HEADER_INCLUDE} and {@link ConfigConstants#HEADER_EXCLUDE} (comma separated, ignoring case).
+ * With an include list only the listed headers are captured, excluded headers are never captured.
+ * Arex headers and the content type/encoding needed to replay a body are always captured.
+ * <p>
+ * Decisions are cached per header name, captured names are shared between mockers instead of copied per request.
+ */
+public class HeaderFilter {
+    static final HeaderFilter CAPTURE_ALL = new HeaderFilter(null, null);
+    /**
+     * header names are a small set in practice, beyond that names are checked without caching
+     */
+    private static final int MAX_CACHED_NAMES = 1024;
+    private static final String NOT_CAPTURED = "";
+
+    private final Set<String> includes;
+    private final Set<String> excludes;
+    private final ConcurrentHashMap<String, String> capturedNames = new ConcurrentHashMap<>();
+
+    private HeaderFilter(Set<String> includes, Set<String> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    static HeaderFilter compile(String include, String exclude) {
+        if (StringUtil.isEmpty(include) && StringUtil.isEmpty(exclude)) {
+            return CAPTURE_ALL;
+        }
+        return new HeaderFilter(toLowerCaseSet(include), toLowerCaseSet(exclude));
+    }
+
+    private static Set<String> toLowerCaseSet(String names) {
+        if (StringUtil.isEmpty(names)) {
+            return null;
+        }
+        Set<String> set = new HashSet<>();
+        for (String name : StringUtil.split(names, ',')) {
+            String lowerName = name.trim().toLowerCase(Locale.ROOT);
+            if (!lowerName.isEmpty()) {
+                set.add(lowerName);
+            }
+        }
+        return set.isEmpty() ? null : set;
+    }
+
+    public static HeaderFilter get() {
+        Config config = Config.get();
+        HeaderFilter filter = config == null ? null : config.getHeaderFilter();
+        return filter == null ? CAPTURE_ALL : filter;
+    }
+
+    /**
+     * @return the shared name to capture the header under, null if the header is not captured
+     */
+    public String capture(String name) {
+        if (name == null) {
+            return null;
+        }
+        String captured = capturedNames.get(name);
+        if (captured == null) {
+            captured = accept(name) ? name : NOT_CAPTURED;
+            if (capturedNames.size() < MAX_CACHED_NAMES) {
+                String previous = capturedNames.putIfAbsent(name, captured);
+                captured = previous != null ? previous : captured;
+            }
+        }
+        return captured == NOT_CAPTURED ? null : captured;
+    }
+
+    private boolean accept(String name) {
+        if (includes == null && excludes == null) {
+            return true;
+        }
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        if (lowerName.startsWith("arex") || "content-type".equals(lowerName) || "content-encoding".equals(lowerName)) {
+            return true;
+        }
+        if (excludes != null && excludes.contains(lowerName)) {
+            return false;
+        }
+        return includes == null || includes.contains(lowerName);
+    }
+}
@@ -3,6 +3,7 @@ package io.arex.inst.runtime.context;
 import io.arex.agent.bootstrap.util.ConcurrentHashSet;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.model.RepeatCounter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,7 +20,9 @@ public class ArexContext {
     private final AtomicInteger sequence;
     private Set<Integer> methodSignatureHashList;
     private Map<String, Object> cachedReplayResultMap;
+    private Map<Integer, RepeatCounter> repeatCounterMap;
     private Map<String, Set<String>> excludeMockTemplate;
+    private ReplayMockerCache replayMockerCache;
 
     private Map<String, Object> attachments = null;
 
@@ -78,6 +81,17 @@ public class ArexContext {
         }
         return cachedReplayResultMap;
     }
+
+    /**
+     * signature hash of the recorded call to the counter of the identical calls collapsed into its mocker
+     */
+    public Map<Integer, RepeatCounter> getRepeatCounterMap() {
+        if (repeatCounterMap == null) {
+            repeatCounterMap = new ConcurrentHashMap<>();
+        }
+        return repeatCounterMap;
+    }
+
     public Map<String, Set<String>> getExcludeMockTemplate() {
         return excludeMockTemplate;
     }
@@ -86,6 +100,14 @@ public class ArexContext {
         this.excludeMockTemplate = excludeMockTemplate;
     }
 
+    public ReplayMockerCache getReplayMockerCache() {
+        return replayMockerCache;
+    }
+
+    public void setReplayMockerCache(ReplayMockerCache replayMockerCache) {
+        this.replayMockerCache = replayMockerCache;
+    }
+
     public void setAttachment(String key, Object value) {
         if (attachments == null) {
             attachments = new HashMap<>();
@@ -145,11 +167,15 @@ public class ArexContext {
         if (cachedReplayResultMap != null) {
             cachedReplayResultMap.clear();
         }
+        if (repeatCounterMap != null) {
+            repeatCounterMap.clear();
+        }
         if (excludeMockTemplate != null) {
             excludeMockTemplate.clear();
         }
         if (attachments != null) {
             attachments.clear();
         }
+        replayMockerCache = null;
     }
 }
@@ -1,6 +1,7 @@
 package io.arex.inst.runtime.context;
 
 import io.arex.agent.bootstrap.TraceContextManager;
+import io.arex.agent.bootstrap.ctx.ArexThreadLocal;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.listener.ContextListener;
 
@@ -11,12 +12,17 @@ import java.util.Map;
 public class ContextManager {
     private static final Map<String, ArexContext> RECORD_MAP = new LatencyContextHashMap();
     private static final List<ContextListener> LISTENERS = new ArrayList<>();
+    /**
+     * the context of current thread, transmitted to async threads together with the trace id,
+     * so the checks of advices only need one thread local read
+     */
+    private static final ArexThreadLocal<ArexContext> CONTEXT = new ArexThreadLocal<>();
 
     /**
      * agent call this method
      */
     public static ArexContext currentContext() {
-        return currentContext(false, null);
+        return CONTEXT.get();
     }
 
     /**
@@ -33,9 +39,26 @@ public class ContextManager {
             final ArexContext arexContext = createContext(recordId, traceId);
             publish(arexContext, true);
             RECORD_MAP.put(traceId, arexContext);
+            CONTEXT.set(arexContext);
             return arexContext;
         }
-        return RECORD_MAP.get(traceId);
+        return CONTEXT.get();
+    }
+
+    /**
+     * Bind the context created by other thread to the current thread, ex: 302 redirect request, dubbo stream callback
+     */
+    public static void bindContext(String traceId) {
+        TraceContextManager.set(traceId);
+        CONTEXT.set(RECORD_MAP.get(traceId));
+    }
+
+    /**
+     * Unbind the context from the current thread without completing it
+     */
+    public static void unbindContext() {
+        TraceContextManager.remove();
+        CONTEXT.remove();
     }
 
     /**
@@ -69,6 +92,7 @@ public class ContextManager {
     }
 
     public static void remove() {
+        CONTEXT.remove();
         String caseId = TraceContextManager.remove();
         if (StringUtil.isEmpty(caseId)) {
             return;
@@ -1,7 +1,5 @@
 package io.arex.inst.runtime.context;
 
-import io.arex.agent.bootstrap.cache.TimeCache;
-
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -34,10 +32,6 @@ final class LatencyContextHashMap extends ConcurrentHashMap<String, ArexContext>
         if (latencyMap != null && context != null) {
             latencyMap.put(String.valueOf(key), context);
         }
-        // todo: time put into ArexContext
-        if (latencyMap == null) {
-            TimeCache.remove(String.valueOf(key));
-        }
         super.remove(key);
         overdueCleanUp();
 
@@ -61,7 +55,6 @@ final class LatencyContextHashMap extends ConcurrentHashMap<String, ArexContext>
                         // clear context attachments
                         entry.getValue().clear();
                         latencyMap.remove(entry.getKey());
-                        TimeCache.remove(entry.getKey());
                     }
                 }
             } finally {
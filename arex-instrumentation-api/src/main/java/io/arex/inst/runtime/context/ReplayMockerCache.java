@@ -0,0 +1,189 @@
+package io.arex.inst.runtime.context;
+
+import io.arex.agent.bootstrap.model.MockStrategyEnum;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.util.CollectionUtil;
+import io.arex.agent.bootstrap.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Recorded mockers of the replaying case, fetched asynchronously when the replay context is created.
+ * Once loaded the cache answers every replay of the case, matched the same way as the storage service:
+ * in recording order by category, operation and request, then by category and operation unless strict matching.
+ * The last matched mocker is reused only by {@link MockStrategyEnum#FIND_LAST}.
+ * <p>
+ * Polls before the mockers are loaded wait for them and are matched in call order.
+ */
+public class ReplayMockerCache {
+    private final Object lock = new Object();
+    /**
+     * category and operation to the mockers in recording order, null while loading
+     */
+    private Map<String, List<Entry>> mockerMap;
+    private List<PendingPoll> pendingPolls;
+    private volatile boolean available;
+
+    public ReplayMockerCache() {
+    }
+
+    public ReplayMockerCache(List<? extends Mocker> mockers) {
+        load(mockers);
+    }
+
+    /**
+     * @param mockers null if the prefetch failed, then the cache is not available and polls complete with null
+     */
+    public void load(List<? extends Mocker> mockers) {
+        Map<String, List<Entry>> loadedMap = new HashMap<>();
+        if (CollectionUtil.isNotEmpty(mockers)) {
+            List<Mocker> sortedList = new ArrayList<>(mockers);
+            sortedList.removeIf(Objects::isNull);
+            sortedList.sort(Comparator.comparingLong(Mocker::getCreationTime));
+            for (Mocker mocker : sortedList) {
+                if (mocker.getCategoryType() == null || mocker.getCategoryType().isEntryPoint()) {
+                    continue;
+                }
+                loadedMap.computeIfAbsent(buildKey(mocker), key -> new ArrayList<>()).add(new Entry(mocker));
+            }
+        }
+        List<PendingPoll> waitingPolls;
+        synchronized (lock) {
+            if (mockerMap != null) {
+                return;
+            }
+            available = mockers != null;
+            mockerMap = loadedMap;
+            waitingPolls = pendingPolls;
+            pendingPolls = null;
+            if (waitingPolls != null) {
+                for (PendingPoll poll : waitingPolls) {
+                    poll.result = match(poll.requestMocker, poll.mockStrategy);
+                }
+            }
+        }
+        if (waitingPolls != null) {
+            for (PendingPoll poll : waitingPolls) {
+                poll.future.complete(poll.result);
+            }
+        }
+    }
+
+    /**
+     * Only valid after the poll completed
+     * @return false if the prefetch failed, the replay is queried from the storage service
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return mockerMap == null || mockerMap.isEmpty();
+        }
+    }
+
+    public Mocker poll(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        return pollAsync(requestMocker, mockStrategy).join();
+    }
+
+    /**
+     * @return the matched mocker, null if not matched or the cache is not available
+     */
+    public CompletableFuture<Mocker> pollAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        synchronized (lock) {
+            if (mockerMap != null) {
+                return CompletableFuture.completedFuture(match(requestMocker, mockStrategy));
+            }
+            if (pendingPolls == null) {
+                pendingPolls = new ArrayList<>();
+            }
+            PendingPoll poll = new PendingPoll(requestMocker, mockStrategy);
+            pendingPolls.add(poll);
+            return poll.future;
+        }
+    }
+
+    private Mocker match(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        if (!available || requestMocker.getCategoryType() == null) {
+            return null;
+        }
+        List<Entry> entries = mockerMap.get(buildKey(requestMocker));
+        if (entries == null) {
+            return null;
+        }
+        String requestBody = getRequestBody(requestMocker);
+        Entry matched = null;
+        Entry operationMatched = null;
+        Entry lastRequestMatched = null;
+        Entry lastOperationMatched = null;
+        for (Entry entry : entries) {
+            boolean requestMatched = Objects.equals(requestBody, entry.requestBody);
+            if (entry.consumed) {
+                lastRequestMatched = requestMatched ? entry : lastRequestMatched;
+                lastOperationMatched = entry;
+                continue;
+            }
+            if (requestMatched) {
+                matched = entry;
+                break;
+            }
+            if (operationMatched == null) {
+                operationMatched = entry;
+            }
+        }
+        if (matched == null && mockStrategy != MockStrategyEnum.STRICT_MATCH) {
+            matched = operationMatched;
+        }
+        if (matched != null) {
+            matched.consumed = true;
+            return matched.mocker;
+        }
+        if (mockStrategy == MockStrategyEnum.FIND_LAST) {
+            Entry last = lastRequestMatched != null ? lastRequestMatched : lastOperationMatched;
+            return last == null ? null : last.mocker;
+        }
+        return null;
+    }
+
+    private static String buildKey(Mocker mocker) {
+        return mocker.getCategoryType().getName() + '_' + mocker.getOperationName();
+    }
+
+    private static String getRequestBody(Mocker mocker) {
+        if (mocker.getTargetRequest() == null) {
+            return null;
+        }
+        String body = mocker.getTargetRequest().getBody();
+        return StringUtil.isEmpty(body) ? null : body;
+    }
+
+    private static class Entry {
+        private final Mocker mocker;
+        private final String requestBody;
+        private boolean consumed;
+
+        Entry(Mocker mocker) {
+            this.mocker = mocker;
+            this.requestBody = getRequestBody(mocker);
+        }
+    }
+
+    private static class PendingPoll {
+        private final Mocker requestMocker;
+        private final MockStrategyEnum mockStrategy;
+        private final CompletableFuture<Mocker> future = new CompletableFuture<>();
+        private Mocker result;
+
+        PendingPoll(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+            this.requestMocker = requestMocker;
+            this.mockStrategy = mockStrategy;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.arex.inst.runtime.listener;
 
 import io.arex.agent.bootstrap.cache.TimeCache;
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.model.InitializeEnum;
@@ -66,6 +67,9 @@ public class EventProcessor {
         ArexContext context = ContextManager.currentContext(true, source.getCaseId());
         if (context != null) {
             context.setExcludeMockTemplate(Serializer.deserialize(source.getExcludeMockTemplate(), EXCLUDE_MOCK_TYPE));
+            if (context.isReplay() && Config.get().getBoolean(ConfigConstants.REPLAY_PREFETCH, false)) {
+                MockUtils.prefetchReplayMockers(context);
+            }
         }
     }
 
@@ -89,6 +93,7 @@ public class EventProcessor {
     }
 
     public static void onExit(){
+        TimeCache.remove();
         ContextManager.remove();
     }
 
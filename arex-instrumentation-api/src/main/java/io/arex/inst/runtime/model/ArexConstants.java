@@ -36,4 +36,9 @@ public class ArexConstants {
     public static final String CONFIG_VERSION = "configBatchNo";
     public static final String SKIP_FLAG = "arex-skip-flag";
     public static final String ORIGINAL_REQUEST = "arex-original-request";
+    public static final String BODY_TRUNCATED = "BodyTruncated";
+    public static final String BODY_LENGTH = "BodyLength";
+    public static final String BODY_HASH = "BodyHash";
+    public static final String BODY_PARTIAL = "BodyPartial";
+    public static final String REPEAT_COUNT = "repeat";
 }
@@ -0,0 +1,98 @@
+package io.arex.inst.runtime.model;
+
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.model.Mocker.Target;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Number of identical consecutive calls collapsed into one recorded mocker, kept as the repeat attribute
+ * of the response. Identical calls are counted until the mocker is serialized, which seals the counter
+ * (the collector replaces the attribute with the final count, the serializer writes it as a number).
+ * An identical call after that is recorded as a new mocker.
+ */
+public class RepeatCounter {
+    /**
+     * positive while counting, negated once sealed
+     */
+    private final AtomicInteger count = new AtomicInteger(1);
+    private final int signature;
+
+    /**
+     * @param signature of the collapsed calls, e.g. the hash of the result
+     */
+    public RepeatCounter(int signature) {
+        this.signature = signature;
+    }
+
+    public int getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return false if sealed, the call should be recorded as a new mocker
+     */
+    public boolean increment() {
+        int current;
+        do {
+            current = count.get();
+            if (current < 0) {
+                return false;
+            }
+        } while (!count.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public int getCount() {
+        return Math.abs(count.get());
+    }
+
+    /**
+     * @return the final count
+     */
+    public int seal() {
+        int current;
+        do {
+            current = count.get();
+            if (current < 0) {
+                return -current;
+            }
+        } while (!count.compareAndSet(current, -current));
+        return current;
+    }
+
+    /**
+     * Called by the collector right before serializing the mocker, the repeat attribute is kept only if repeated.
+     */
+    public static void seal(Mocker mocker) {
+        Target response = mocker.getTargetResponse();
+        if (response == null) {
+            return;
+        }
+        Object counter = response.getAttribute(ArexConstants.REPEAT_COUNT);
+        if (counter instanceof RepeatCounter) {
+            int repeat = ((RepeatCounter) counter).seal();
+            response.setAttribute(ArexConstants.REPEAT_COUNT, repeat > 1 ? repeat : null);
+        }
+    }
+
+    /**
+     * @return the number of identical calls the replayed mocker stands for, at least 1
+     */
+    public static int repeatCount(Mocker mocker) {
+        Target response = mocker.getTargetResponse();
+        Object repeat = response != null ? response.getAttribute(ArexConstants.REPEAT_COUNT) : null;
+        if (repeat instanceof Number) {
+            return Math.max(((Number) repeat).intValue(), 1);
+        }
+        if (repeat instanceof RepeatCounter) {
+            return ((RepeatCounter) repeat).getCount();
+        }
+        // written as a bean by a collector without the counter serializer
+        if (repeat instanceof Map && ((Map<?, ?>) repeat).get("count") instanceof Number) {
+            return Math.max(((Number) ((Map<?, ?>) repeat).get("count")).intValue(), 1);
+        }
+        return 1;
+    }
+}
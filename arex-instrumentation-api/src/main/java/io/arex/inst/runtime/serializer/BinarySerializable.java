@@ -0,0 +1,29 @@
+package io.arex.inst.runtime.serializer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Byte oriented counterpart of {@link StringSerializable}, implemented by serializers which can write UTF-8 json
+ * directly to a stream, so the payload is not materialized as a String and re-encoded.
+ */
+public interface BinarySerializable {
+
+    /**
+     * Serialize to the output stream, the stream is not closed
+     *
+     * @param object object to be serialized
+     * @param outputStream target stream
+     */
+    void serializeTo(Object object, OutputStream outputStream) throws Throwable;
+
+    /**
+     * Deserialize by parameterized type
+     *
+     * @param inputStream UTF-8 json to be deserialized
+     * @param type Class type, example: {@code List<com.xxx.XXXType>}
+     * @return T
+     */
+    <T> T deserializeFrom(InputStream inputStream, Type type) throws Throwable;
+}
@@ -3,6 +3,7 @@ package io.arex.inst.runtime.serializer;
 import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.util.ArrayUtils;
 import io.arex.agent.bootstrap.util.CollectionUtil;
+import io.arex.agent.bootstrap.util.IOUtils;
 import io.arex.agent.bootstrap.util.ReflectUtil;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.config.Config;
@@ -12,7 +13,11 @@ import io.arex.inst.runtime.util.TypeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -122,6 +127,69 @@ public class Serializer {
         }
     }
 
+    /**
+     * Serialize to UTF-8 json bytes without an intermediate String if the serializer is a {@link BinarySerializable}
+     *
+     * @param object object to be serialized
+     * @return null if the object is null or can not be serialized
+     */
+    public static byte[] serializeToBytes(Object object) {
+        if (object == null || INSTANCE == null) {
+            return null;
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            serializeTo(object, outputStream);
+            return outputStream.toByteArray();
+        } catch (Throwable ex) {
+            LogManager.warn("serializer-serializeToBytes", StringUtil.format("can not serialize object: %s, cause: %s", TypeUtil.errorSerializeToString(object), ex.toString()));
+            return null;
+        }
+    }
+
+    /**
+     * Serialize to the output stream as UTF-8 json with the default serializer
+     */
+    public static void serializeTo(Object object, OutputStream outputStream) throws Throwable {
+        if (object == null || INSTANCE == null) {
+            return;
+        }
+        StringSerializable serializer = INSTANCE.getSerializer();
+        if (serializer instanceof BinarySerializable && !(object instanceof Throwable)
+            && TypeUtil.toNestedCollection(object) == null) {
+            ((BinarySerializable) serializer).serializeTo(object, outputStream);
+            return;
+        }
+        String json = serializeWithException(object, null);
+        if (json != null) {
+            outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Deserialize UTF-8 json by parameterized type
+     *
+     * @param inputStream UTF-8 json to be deserialized
+     * @param type Class type, example: {@code List<com.xxx.XXXType>}
+     * @return T
+     */
+    public static <T> T deserializeFrom(InputStream inputStream, Type type) {
+        if (inputStream == null || type == null || INSTANCE == null) {
+            return null;
+        }
+
+        try {
+            StringSerializable serializer = INSTANCE.getSerializer();
+            if (serializer instanceof BinarySerializable) {
+                return ((BinarySerializable) serializer).deserializeFrom(inputStream, type);
+            }
+            return serializer.deserialize(new String(IOUtils.copyToByteArray(inputStream), StandardCharsets.UTF_8), type);
+        } catch (Throwable ex) {
+            LogManager.warn("serializer-deserialize-stream", StringUtil.format("can not deserialize stream to type %s, cause: %s", type.getTypeName(), ex.toString()));
+            return null;
+        }
+    }
+
     /**
      * Deserialize by Class
      *
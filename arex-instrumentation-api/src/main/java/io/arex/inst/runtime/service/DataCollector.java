@@ -3,6 +3,8 @@ package io.arex.inst.runtime.service;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface DataCollector {
     void start();
 
@@ -11,4 +13,28 @@ public interface DataCollector {
     void invalidCase(String postData);
 
     String query(String postData, MockStrategyEnum mockStrategy);
+
+    /**
+     * Query without blocking the caller, used by event loop and reactive instrumentations
+     */
+    default CompletableFuture<String> queryAsync(String postData, MockStrategyEnum mockStrategy) {
+        return CompletableFuture.completedFuture(query(postData, mockStrategy));
+    }
+
+    /**
+     * Query all recorded mockers of a case
+     * @return json array of mockers, null if not supported
+     */
+    default String queryAll(String postData) {
+        return null;
+    }
+
+    /**
+     * Query all recorded mockers of a case without blocking the caller
+     * @return future of the json array of mockers, null if not supported
+     */
+    default CompletableFuture<String> queryAllAsync(String postData) {
+        String data = queryAll(postData);
+        return data == null ? null : CompletableFuture.completedFuture(data);
+    }
 }
@@ -3,6 +3,8 @@ package io.arex.inst.runtime.service;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
 
+import java.util.concurrent.CompletableFuture;
+
 public class DataService {
 
     public static DataService INSTANCE;
@@ -29,6 +31,18 @@ public class DataService {
         return saver.query(data, mockStrategy);
     }
 
+    public CompletableFuture<String> queryAsync(String data, MockStrategyEnum mockStrategy) {
+        return saver.queryAsync(data, mockStrategy);
+    }
+
+    public String queryAll(String data) {
+        return saver.queryAll(data);
+    }
+
+    public CompletableFuture<String> queryAllAsync(String data) {
+        return saver.queryAllAsync(data);
+    }
+
     public static class Builder {
 
         private DataCollector collector;
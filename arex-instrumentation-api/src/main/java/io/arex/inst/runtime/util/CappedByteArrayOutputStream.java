@@ -0,0 +1,86 @@
+package io.arex.inst.runtime.util;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.inst.runtime.config.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable buffer to capture a http body from its chunks, each byte is copied once (amortized linear).
+ * Once the size exceeds {@link ConfigConstants#HTTP_BODY_MAX_CAPTURE_SIZE} the captured bytes are dropped
+ * and the following writes are ignored, callers record no body in that case.
+ */
+public class CappedByteArrayOutputStream extends ByteArrayOutputStream {
+    private static final byte[] EMPTY = new byte[0];
+    private final int maxSize;
+    private boolean exceeded;
+
+    public CappedByteArrayOutputStream() {
+        this(defaultMaxSize());
+    }
+
+    /**
+     * @param maxSize max bytes to capture, 0 or negative means unlimited
+     */
+    public CappedByteArrayOutputStream(int maxSize) {
+        super();
+        this.maxSize = maxSize;
+    }
+
+    private static int defaultMaxSize() {
+        Config config = Config.get();
+        return config == null ? 0 : config.getInt(ConfigConstants.HTTP_BODY_MAX_CAPTURE_SIZE, 0);
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (reserve(1)) {
+            super.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (reserve(len)) {
+            super.write(b, off, len);
+        }
+    }
+
+    /**
+     * Copy the remaining bytes of the buffer, the position of the buffer is not changed
+     */
+    public synchronized void write(ByteBuffer buffer) {
+        int len = buffer.remaining();
+        if (!reserve(len)) {
+            return;
+        }
+        if (buffer.hasArray()) {
+            super.write(buffer.array(), buffer.arrayOffset() + buffer.position(), len);
+            return;
+        }
+        if (count + len > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + len));
+        }
+        buffer.duplicate().get(buf, count, len);
+        count += len;
+    }
+
+    public synchronized boolean isExceeded() {
+        return exceeded;
+    }
+
+    private boolean reserve(int len) {
+        if (exceeded) {
+            return false;
+        }
+        if (maxSize > 0 && count + len > maxSize) {
+            exceeded = true;
+            count = 0;
+            buf = EMPTY;
+            return false;
+        }
+        return true;
+    }
+}
@@ -5,18 +5,27 @@ import io.arex.agent.bootstrap.model.MockCategoryType;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.model.Mocker.Target;
+import io.arex.agent.bootstrap.model.ParameterizedTypeImpl;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.context.ReplayMockerCache;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.service.DataService;
 
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public final class MockUtils {
 
     private static final String EMPTY_JSON = "{}";
+    private static final Type MOCKER_LIST_TYPE = ParameterizedTypeImpl.make(ArrayList.class,
+        new Type[]{ArexMocker.class}, null);
 
     private MockUtils() {
     }
@@ -88,10 +97,17 @@ public final class MockUtils {
         return mocker;
     }
 
+    /**
+     * The mocker is serialized later on a record worker, it must not be modified after this call.
+     * The bodies are serialized strings already, the attribute maps are copied here, so that changes of a map
+     * shared with the application (e.g. the servlet extension attributes) are not recorded.
+     */
     public static void recordMocker(Mocker requestMocker) {
         if (CaseManager.isInvalidCase(requestMocker.getRecordId())) {
             return;
         }
+        detachAttributes(requestMocker.getTargetRequest());
+        detachAttributes(requestMocker.getTargetResponse());
 
         if (Config.get().isEnableDebug()) {
             LogManager.info(requestMocker.recordLogTitle(), StringUtil.format("%s%nrequest: %s", requestMocker.logBuilder().toString(), Serializer.serialize(requestMocker)));
@@ -100,15 +116,61 @@ public final class MockUtils {
         DataService.INSTANCE.save(requestMocker);
     }
 
+    private static void detachAttributes(Target target) {
+        if (target != null && target.getAttributes() != null) {
+            target.setAttributes(new HashMap<>(target.getAttributes()));
+        }
+    }
+
     public static Mocker replayMocker(Mocker requestMocker) {
         return replayMocker(requestMocker, MockStrategyEnum.OVER_BREAK);
     }
 
     public static Mocker replayMocker(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        ReplayMockerCache mockerCache = replayMockerCache();
+        if (mockerCache != null) {
+            Mocker prefetchMocker = mockerCache.poll(requestMocker, mockStrategy);
+            if (mockerCache.isAvailable()) {
+                return replayFromPrefetch(requestMocker, mockStrategy, prefetchMocker);
+            }
+        }
+
         String postJson = Serializer.serialize(requestMocker);
 
         String data = DataService.INSTANCE.query(postJson, mockStrategy);
 
+        return parseReplayData(requestMocker, postJson, data);
+    }
+
+    public static CompletableFuture<Mocker> replayMockerAsync(Mocker requestMocker) {
+        return replayMockerAsync(requestMocker, MockStrategyEnum.OVER_BREAK);
+    }
+
+    /**
+     * Replay without blocking the caller, for event loop threads and reactive pipelines.
+     * The request is serialized on the caller thread, the response is parsed on the thread completing the query.
+     */
+    public static CompletableFuture<Mocker> replayMockerAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        ReplayMockerCache mockerCache = replayMockerCache();
+        if (mockerCache != null) {
+            return mockerCache.pollAsync(requestMocker, mockStrategy).thenCompose(prefetchMocker -> {
+                if (mockerCache.isAvailable()) {
+                    return CompletableFuture.completedFuture(replayFromPrefetch(requestMocker, mockStrategy, prefetchMocker));
+                }
+                return queryReplayAsync(requestMocker, mockStrategy);
+            });
+        }
+        return queryReplayAsync(requestMocker, mockStrategy);
+    }
+
+    private static CompletableFuture<Mocker> queryReplayAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        String postJson = Serializer.serialize(requestMocker);
+
+        return DataService.INSTANCE.queryAsync(postJson, mockStrategy)
+            .thenApply(data -> parseReplayData(requestMocker, postJson, data));
+    }
+
+    private static Mocker parseReplayData(Mocker requestMocker, String postJson, String data) {
         boolean isEnableDebug = Config.get().isEnableDebug();
 
         if (isEnableDebug) {
@@ -127,13 +189,78 @@ public final class MockUtils {
         return Serializer.deserialize(data, ArexMocker.class);
     }
 
+    /**
+     * Fetch all recorded mockers of the case in one request without blocking the caller,
+     * once loaded replayMocker is served from them. If the prefetch fails, the case is replayed from the storage service.
+     */
+    public static void prefetchReplayMockers(ArexContext context) {
+        ArexMocker queryMocker = new ArexMocker();
+        queryMocker.setRecordId(context.getCaseId());
+        queryMocker.setReplayId(context.getReplayId());
+        queryMocker.setAppId(System.getProperty("arex.service.name"));
+        CompletableFuture<String> queryFuture = DataService.INSTANCE.queryAllAsync(Serializer.serialize(queryMocker));
+        if (queryFuture == null) {
+            return;
+        }
+        ReplayMockerCache mockerCache = new ReplayMockerCache();
+        context.setReplayMockerCache(mockerCache);
+        queryFuture.whenComplete((data, throwable) -> {
+            List<ArexMocker> mockers = null;
+            try {
+                if (throwable == null && StringUtil.isNotEmpty(data)) {
+                    mockers = Serializer.deserialize(data, MOCKER_LIST_TYPE);
+                }
+            } catch (Throwable e) {
+                throwable = e;
+            }
+            if (throwable != null) {
+                LogManager.warn("prefetchReplayMockers", StringUtil.format("prefetch mockers failed, recordId: %s, cause: %s",
+                    context.getCaseId(), throwable.toString()));
+            }
+            mockerCache.load(mockers);
+        });
+    }
+
+    private static ReplayMockerCache replayMockerCache() {
+        ArexContext context = ContextManager.currentContext();
+        return context == null ? null : context.getReplayMockerCache();
+    }
+
+    /**
+     * The prefetched mockers answer all replays of the case, so the storage service is not queried for the result.
+     * The replay request of the compared category is still sent through the query, the storage service keeps it
+     * for comparison and consumes its recorded mocker as well.
+     */
+    private static Mocker replayFromPrefetch(Mocker requestMocker, MockStrategyEnum mockStrategy, Mocker prefetchMocker) {
+        if (!requestMocker.getCategoryType().isSkipComparison()) {
+            String postJson = Serializer.serialize(requestMocker);
+            DataService.INSTANCE.queryAsync(postJson, mockStrategy).whenComplete((data, throwable) -> {
+                if (throwable != null) {
+                    LogManager.warn(requestMocker.replayLogTitle(), StringUtil.format("send replay request failed: %s",
+                        throwable.toString()));
+                }
+            });
+        }
+        if (Config.get().isEnableDebug()) {
+            LogManager.info(requestMocker.replayLogTitle(), StringUtil.format("%s%nreplay from prefetch mockers, matched: %s",
+                requestMocker.logBuilder().toString(), String.valueOf(prefetchMocker != null)));
+        }
+        return prefetchMocker;
+    }
+
     public static Object replayBody(Mocker requestMocker) {
         return replayBody(requestMocker, MockStrategyEnum.OVER_BREAK);
     }
 
     public static Object replayBody(Mocker requestMocker, MockStrategyEnum mockStrategy) {
-        Mocker responseMocker = replayMocker(requestMocker, mockStrategy);
+        return parseReplayBody(replayMocker(requestMocker, mockStrategy));
+    }
+
+    public static CompletableFuture<Object> replayBodyAsync(Mocker requestMocker) {
+        return replayMockerAsync(requestMocker, MockStrategyEnum.OVER_BREAK).thenApply(MockUtils::parseReplayBody);
+    }
 
+    private static Object parseReplayBody(Mocker responseMocker) {
         if (!checkResponseMocker(responseMocker)) {
             return null;
         }
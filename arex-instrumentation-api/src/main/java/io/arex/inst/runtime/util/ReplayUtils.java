@@ -0,0 +1,57 @@
+package io.arex.inst.runtime.util;
+
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Bridge of a non-blocking replay (event loop and reactive entry points) to the application continuation.
+ * The replay query completes on the agent's http client thread, the continuation is handed to the executor
+ * with the trace context of the caller, so it never runs on the agent thread or without the context.
+ */
+public class ReplayUtils {
+
+    private ReplayUtils() {
+    }
+
+    /**
+     * A null result is a replay miss and completes with an {@link IllegalStateException}, it is never emitted as
+     * an empty value.
+     *
+     * @param transmitter trace context of the caller, created when the replay is issued
+     * @param executor runs the callback if the future is not done yet, e.g. a reactor scheduler
+     * @param callback called once with the result or the cause, within the trace context of the caller
+     */
+    public static <T> void whenReplayed(CompletableFuture<T> future, TraceTransmitter transmitter, Executor executor,
+        BiConsumer<? super T, ? super Throwable> callback) {
+        if (future.isDone()) {
+            complete(future, transmitter, callback);
+            return;
+        }
+        future.whenComplete((result, throwable) -> executor.execute(() -> complete(future, transmitter, callback)));
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, TraceTransmitter transmitter,
+        BiConsumer<? super T, ? super Throwable> callback) {
+        T result;
+        Throwable cause = null;
+        try {
+            result = future.join();
+            if (result == null) {
+                cause = new IllegalStateException("replay result is missing");
+            }
+        } catch (CompletionException e) {
+            result = null;
+            cause = e.getCause() != null ? e.getCause() : e;
+        } catch (Throwable e) {
+            result = null;
+            cause = e;
+        }
+        try (TraceTransmitter tm = transmitter.transmit()) {
+            callback.accept(result, cause);
+        }
+    }
+}
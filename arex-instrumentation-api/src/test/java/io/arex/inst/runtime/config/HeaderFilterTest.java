@@ -0,0 +1,51 @@
+package io.arex.inst.runtime.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+class HeaderFilterTest {
+
+    @AfterAll
+    static void tearDown() {
+        ConfigBuilder.create("mock").build();
+    }
+
+    @Test
+    void captureAll() {
+        assertSame(HeaderFilter.CAPTURE_ALL, HeaderFilter.compile(null, ""));
+        assertEquals("Cookie", HeaderFilter.CAPTURE_ALL.capture("Cookie"));
+        assertNull(HeaderFilter.CAPTURE_ALL.capture(null));
+    }
+
+    @Test
+    void includeAndExclude() {
+        HeaderFilter filter = HeaderFilter.compile("X-Tenant, accept ,,", "accept");
+        String name = new String("x-tenant");
+        assertEquals("x-tenant", filter.capture(name));
+        // the first captured name is shared
+        assertSame(name, filter.capture(new String("x-tenant")));
+        assertEquals("X-TENANT", filter.capture("X-TENANT"));
+        assertNull(filter.capture("Accept"));
+        assertNull(filter.capture("Cookie"));
+        assertEquals("Content-Type", filter.capture("Content-Type"));
+        assertEquals("arex-record-id", filter.capture("arex-record-id"));
+
+        filter = HeaderFilter.compile(null, "cookie,user-agent");
+        assertNull(filter.capture("Cookie"));
+        assertNull(filter.capture("User-Agent"));
+        assertEquals("traceparent", filter.capture("traceparent"));
+    }
+
+    @Test
+    void compiledPerConfig() {
+        ConfigBuilder.create("mock").build();
+        assertSame(HeaderFilter.CAPTURE_ALL, HeaderFilter.get());
+        ConfigBuilder.create("mock").addProperty(ConfigConstants.HEADER_EXCLUDE, "cookie").build();
+        HeaderFilter filter = HeaderFilter.get();
+        assertSame(filter, Config.get().getHeaderFilter());
+        assertNull(filter.capture("cookie"));
+    }
+}
@@ -0,0 +1,75 @@
+package io.arex.inst.runtime.context;
+
+import io.arex.agent.bootstrap.TraceContextManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per-call overhead of the context checks done by an advice, not run by unit test.
+ * run: main method, or java -cp test-classes:... org.openjdk.jmh.Main ContextManagerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextManagerBenchmark {
+
+    @State(Scope.Thread)
+    public static class IdleState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            ContextManager.remove();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RecordState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            TraceContextManager.init("127.0.0.1");
+            ContextManager.currentContext(true, null);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ContextManager.remove();
+        }
+    }
+
+    /**
+     * what an advice does when there is no context: DynamicClassInstrumentation, JedisWrapper
+     */
+    @Benchmark
+    public boolean idleAdvice(IdleState state) {
+        return ContextManager.needRecord() || ContextManager.needReplay() || ContextManager.needRecordOrReplay();
+    }
+
+    @Benchmark
+    public boolean recordingAdvice(RecordState state) {
+        return ContextManager.needRecord() || ContextManager.needReplay() || ContextManager.needRecordOrReplay();
+    }
+
+    @Benchmark
+    public ArexContext currentContext(RecordState state) {
+        return ContextManager.currentContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContextManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
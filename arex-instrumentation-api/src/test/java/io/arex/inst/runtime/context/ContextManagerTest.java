@@ -3,6 +3,7 @@ package io.arex.inst.runtime.context;
 import io.arex.agent.bootstrap.TraceContextManager;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -56,4 +57,26 @@ class ContextManagerTest {
                 arguments(false, null, emptyMocker, predicate2)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void bindContext() {
+        Mockito.when(TraceContextManager.get(any(Boolean.class))).thenReturn("mock-bind");
+        ArexContext context = ContextManager.currentContext(true, null);
+        assertNotNull(context);
+
+        ArexContext[] contexts = new ArexContext[3];
+        Thread thread = new Thread(() -> {
+            contexts[0] = ContextManager.currentContext();
+            ContextManager.bindContext("mock-bind");
+            contexts[1] = ContextManager.currentContext();
+            ContextManager.unbindContext();
+            contexts[2] = ContextManager.currentContext();
+        });
+        thread.start();
+        assertDoesNotThrow(() -> thread.join());
+        assertNull(contexts[0]);
+        assertSame(context, contexts[1]);
+        assertNull(contexts[2]);
+        assertSame(context, ContextManager.currentContext());
+    }
+}
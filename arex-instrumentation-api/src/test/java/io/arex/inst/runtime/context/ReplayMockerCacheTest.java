@@ -0,0 +1,85 @@
+package io.arex.inst.runtime.context;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.MockStrategyEnum;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.model.Mocker.Target;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ReplayMockerCacheTest {
+
+    private static ArexMocker mocker(MockCategoryType categoryType, String operation, String request, String response,
+        long creationTime) {
+        ArexMocker mocker = new ArexMocker();
+        mocker.setCategoryType(categoryType);
+        mocker.setOperationName(operation);
+        mocker.setCreationTime(creationTime);
+        mocker.setTargetRequest(new Target());
+        mocker.getTargetRequest().setBody(request);
+        mocker.setTargetResponse(new Target());
+        mocker.getTargetResponse().setBody(response);
+        return mocker;
+    }
+
+    @Test
+    void emptyCache() {
+        assertTrue(new ReplayMockerCache(null).isEmpty());
+        assertFalse(new ReplayMockerCache(null).isAvailable());
+        ReplayMockerCache cache = new ReplayMockerCache(Collections.emptyList());
+        assertTrue(cache.isAvailable());
+        assertNull(cache.poll(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK));
+    }
+
+    @Test
+    void poll() {
+        ReplayMockerCache cache = new ReplayMockerCache(Arrays.asList(
+            mocker(MockCategoryType.REDIS, "get", "key", "second", 2),
+            mocker(MockCategoryType.REDIS, "get", "key", "first", 1),
+            mocker(MockCategoryType.DATABASE, "query", "select 1", "db", 3),
+            mocker(MockCategoryType.SERVLET, "/api", "request", "servlet", 0)));
+        assertFalse(cache.isEmpty());
+
+        // served in recording order
+        assertEquals("first", cache.poll(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK).getTargetResponse().getBody());
+        assertEquals("second", cache.poll(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK).getTargetResponse().getBody());
+        assertNull(cache.poll(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK));
+        // the last one is reused by find last
+        assertEquals("second", cache.poll(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.FIND_LAST).getTargetResponse().getBody());
+
+        // different request: not matched by strict match, matched by operation otherwise
+        assertNull(cache.poll(mocker(MockCategoryType.DATABASE, "query", "select 2", null, 0), MockStrategyEnum.STRICT_MATCH));
+        assertNull(cache.poll(mocker(MockCategoryType.DATABASE, "update", "select 1", null, 0), MockStrategyEnum.OVER_BREAK));
+        assertEquals("db", cache.poll(mocker(MockCategoryType.DATABASE, "query", "select 2", null, 0), MockStrategyEnum.OVER_BREAK).getTargetResponse().getBody());
+        assertNull(cache.poll(mocker(MockCategoryType.DATABASE, "query", "select 1", null, 0), MockStrategyEnum.OVER_BREAK));
+
+        // entry point is not cached
+        assertNull(cache.poll(mocker(MockCategoryType.SERVLET, "/api", "request", null, 0), MockStrategyEnum.OVER_BREAK));
+    }
+
+    @Test
+    void pollBeforeLoaded() {
+        ReplayMockerCache cache = new ReplayMockerCache();
+        CompletableFuture<Mocker> first = cache.pollAsync(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK);
+        CompletableFuture<Mocker> second = cache.pollAsync(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK);
+        assertFalse(first.isDone());
+
+        cache.load(Arrays.asList(mocker(MockCategoryType.REDIS, "get", "key", "first", 1),
+            mocker(MockCategoryType.REDIS, "get", "key", "second", 2)));
+        // matched in call order
+        assertEquals("first", first.join().getTargetResponse().getBody());
+        assertEquals("second", second.join().getTargetResponse().getBody());
+
+        // prefetch failed
+        cache = new ReplayMockerCache();
+        CompletableFuture<Mocker> pending = cache.pollAsync(mocker(MockCategoryType.REDIS, "get", "key", null, 0), MockStrategyEnum.OVER_BREAK);
+        cache.load(null);
+        assertNull(pending.join());
+        assertFalse(cache.isAvailable());
+    }
+}
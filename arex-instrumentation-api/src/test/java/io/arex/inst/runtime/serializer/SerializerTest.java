@@ -8,8 +8,11 @@ import io.arex.inst.runtime.config.ConfigBuilder;
 import io.arex.inst.runtime.listener.EventProcessorTest.TestJacksonSerializable;
 import io.arex.inst.runtime.listener.EventProcessorTest.TestGsonSerializer;
 import io.arex.inst.runtime.util.TypeUtil;
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -159,4 +162,16 @@ class SerializerTest {
         final RuntimeException actualResult = Serializer.deserialize(json, TypeUtil.forName(typeName));
         assertEquals(runtimeException.getClass(), actualResult.getClass());
     }
-}
\ No newline at end of file
+
+    @Test
+    void serializeToBytes() {
+        assertNull(Serializer.serializeToBytes(null));
+        // not a binary serializer, fallback to string
+        assertEquals("\"test\"", new String(Serializer.serializeToBytes("test"), StandardCharsets.UTF_8));
+        assertEquals("[\"test\"]", new String(Serializer.serializeToBytes(Collections.singletonList("test")), StandardCharsets.UTF_8));
+
+        assertNull(Serializer.deserializeFrom(null, String.class));
+        assertEquals("test", Serializer.deserializeFrom(
+            new ByteArrayInputStream("\"test\"".getBytes(StandardCharsets.UTF_8)), String.class));
+    }
+}
@@ -0,0 +1,55 @@
+package io.arex.inst.runtime.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class CappedByteArrayOutputStreamTest {
+
+    @Test
+    void write() {
+        CappedByteArrayOutputStream stream = new CappedByteArrayOutputStream(0);
+        stream.write('a');
+        stream.write("bc".getBytes(StandardCharsets.UTF_8), 0, 2);
+
+        ByteBuffer heap = ByteBuffer.wrap("xdey".getBytes(StandardCharsets.UTF_8), 1, 2);
+        stream.write(heap);
+        assertEquals(1, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        for (int i = 0; i < 64; i++) {
+            direct.put((byte) 'f');
+        }
+        direct.flip();
+        stream.write(direct);
+        assertEquals(0, direct.position());
+
+        assertFalse(stream.isExceeded());
+        assertEquals(69, stream.size());
+        assertTrue(stream.toString().startsWith("abcdefff"));
+    }
+
+    @Test
+    void exceeded() {
+        CappedByteArrayOutputStream stream = new CappedByteArrayOutputStream(4);
+        stream.write(ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("abc", stream.toString());
+
+        stream.write(ByteBuffer.wrap("de".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(stream.isExceeded());
+        assertEquals(0, stream.toByteArray().length);
+
+        stream.write('f');
+        assertEquals(0, stream.size());
+    }
+
+    @Test
+    void defaultMaxSize() {
+        CappedByteArrayOutputStream stream = new CappedByteArrayOutputStream();
+        stream.write(new byte[1024 * 1024], 0, 1024 * 1024);
+        assertFalse(stream.isExceeded());
+        assertEquals(1024 * 1024, stream.size());
+    }
+}
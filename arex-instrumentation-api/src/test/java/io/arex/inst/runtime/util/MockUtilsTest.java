@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.inst.runtime.config.ConfigBuilder;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
@@ -16,7 +17,10 @@ import io.arex.inst.runtime.serializer.StringSerializable;
 import io.arex.inst.runtime.service.DataCollector;
 import io.arex.inst.runtime.service.DataService;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -54,6 +58,14 @@ class MockUtilsTest {
         ArexMocker dynamicClass = MockUtils.createDynamicClass("test", "test");
         Assertions.assertDoesNotThrow(() -> MockUtils.recordMocker(dynamicClass));
 
+        // a map shared with the application is copied, later changes are not recorded
+        Map<String, Object> sharedAttributes = new HashMap<>();
+        sharedAttributes.put("key", "value");
+        dynamicClass.getTargetRequest().setAttributes(sharedAttributes);
+        MockUtils.recordMocker(dynamicClass);
+        sharedAttributes.put("key", "changed");
+        assertEquals("value", dynamicClass.getTargetRequest().getAttribute("key"));
+
         // invalid case
         Mockito.when(CaseManager.isInvalidCase(any())).thenReturn(true);
         Assertions.assertDoesNotThrow(() -> MockUtils.recordMocker(dynamicClass));
@@ -78,6 +90,66 @@ class MockUtilsTest {
         assertEquals(1693194255518L, actualResult);
     }
 
+    @Test
+    void replayAsync() {
+        configBuilder.enableDebug(false);
+        configBuilder.build();
+        ArexMocker dynamicClass = MockUtils.createDynamicClass("test", "test");
+        CompletableFuture<String> queryFuture = new CompletableFuture<>();
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(queryFuture);
+
+        CompletableFuture<Object> replayFuture = MockUtils.replayBodyAsync(dynamicClass);
+        assertFalse(replayFuture.isDone());
+        Mockito.verify(dataCollector, Mockito.never()).query(anyString(), any());
+
+        queryFuture.complete("{\"categoryType\":{\"name\":\"DynamicClass\",\"entryPoint\":false,\"skipComparison\":true},\"recordId\":\"mock-record-id\",\"targetResponse\":{\"body\":\"1693194255518\",\"type\":\"java.lang.Long\"},\"operationName\":\"test.test\"}");
+        assertEquals(1693194255518L, replayFuture.join());
+
+        // empty response
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        assertNull(MockUtils.replayMockerAsync(dynamicClass).join());
+    }
+
+    @Test
+    void prefetchReplayMockers() {
+        configBuilder.enableDebug(true);
+        configBuilder.build();
+        ArexContext context = ArexContext.of("mock-record-id", "mock-replay-id");
+        Mockito.when(ContextManager.currentContext()).thenReturn(context);
+
+        Mockito.clearInvocations(dataCollector);
+        // not support
+        MockUtils.prefetchReplayMockers(context);
+        assertNull(context.getReplayMockerCache());
+
+        String responseJson = "[{\"categoryType\":{\"name\":\"HttpClient\",\"entryPoint\":false,\"skipComparison\":false},\"recordId\":\"mock-record-id\",\"creationTime\":1693194255518,\"targetRequest\":{\"body\":\"request\"},\"targetResponse\":{\"body\":\"response\",\"type\":\"java.lang.String\"},\"operationName\":\"/api/test\"}]";
+        CompletableFuture<String> queryAllFuture = new CompletableFuture<>();
+        Mockito.when(dataCollector.queryAllAsync(anyString())).thenReturn(queryAllFuture);
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(new CompletableFuture<>());
+        MockUtils.prefetchReplayMockers(context);
+        assertNotNull(context.getReplayMockerCache());
+
+        // waits for the prefetch without blocking
+        ArexMocker httpClient = MockUtils.createHttpClient("/api/test");
+        httpClient.getTargetRequest().setBody("request");
+        CompletableFuture<Mocker> replayFuture = MockUtils.replayMockerAsync(httpClient);
+        assertFalse(replayFuture.isDone());
+        queryAllFuture.complete(responseJson);
+        assertEquals("response", replayFuture.join().getTargetResponse().getBody());
+        // compared category is sent through the query, the prefetched mockers answer the rest of the case
+        Mockito.verify(dataCollector).queryAsync(anyString(), any());
+        Mockito.verify(dataCollector, Mockito.never()).save(httpClient);
+        assertNull(MockUtils.replayMocker(httpClient));
+        Mockito.verify(dataCollector, Mockito.never()).query(anyString(), any());
+
+        // prefetch failed, replay from the storage service
+        Mockito.when(dataCollector.queryAllAsync(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        MockUtils.prefetchReplayMockers(context);
+        MockUtils.replayMocker(httpClient);
+        Mockito.verify(dataCollector).query(anyString(), any());
+        Mockito.when(ContextManager.currentContext()).thenReturn(null);
+    }
+
     @Test
     void checkResponseMocker() {
         configBuilder.build();
@@ -0,0 +1,48 @@
+package io.arex.inst.runtime.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+
+class ReplayUtilsTest {
+
+    @Test
+    void whenReplayed() {
+        List<Runnable> scheduled = new ArrayList<>();
+        Executor executor = scheduled::add;
+        List<Object> results = new ArrayList<>();
+        List<Throwable> causes = new ArrayList<>();
+
+        // completed later, handed to the executor
+        CompletableFuture<String> future = new CompletableFuture<>();
+        ReplayUtils.whenReplayed(future, TraceTransmitter.create(), executor, (result, throwable) -> results.add(result));
+        assertTrue(results.isEmpty());
+        future.complete("mock");
+        assertEquals(1, scheduled.size());
+        scheduled.get(0).run();
+        assertEquals("mock", results.get(0));
+
+        // completed before, called right away
+        ReplayUtils.whenReplayed(CompletableFuture.completedFuture("done"), TraceTransmitter.create(), executor,
+            (result, throwable) -> results.add(result));
+        assertEquals("done", results.get(1));
+        assertEquals(1, scheduled.size());
+
+        // a missing result is an error
+        ReplayUtils.whenReplayed(CompletableFuture.completedFuture(null), TraceTransmitter.create(), executor,
+            (result, throwable) -> causes.add(throwable));
+        assertInstanceOf(IllegalStateException.class, causes.get(0));
+
+        // the cause of a failed future
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new UnsupportedOperationException("mock"));
+        ReplayUtils.whenReplayed(failed.thenApply(value -> value), TraceTransmitter.create(), executor,
+            (result, throwable) -> causes.add(throwable));
+        assertInstanceOf(UnsupportedOperationException.class, causes.get(1));
+    }
+}
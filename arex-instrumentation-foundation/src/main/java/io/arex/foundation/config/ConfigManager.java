@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -66,6 +67,14 @@ public class ConfigManager {
     private List<ConfigListener> listeners = new ArrayList<>();
     private Map<String, String> extendField;
     private int bufferSize;
+    private int recordWorkerCount;
+    private int recordBatchSize;
+    private long recordBatchLingerMs;
+    private String recordSpoolDir;
+    private long recordSpoolMaxSize;
+    private int recordSpoolSegmentSize;
+    private String localStorageDir;
+    private long localStorageMaxSize;
 
     private ConfigManager() {
         init();
@@ -271,6 +280,9 @@ public class ConfigManager {
         setRecordRate(DEFAULT_RECORDING_RATE);
 
         setStorageServiceMode(System.getProperty(STORAGE_SERVICE_MODE));
+        setLocalStorageDir(System.getProperty(LOCAL_STORAGE_DIR,
+            new File(System.getProperty("java.io.tmpdir"), "arex-storage").getPath()));
+        setLocalStorageMaxSize(System.getProperty(LOCAL_STORAGE_MAX_SIZE, "1073741824"));
         setDynamicResultSizeLimit(System.getProperty(DYNAMIC_RESULT_SIZE_LIMIT, "1000"));
         setTimeMachine(System.getProperty(TIME_MACHINE));
         setAllowDayOfWeeks(Integer.parseInt(System.getProperty(ALLOW_DAY_WEEKS, "127")));
@@ -281,6 +293,12 @@ public class ConfigManager {
         setExcludeServiceOperations(System.getProperty(EXCLUDE_SERVICE_OPERATION));
         setDubboStreamReplayThreshold(System.getProperty(DUBBO_STREAM_REPLAY_THRESHOLD, "100"));
         setBufferSize(System.getProperty(BUFFER_SIZE, "1024"));
+        setRecordWorkerCount(System.getProperty(RECORD_WORKER_COUNT, "2"));
+        setRecordBatchSize(System.getProperty(RECORD_BATCH_SIZE, "32"));
+        setRecordBatchLingerMs(System.getProperty(RECORD_BATCH_LINGER_MS, "50"));
+        setRecordSpoolDir(System.getProperty(RECORD_SPOOL_DIR));
+        setRecordSpoolMaxSize(System.getProperty(RECORD_SPOOL_MAX_SIZE, "268435456"));
+        setRecordSpoolSegmentSize(System.getProperty(RECORD_SPOOL_SEGMENT_SIZE, "16777216"));
     }
 
     @VisibleForTesting
@@ -301,12 +319,27 @@ public class ConfigManager {
         setDynamicResultSizeLimit(configMap.get(DYNAMIC_RESULT_SIZE_LIMIT));
         setTimeMachine(configMap.get(TIME_MACHINE));
         setStorageServiceMode(configMap.get(STORAGE_SERVICE_MODE));
+        setLocalStorageDir(configMap.get(LOCAL_STORAGE_DIR));
+        setLocalStorageMaxSize(configMap.get(LOCAL_STORAGE_MAX_SIZE));
         setDisabledModules(configMap.get(DISABLE_MODULE));
         setRetransformModules(configMap.get(RETRANSFORM_MODULE));
         setExcludeServiceOperations(configMap.get(EXCLUDE_SERVICE_OPERATION));
         System.setProperty(DISABLE_REPLAY, StringUtil.defaultString(configMap.get(DISABLE_REPLAY)));
         System.setProperty(DISABLE_RECORD, StringUtil.defaultString(configMap.get(DISABLE_RECORD)));
+        System.setProperty(REPLAY_PREFETCH, StringUtil.defaultString(configMap.get(REPLAY_PREFETCH)));
+        System.setProperty(HTTP_BODY_MAX_CAPTURE_SIZE, StringUtil.defaultString(configMap.get(HTTP_BODY_MAX_CAPTURE_SIZE)));
+        System.setProperty(HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE, StringUtil.defaultString(configMap.get(HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE)));
+        System.setProperty(SERVLET_RESPONSE_TEE, StringUtil.defaultString(configMap.get(SERVLET_RESPONSE_TEE)));
+        System.setProperty(MOCKER_RAW_JSON_BODY, StringUtil.defaultString(configMap.get(MOCKER_RAW_JSON_BODY)));
+        System.setProperty(HEADER_INCLUDE, StringUtil.defaultString(configMap.get(HEADER_INCLUDE)));
+        System.setProperty(HEADER_EXCLUDE, StringUtil.defaultString(configMap.get(HEADER_EXCLUDE)));
         setBufferSize(configMap.get(BUFFER_SIZE));
+        setRecordWorkerCount(configMap.get(RECORD_WORKER_COUNT));
+        setRecordBatchSize(configMap.get(RECORD_BATCH_SIZE));
+        setRecordBatchLingerMs(configMap.get(RECORD_BATCH_LINGER_MS));
+        setRecordSpoolDir(configMap.get(RECORD_SPOOL_DIR));
+        setRecordSpoolMaxSize(configMap.get(RECORD_SPOOL_MAX_SIZE));
+        setRecordSpoolSegmentSize(configMap.get(RECORD_SPOOL_SEGMENT_SIZE));
     }
 
     private static Map<String, String> parseConfigFile(String configPath) {
@@ -378,6 +411,13 @@ public class ConfigManager {
         configMap.put(TIME_MACHINE, String.valueOf(startTimeMachine()));
         configMap.put(DISABLE_REPLAY, System.getProperty(DISABLE_REPLAY));
         configMap.put(DISABLE_RECORD, System.getProperty(DISABLE_RECORD));
+        configMap.put(REPLAY_PREFETCH, System.getProperty(REPLAY_PREFETCH));
+        configMap.put(HTTP_BODY_MAX_CAPTURE_SIZE, System.getProperty(HTTP_BODY_MAX_CAPTURE_SIZE));
+        configMap.put(HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE, System.getProperty(HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE));
+        configMap.put(SERVLET_RESPONSE_TEE, System.getProperty(SERVLET_RESPONSE_TEE));
+        configMap.put(MOCKER_RAW_JSON_BODY, System.getProperty(MOCKER_RAW_JSON_BODY));
+        configMap.put(HEADER_INCLUDE, System.getProperty(HEADER_INCLUDE));
+        configMap.put(HEADER_EXCLUDE, System.getProperty(HEADER_EXCLUDE));
         configMap.put(DURING_WORK, Boolean.toString(inWorkingTime()));
         configMap.put(AGENT_VERSION, agentVersion);
         configMap.put(IP_VALIDATE, Boolean.toString(checkTargetAddress()));
@@ -423,6 +463,36 @@ public class ConfigManager {
         this.storageServiceMode = storageServiceMode;
     }
 
+    /**
+     * directory of the recorded mockers in local storage mode
+     */
+    public String getLocalStorageDir() {
+        return localStorageDir;
+    }
+
+    public void setLocalStorageDir(String localStorageDir) {
+        if (StringUtil.isEmpty(localStorageDir)) {
+            return;
+        }
+        this.localStorageDir = localStorageDir;
+        System.setProperty(LOCAL_STORAGE_DIR, localStorageDir);
+    }
+
+    /**
+     * max total size of the local storage files, the oldest segment is deleted with its cases when exceeded
+     */
+    public long getLocalStorageMaxSize() {
+        return localStorageMaxSize;
+    }
+
+    public void setLocalStorageMaxSize(String localStorageMaxSize) {
+        if (StringUtil.isEmpty(localStorageMaxSize)) {
+            return;
+        }
+        this.localStorageMaxSize = Long.parseLong(localStorageMaxSize);
+        System.setProperty(LOCAL_STORAGE_MAX_SIZE, localStorageMaxSize);
+    }
+
     public int getDynamicResultSizeLimit() {
         return dynamicResultSizeLimit;
     }
@@ -611,6 +681,97 @@ public class ConfigManager {
         System.setProperty(BUFFER_SIZE, bufferSize);
     }
 
+    /**
+     * number of background workers that serialize, compress and send recorded mockers
+     */
+    public int getRecordWorkerCount() {
+        if (extendField != null && extendField.containsKey(RECORD_WORKER_COUNT)) {
+            return Integer.parseInt(extendField.get(RECORD_WORKER_COUNT));
+        }
+        return recordWorkerCount;
+    }
+
+    public void setRecordWorkerCount(String recordWorkerCount) {
+        if (StringUtil.isEmpty(recordWorkerCount)) {
+            return;
+        }
+        this.recordWorkerCount = Integer.parseInt(recordWorkerCount);
+        System.setProperty(RECORD_WORKER_COUNT, recordWorkerCount);
+    }
+
+    /**
+     * max number of mockers sent in one request, 1 means batch save is disabled
+     */
+    public int getRecordBatchSize() {
+        return recordBatchSize;
+    }
+
+    public void setRecordBatchSize(String recordBatchSize) {
+        if (StringUtil.isEmpty(recordBatchSize)) {
+            return;
+        }
+        this.recordBatchSize = Integer.parseInt(recordBatchSize);
+        System.setProperty(RECORD_BATCH_SIZE, recordBatchSize);
+    }
+
+    /**
+     * max time to wait for a batch to fill up
+     */
+    public long getRecordBatchLingerMs() {
+        return recordBatchLingerMs;
+    }
+
+    public void setRecordBatchLingerMs(String recordBatchLingerMs) {
+        if (StringUtil.isEmpty(recordBatchLingerMs)) {
+            return;
+        }
+        this.recordBatchLingerMs = Long.parseLong(recordBatchLingerMs);
+        System.setProperty(RECORD_BATCH_LINGER_MS, recordBatchLingerMs);
+    }
+
+    /**
+     * directory of the local spool which keeps the mockers while the storage service is unavailable,
+     * empty means disabled
+     */
+    public String getRecordSpoolDir() {
+        return recordSpoolDir;
+    }
+
+    public void setRecordSpoolDir(String recordSpoolDir) {
+        if (StringUtil.isEmpty(recordSpoolDir)) {
+            return;
+        }
+        this.recordSpoolDir = recordSpoolDir;
+        System.setProperty(RECORD_SPOOL_DIR, recordSpoolDir);
+    }
+
+    /**
+     * max bytes of all the spool segments
+     */
+    public long getRecordSpoolMaxSize() {
+        return recordSpoolMaxSize;
+    }
+
+    public void setRecordSpoolMaxSize(String recordSpoolMaxSize) {
+        if (StringUtil.isEmpty(recordSpoolMaxSize)) {
+            return;
+        }
+        this.recordSpoolMaxSize = Long.parseLong(recordSpoolMaxSize);
+        System.setProperty(RECORD_SPOOL_MAX_SIZE, recordSpoolMaxSize);
+    }
+
+    public int getRecordSpoolSegmentSize() {
+        return recordSpoolSegmentSize;
+    }
+
+    public void setRecordSpoolSegmentSize(String recordSpoolSegmentSize) {
+        if (StringUtil.isEmpty(recordSpoolSegmentSize)) {
+            return;
+        }
+        this.recordSpoolSegmentSize = Integer.parseInt(recordSpoolSegmentSize);
+        System.setProperty(RECORD_SPOOL_SEGMENT_SIZE, recordSpoolSegmentSize);
+    }
+
     @Override
     public String toString() {
         return "ConfigManager{" +
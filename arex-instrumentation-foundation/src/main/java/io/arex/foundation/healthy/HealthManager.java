@@ -1,20 +1,19 @@
 package io.arex.foundation.healthy;
 
 import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.foundation.config.ConfigManager;
-import io.arex.agent.bootstrap.internal.Pair;
 import io.arex.foundation.model.DecelerateReasonEnum;
 import io.arex.foundation.services.TimerService;
 import io.arex.inst.runtime.log.LogManager;
 
-import com.google.common.util.concurrent.RateLimiter;
-
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static io.arex.foundation.healthy.HealthManager.RecordRateManager.RECORD_RATE_MANAGER;
 import static java.util.concurrent.TimeUnit.MINUTES;
@@ -61,12 +60,21 @@ public class HealthManager {
     private static final RecordRateChecker BALANCE_CHECKER =
             new RecordRateChecker(TimeUnit.MILLISECONDS.toNanos(3000));
     private static ScheduledFuture<?> scheduledFuture = null;
+    private static final String REQUEST_PATH = "RequestPath";
 
     /**
      * Record rate acquire
      */
     public static boolean acquire(String uri) {
-        return RECORD_RATE_MANAGER.acquire(uri, ConfigManager.INSTANCE.getRecordRate());
+        return RECORD_RATE_MANAGER.acquire(samplerKey(uri), ConfigManager.INSTANCE.getRecordRate());
+    }
+
+    /**
+     * The sampler of a request is the path without the query string
+     */
+    static String samplerKey(String uri) {
+        int queryIndex = uri == null ? -1 : uri.indexOf('?');
+        return queryIndex < 0 ? uri : uri.substring(0, queryIndex);
     }
 
     public static void onEnqueueRejection() {
@@ -117,6 +125,27 @@ public class HealthManager {
         }
     }
 
+    /**
+     * Report the serialized size of a recorded entry point, costly operations are sampled less.
+     * The sampler is found by the request path of servlet (the operation is the pattern),
+     * the operation otherwise, the same as acquired.
+     */
+    public static void reportRecordCost(Mocker entryMocker, long bytes) {
+        Object requestPath = entryMocker.getTargetRequest() == null ? null :
+            entryMocker.getTargetRequest().getAttribute(REQUEST_PATH);
+        String uri = requestPath instanceof String ? (String) requestPath : entryMocker.getOperationName();
+        if (uri != null) {
+            RECORD_RATE_MANAGER.reportCost(samplerKey(uri), bytes);
+        }
+    }
+
+    /**
+     * Report the occupancy of the record queue, frequent operations are sampled less while it backs up
+     */
+    public static void reportQueueDepth(int length, int capacity) {
+        RECORD_RATE_MANAGER.reportQueueDepth(length, capacity);
+    }
+
     static class HealthCheckTask implements Runnable {
         @Override
         public void run() {
@@ -191,13 +220,45 @@ public class HealthManager {
         }
     }
 
+    /**
+     * Adaptive sampler, each operation has a lock-free token bucket (GCRA, one atomic theoretical arrival time)
+     * refilled at the current rate (cases per minute), the rate and the weights are read when acquiring,
+     * so changing them does not rebuild the buckets.
+     * <pre>
+     * - cost: a case of an operation costs its recorded bytes relative to the average of all operations,
+     *   clamped to [{@link #MIN_WEIGHT}, {@link #MAX_WEIGHT}] permits, so no operation exceeds the configured rate
+     * - feedback: the queue occupancy adjusts a load factor every second, shrinking when above
+     *   {@link #HIGH_OCCUPANCY} and growing back when below {@link #LOW_OCCUPANCY}
+     * - fairness: the load factor only applies to frequent operations whose requests exceed twice the sampled cases,
+     *   so rarely-seen operations keep their share when the queue backs up
+     * </pre>
+     */
     static class RecordRateManager {
         static final RecordRateManager RECORD_RATE_MANAGER = new RecordRateManager();
-        // Pari.first = last balance rate
-        static final Map<String, Pair<Double, RateLimiter>> RATE_LIMITER_MAP = new ConcurrentHashMap<>();
+        static final Map<String, OperationSampler> SAMPLER_MAP = new ConcurrentHashMap<>();
         static final double MIN_RATE = 0.03D;
         // send a permit in 60 seconds at least
         static final long BASE = MINUTES.toSeconds(1);
+        static final double MIN_WEIGHT = 1D;
+        static final double MAX_WEIGHT = 4D;
+        static final double MIN_LOAD_FACTOR = 0.05D;
+        static final double HIGH_OCCUPANCY = 0.5D;
+        static final double LOW_OCCUPANCY = 0.1D;
+        private static final double EWMA_ALPHA = 0.2D;
+        private static final long ADJUST_INTERVAL_NANOS = SECONDS.toNanos(1);
+
+        /**
+         * cases per minute of each operation, negative before the first acquire
+         */
+        volatile double currentRate = -1;
+        /**
+         * bumped when the rate changes, buckets of the previous epoch restart full
+         */
+        volatile int epoch;
+        volatile double loadFactor = 1D;
+        volatile double averageCost;
+        private final AtomicLong lastAdjustTime = new AtomicLong();
+
         /**
          * Record rate acquires
          */
@@ -205,14 +266,62 @@ public class HealthManager {
             if (configRate <= 0) {
                 return false;
             }
-            Pair<Double, RateLimiter> rateLimiterPair = RATE_LIMITER_MAP.computeIfAbsent(methodName, key -> {
-                double targetRate = getCurrentRate(configRate);
-                return Pair.of(targetRate, RateLimiter.create(targetRate / BASE));
-            });
-
-            updateRate(configRate, rateLimiterPair.getFirst());
-            rateLimiterPair = RATE_LIMITER_MAP.get(methodName);
-            return rateLimiterPair != null && rateLimiterPair.getSecond().tryAcquire();
+            if (currentRate < 0) {
+                currentRate = getCurrentRate(configRate);
+            }
+            updateRate(configRate, currentRate);
+            OperationSampler sampler = SAMPLER_MAP.computeIfAbsent(methodName, key -> new OperationSampler());
+            return sampler.tryAcquire(permitNanos(sampler), epoch);
+        }
+
+        /**
+         * nanos to refill the permits of one case of the operation
+         */
+        long permitNanos(OperationSampler sampler) {
+            double nanos = SECONDS.toNanos(BASE) / Math.max(currentRate, MIN_RATE);
+            double cost = sampler.cost;
+            if (cost > 0 && averageCost > 0) {
+                nanos *= Math.min(Math.max(cost / averageCost, MIN_WEIGHT), MAX_WEIGHT);
+            }
+            if (sampler.isFrequent()) {
+                nanos /= loadFactor;
+            }
+            return (long) nanos;
+        }
+
+        /**
+         * @param bytes serialized size of the entry point mocker of a recorded case
+         */
+        void reportCost(String methodName, long bytes) {
+            OperationSampler sampler = SAMPLER_MAP.get(methodName);
+            if (sampler == null || bytes <= 0) {
+                return;
+            }
+            sampler.cost = ewma(sampler.cost, bytes);
+            averageCost = ewma(averageCost, bytes);
+        }
+
+        private static double ewma(double average, double value) {
+            return average <= 0 ? value : average + EWMA_ALPHA * (value - average);
+        }
+
+        /**
+         * Feedback of the record queue, adjusts at most once per second
+         */
+        void reportQueueDepth(int length, int capacity) {
+            long now = System.nanoTime();
+            long lastTime = lastAdjustTime.get();
+            if (capacity <= 0 || now - lastTime < ADJUST_INTERVAL_NANOS || !lastAdjustTime.compareAndSet(lastTime, now)) {
+                return;
+            }
+            double occupancy = (double) length / capacity;
+            if (occupancy > HIGH_OCCUPANCY) {
+                loadFactor = Math.max(loadFactor * 0.8, MIN_LOAD_FACTOR);
+            } else if (occupancy < LOW_OCCUPANCY && loadFactor < 1D) {
+                loadFactor = Math.min(loadFactor * 1.25, 1D);
+            }
+            // decay, so that the frequency reflects the recent traffic
+            SAMPLER_MAP.values().forEach(OperationSampler::decay);
         }
 
         /**
@@ -222,16 +331,19 @@ public class HealthManager {
          */
         void updateRate(double configRate, double currentRate) {
             if ((configRate > currentRate && STATE.get() == NORMAL) || configRate < currentRate) {
-                for (Map.Entry<String, Pair<Double, RateLimiter>> entry : RATE_LIMITER_MAP.entrySet()) {
-                    RATE_LIMITER_MAP.put(entry.getKey(), Pair.of(configRate, RateLimiter.create(configRate / BASE)));
-                }
-                System.setProperty(ConfigConstants.CURRENT_RATE, String.format("%.2f", configRate));
+                setRate(configRate);
                 System.setProperty(ConfigConstants.DECELERATE_CODE, DecelerateReasonEnum.NORMAL.getCodeStr());
                 LogManager.info("healthManager.updateRate",
                         StringUtil.format("update rate, current rate change to: %s", String.format("%.2f", configRate)));
             }
         }
 
+        private void setRate(double targetRate) {
+            currentRate = targetRate;
+            epoch++;
+            System.setProperty(ConfigConstants.CURRENT_RATE, String.format("%.2f", targetRate));
+        }
+
         double getCurrentRate(double rate) {
             if (STATE.get() == NORMAL) {
                 return rate;
@@ -256,12 +368,8 @@ public class HealthManager {
             if (!validate()) {
                 return;
             }
-            double targetRate = ConfigManager.INSTANCE.getRecordRate();
-            for (Map.Entry<String, Pair<Double, RateLimiter>> entry : RATE_LIMITER_MAP.entrySet()) {
-                targetRate = MIN_RATE;
-                RATE_LIMITER_MAP.put(entry.getKey(), Pair.of(targetRate, RateLimiter.create(targetRate / BASE)));
-            }
-            System.setProperty(ConfigConstants.CURRENT_RATE, String.format("%.2f", targetRate));
+            double targetRate = currentRate < 0 ? ConfigManager.INSTANCE.getRecordRate() : MIN_RATE;
+            setRate(targetRate);
             System.setProperty(ConfigConstants.DECELERATE_CODE, DecelerateReasonEnum.SERVICE_EXCEPTION.getCodeStr());
             LogManager.warn("healthManager.decelerate",
                     StringUtil.format("service exception! decrement record rate, current rate change to: %s",
@@ -276,13 +384,9 @@ public class HealthManager {
             if (!validate()) {
                 return;
             }
-            double targetRate = ConfigManager.INSTANCE.getRecordRate();
-            for (Map.Entry<String, Pair<Double, RateLimiter>> entry : RATE_LIMITER_MAP.entrySet()) {
-                Pair<Double, RateLimiter> limiterPair = entry.getValue();
-                targetRate = Math.max(limiterPair.getFirst() * 0.8, MIN_RATE);
-                RATE_LIMITER_MAP.put(entry.getKey(), Pair.of(targetRate, RateLimiter.create(targetRate / BASE)));
-            }
-            System.setProperty(ConfigConstants.CURRENT_RATE, String.format("%.2f", targetRate));
+            double targetRate = currentRate < 0 ? ConfigManager.INSTANCE.getRecordRate() :
+                Math.max(currentRate * 0.8, MIN_RATE);
+            setRate(targetRate);
             System.setProperty(ConfigConstants.DECELERATE_CODE, DecelerateReasonEnum.QUEUE_OVERFLOW.getCodeStr());
             LogManager.warn("healthManager.decelerate",
                     StringUtil.format("queue overflow! decrement record rate, current rate change to: %s",
@@ -290,4 +394,42 @@ public class HealthManager {
         }
 
     }
+
+    static class OperationSampler {
+        /**
+         * theoretical arrival time of the next case, a request before it is not sampled
+         */
+        private final AtomicLong nextFreeTime = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong sampled = new AtomicLong();
+        private volatile int epoch;
+        volatile double cost;
+
+        boolean tryAcquire(long permitNanos, int currentEpoch) {
+            requests.incrementAndGet();
+            if (epoch != currentEpoch) {
+                epoch = currentEpoch;
+                nextFreeTime.set(Long.MIN_VALUE);
+            }
+            long now = System.nanoTime();
+            long next;
+            do {
+                next = nextFreeTime.get();
+                if (next != Long.MIN_VALUE && next - now > 0) {
+                    return false;
+                }
+            } while (!nextFreeTime.compareAndSet(next, now + permitNanos));
+            sampled.incrementAndGet();
+            return true;
+        }
+
+        boolean isFrequent() {
+            return requests.get() > sampled.get() * 2;
+        }
+
+        void decay() {
+            requests.set((requests.get() + 1) >> 1);
+            sampled.set((sampled.get() + 1) >> 1);
+        }
+    }
 }
\ No newline at end of file
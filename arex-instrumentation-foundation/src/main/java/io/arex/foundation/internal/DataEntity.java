@@ -1,16 +1,24 @@
 package io.arex.foundation.internal;
 
 import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.runtime.model.RepeatCounter;
 import io.arex.inst.runtime.serializer.Serializer;
 
+/**
+ * Holds the mocker reference only, serialization is deferred to the record worker
+ * so that the business thread does not pay for it.
+ * The mocker is not modified after it is recorded, see {@link io.arex.inst.runtime.util.MockUtils#recordMocker},
+ * except for the repeat counter, which is sealed here.
+ */
 public class DataEntity {
     private final long queueTime;
-    private final String postData;
+    private final Mocker mocker;
     private final String recordId;
     private final String operationName;
+    private byte[] postData;
 
     public DataEntity(Mocker requestMocker) {
-        this.postData = Serializer.serialize(requestMocker);
+        this.mocker = requestMocker;
         this.queueTime = System.nanoTime();
         this.recordId = requestMocker.getRecordId();
         this.operationName = requestMocker.getOperationName();
@@ -20,10 +28,22 @@ public class DataEntity {
         return queueTime;
     }
 
-    public String getPostData() {
+    /**
+     * Serialize the mocker to UTF-8 json on first access, only called from the record worker.
+     * Identical calls are no longer collapsed into the mocker once serialized.
+     */
+    public byte[] getPostData() {
+        if (postData == null) {
+            RepeatCounter.seal(mocker);
+            postData = Serializer.serializeToBytes(mocker);
+        }
         return postData;
     }
 
+    public Mocker getMocker() {
+        return mocker;
+    }
+
     public String getRecordId() {
         return recordId;
     }
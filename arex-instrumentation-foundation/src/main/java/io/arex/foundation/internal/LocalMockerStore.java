@@ -0,0 +1,368 @@
+package io.arex.foundation.internal;
+
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.log.LogManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Recorded mockers kept in local files, used when arex.storage.mode is local.
+ * <pre>
+ * - the store is a directory of fixed size segment files named {@code <sequence>.mocker}, all memory-mapped
+ * - frame: int frame length, short key length, key (recordId, category, request hash, operation), mocker json,
+ *   the length is written last, so a torn frame reads as length 0 which is the end of the segment
+ * - a frame without json is the tombstone of an invalid case
+ * - the index (recordId to the frames of the case in recording order) is in memory,
+ *   rebuilt from the frame keys of the existing segments on startup
+ * - the directory is locked by the process, if it is locked by another process
+ *   a subdirectory named by the pid is used instead
+ * - at most maxSize / segmentSize segments are kept, the oldest segment is deleted with every case
+ *   that has a frame in it, the mapping is released once the buffer is collected
+ * </pre>
+ */
+public class LocalMockerStore {
+    private static final String SUFFIX = ".mocker";
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    private static final char KEY_SEPARATOR = '\n';
+    private static final String LOCK_FILE = ".lock";
+
+    private final File dir;
+    private final int segmentSize;
+    private final int maxSegments;
+    /**
+     * mapped segments by segment index, null once evicted
+     */
+    private final List<ByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final List<File> segmentFiles = new ArrayList<>();
+    private final Map<String, List<IndexEntry>> recordIndex = new ConcurrentHashMap<>();
+    private int oldestSegment;
+    private long nextSequence;
+    private MappedByteBuffer activeBuffer;
+    private FileLock lock;
+
+    LocalMockerStore(File dir, int segmentSize, long maxSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxSize / segmentSize));
+        recover();
+    }
+
+    /**
+     * @return null if the directory is not writable or could not be locked
+     */
+    public static LocalMockerStore create(String dir, int segmentSize, long maxSize) {
+        if (StringUtil.isEmpty(dir) || segmentSize <= FRAME_HEADER_SIZE || maxSize < segmentSize) {
+            return null;
+        }
+        File storeDir = new File(dir);
+        if (!isWritable(storeDir)) {
+            return null;
+        }
+        FileLock dirLock = lock(storeDir);
+        if (dirLock == null) {
+            // another process shares the directory, the segment sequences would collide
+            storeDir = new File(storeDir, processId());
+            dirLock = isWritable(storeDir) ? lock(storeDir) : null;
+            if (dirLock == null) {
+                LogManager.warn("localMockerStore.create", StringUtil.format("lock storage directory failed: %s", dir));
+                return null;
+            }
+        }
+        LocalMockerStore store = new LocalMockerStore(storeDir, segmentSize, maxSize);
+        store.lock = dirLock;
+        return store;
+    }
+
+    private static boolean isWritable(File dir) {
+        if (!dir.isDirectory() && !dir.mkdirs() || !dir.canWrite()) {
+            LogManager.warn("localMockerStore.create", StringUtil.format("storage directory is not writable: %s",
+                dir.getPath()));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The lock is held until {@link #close()} or the process exits
+     */
+    private static FileLock lock(File dir) {
+        FileChannel channel = null;
+        try {
+            channel = new RandomAccessFile(new File(dir, LOCK_FILE), "rw").getChannel();
+            FileLock dirLock = channel.tryLock();
+            if (dirLock != null) {
+                return dirLock;
+            }
+        } catch (IOException e) {
+            LogManager.warn("localMockerStore.lock", e);
+        } catch (OverlappingFileLockException e) {
+            // locked by this process
+        }
+        close(channel);
+        return null;
+    }
+
+    private static String processId() {
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        int index = name.indexOf('@');
+        return index > 0 ? name.substring(0, index) : String.valueOf(name.hashCode() & Integer.MAX_VALUE);
+    }
+
+    public synchronized void close() {
+        if (lock != null) {
+            close(lock.channel());
+            lock = null;
+        }
+    }
+
+    private static void close(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            // releases the lock
+            channel.close();
+        } catch (IOException e) {
+            LogManager.warn("localMockerStore.close", e);
+        }
+    }
+
+    private void recover() {
+        File[] files = dir.listFiles((parent, name) -> name.endsWith(SUFFIX) && sequence(name) >= 0);
+        if (files == null || files.length == 0) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(file -> sequence(file.getName())));
+        nextSequence = sequence(files[files.length - 1].getName()) + 1;
+        int expired = Math.max(0, files.length - maxSegments);
+        for (int i = 0; i < files.length; i++) {
+            if (i < expired) {
+                delete(files[i]);
+                continue;
+            }
+            try (RandomAccessFile segmentFile = new RandomAccessFile(files[i], "r")) {
+                ByteBuffer segment = segmentFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, segmentFile.length());
+                segments.add(segment);
+                segmentFiles.add(files[i]);
+                scan(segment, segments.size() - 1);
+            } catch (IOException e) {
+                LogManager.warn("localMockerStore.recover", e);
+            }
+        }
+        LogManager.info("localMockerStore.recover", StringUtil.format("%s cases loaded from %s",
+            String.valueOf(recordIndex.size()), dir.getPath()));
+    }
+
+    private void scan(ByteBuffer segment, int segmentIndex) {
+        int position = 0;
+        while (position + FRAME_HEADER_SIZE <= segment.limit()) {
+            int frameLength = segment.getInt(position);
+            if (frameLength <= 0 || position + Integer.BYTES + frameLength > segment.limit()) {
+                return;
+            }
+            int keyLength = segment.getShort(position + Integer.BYTES);
+            byte[] key = new byte[keyLength];
+            ByteBuffer frame = segment.duplicate();
+            frame.position(position + FRAME_HEADER_SIZE);
+            frame.get(key);
+            index(new String(key, StandardCharsets.UTF_8), segmentIndex, position + FRAME_HEADER_SIZE + keyLength,
+                frameLength - Short.BYTES - keyLength);
+            position += Integer.BYTES + frameLength;
+        }
+    }
+
+    private static long sequence(String fileName) {
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param json serialized mocker
+     * @return false if the frame exceeds the segment size or the segment could not be created
+     */
+    public boolean append(Mocker mocker, byte[] json) {
+        if (mocker.getCategoryType() == null || StringUtil.isEmpty(mocker.getRecordId())) {
+            return false;
+        }
+        return append(buildKey(mocker), json);
+    }
+
+    /**
+     * Remove the case from the index, a tombstone is appended so that it is not loaded again
+     */
+    public void invalidate(String recordId) {
+        if (StringUtil.isNotEmpty(recordId) && recordIndex.containsKey(recordId)) {
+            append(recordId, new byte[0]);
+        }
+    }
+
+    private synchronized boolean append(String key, byte[] json) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int frameSize = FRAME_HEADER_SIZE + keyBytes.length + json.length;
+        if (keyBytes.length > Short.MAX_VALUE || frameSize > segmentSize
+            || (activeBuffer == null || activeBuffer.remaining() < frameSize) && !rotate()) {
+            return false;
+        }
+        int position = activeBuffer.position();
+        activeBuffer.position(position + Integer.BYTES);
+        activeBuffer.putShort((short) keyBytes.length);
+        activeBuffer.put(keyBytes);
+        activeBuffer.put(json);
+        activeBuffer.putInt(position, frameSize - Integer.BYTES);
+        index(key, segments.size() - 1, position + FRAME_HEADER_SIZE + keyBytes.length, json.length);
+        return true;
+    }
+
+    private boolean rotate() {
+        while (segments.size() - oldestSegment >= maxSegments) {
+            evictOldest();
+        }
+        File segment = new File(dir, nextSequence + SUFFIX);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(segmentSize);
+            // the mapping stays valid after the channel is closed
+            activeBuffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segments.add(activeBuffer);
+            segmentFiles.add(segment);
+            nextSequence++;
+            return true;
+        } catch (IOException e) {
+            LogManager.warn("localMockerStore.rotate", e);
+            activeBuffer = null;
+            return false;
+        }
+    }
+
+    /**
+     * Delete the oldest segment with the cases that have a frame in it, a partial case is not replayable
+     */
+    private void evictOldest() {
+        int evicted = oldestSegment++;
+        recordIndex.values().removeIf(entries -> {
+            for (IndexEntry entry : entries) {
+                if (entry.segmentIndex == evicted) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        // no unmap in java 8, the mapping is released once the buffer and its duplicates are collected
+        segments.set(evicted, null);
+        delete(segmentFiles.set(evicted, null));
+    }
+
+    private static void delete(File segment) {
+        if (segment != null && segment.exists() && !segment.delete()) {
+            LogManager.warn("localMockerStore.delete", StringUtil.format("delete %s failed", segment.getPath()));
+        }
+    }
+
+    private void index(String key, int segmentIndex, int offset, int length) {
+        int categoryStart = key.indexOf(KEY_SEPARATOR) + 1;
+        String recordId = categoryStart > 0 ? key.substring(0, categoryStart - 1) : key;
+        if (length == 0) {
+            recordIndex.remove(recordId);
+            return;
+        }
+        int hashStart = key.indexOf(KEY_SEPARATOR, categoryStart) + 1;
+        // the operation is the last part, it may contain the separator
+        int operationStart = hashStart > 0 ? key.indexOf(KEY_SEPARATOR, hashStart) + 1 : 0;
+        if (categoryStart == 0 || operationStart == 0) {
+            return;
+        }
+        recordIndex.computeIfAbsent(recordId, k -> new CopyOnWriteArrayList<>())
+            .add(new IndexEntry(key.substring(categoryStart, hashStart - 1), key.substring(operationStart),
+                Integer.parseInt(key.substring(hashStart, operationStart - 1)), segmentIndex, offset, length));
+    }
+
+    private static String buildKey(Mocker mocker) {
+        return mocker.getRecordId() + KEY_SEPARATOR + mocker.getCategoryType().getName() + KEY_SEPARATOR +
+            requestHash(mocker) + KEY_SEPARATOR + StringUtil.defaultString(mocker.getOperationName());
+    }
+
+    public static int requestHash(Mocker mocker) {
+        if (mocker.getTargetRequest() == null || StringUtil.isEmpty(mocker.getTargetRequest().getBody())) {
+            return 0;
+        }
+        return mocker.getTargetRequest().getBody().hashCode();
+    }
+
+    /**
+     * @return frames of the case in recording order
+     */
+    public List<IndexEntry> entries(String recordId) {
+        if (recordId == null) {
+            return Collections.emptyList();
+        }
+        List<IndexEntry> entries = recordIndex.get(recordId);
+        return entries == null ? Collections.emptyList() : new ArrayList<>(entries);
+    }
+
+    /**
+     * Copy the mocker json from the mapped segment
+     * @return null if the segment was evicted
+     */
+    public byte[] read(IndexEntry entry) {
+        ByteBuffer mapped = segments.get(entry.segmentIndex);
+        if (mapped == null) {
+            return null;
+        }
+        ByteBuffer segment = mapped.duplicate();
+        segment.position(entry.offset);
+        byte[] json = new byte[entry.length];
+        segment.get(json);
+        return json;
+    }
+
+    public static class IndexEntry {
+        private final String categoryName;
+        private final String operationName;
+        private final int requestHash;
+        private final int segmentIndex;
+        private final int offset;
+        private final int length;
+
+        IndexEntry(String categoryName, String operationName, int requestHash, int segmentIndex, int offset,
+            int length) {
+            this.categoryName = categoryName;
+            this.operationName = operationName;
+            this.requestHash = requestHash;
+            this.segmentIndex = segmentIndex;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        public String getOperationName() {
+            return operationName;
+        }
+
+        public int getRequestHash() {
+            return requestHash;
+        }
+    }
+}
@@ -1,89 +1,163 @@
 package io.arex.foundation.internal;
 
-import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer/single-consumer ring buffer.
+ * Producers claim a slot by CAS on the producer sequence, the consumer releases it by advancing
+ * the consumer sequence, both sequences are padded to avoid false sharing (like Disruptor).
+ */
 public class MockEntityBuffer {
     private static final int DEFAULT_SIZE = 1024;
-    private DataEntity[] buffer;
-    private int head = 0;
-    private volatile int tail = 0;
-    private int bufferSize;
-    private SpinLock locker = new SpinLock();
+    private final AtomicReferenceArray<DataEntity> buffer;
+    private final int capacity;
+    private final int mask;
+    private final Sequence producerSequence = new Sequence();
+    private final Sequence consumerSequence = new Sequence();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile Thread waitingConsumer;
 
     public MockEntityBuffer(){
         this(DEFAULT_SIZE);
     }
 
     public MockEntityBuffer(int initSize){
-        this.bufferSize = initSize;
-        this.buffer = new DataEntity[bufferSize];
-    }
-
-    private boolean empty() {
-        return head == tail;
+        this.capacity = ceilingPowerOfTwo(initSize > 0 ? initSize : DEFAULT_SIZE);
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
     }
 
-    private boolean full() {
-        return (tail + 1) % bufferSize == head;
+    private static int ceilingPowerOfTwo(int size) {
+        if (size <= 2) {
+            return 2;
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(size - 1));
     }
 
+    /**
+     * Single-threaded, drain all published entities
+     */
     public void clear(){
-        Arrays.fill(buffer,null);
-        this.head = 0;
-        this.tail = 0;
+        while (get() != null) {
+            // discard
+        }
     }
 
     public boolean put(DataEntity v) {
-        try {
-            locker.lock();
-            if (full()) {
+        long current;
+        do {
+            current = producerSequence.get();
+            if (current - consumerSequence.get() >= capacity) {
+                rejectedCount.increment();
                 return false;
             }
+        } while (!producerSequence.compareAndSet(current, current + 1));
 
-            buffer[tail] = v;
-            tail = (tail + 1) % bufferSize;
-            return true;
-        } finally {
-            locker.unLock();
+        buffer.set((int) current & mask, v);
+
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
         }
+        return true;
     }
 
     /**
      * Single-threaded
+     * @return null if empty or the next slot has been claimed but not yet published
      */
     public DataEntity get() {
-        if (empty()) {
+        long head = consumerSequence.get();
+        int index = (int) head & mask;
+        DataEntity result = buffer.get(index);
+        if (result == null) {
             return null;
         }
 
-        DataEntity result = buffer[head];
-        buffer[head] = null;
-        head = (head + 1) % bufferSize;
+        buffer.lazySet(index, null);
+        consumerSequence.lazySet(head + 1);
         return result;
     }
 
-    class SpinLock {
-        final AtomicInteger locker = new AtomicInteger(0);
-        long heldThread = 0;
+    /**
+     * Single-threaded, park the consumer until an entity is published or the timeout elapses
+     * @return null if timeout or interrupted
+     */
+    public DataEntity poll(long timeout, TimeUnit unit) {
+        DataEntity result = get();
+        if (result != null) {
+            return result;
+        }
 
-        final void lock() {
-            long currentThread = Thread.currentThread().getId();
-            if (currentThread == heldThread) {
-                return;
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Thread current = Thread.currentThread();
+        try {
+            while (result == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || current.isInterrupted()) {
+                    return null;
+                }
+                waitingConsumer = current;
+                // recheck after publishing the waiter, otherwise a put in between could be missed
+                result = get();
+                if (result == null) {
+                    LockSupport.parkNanos(this, remaining);
+                    result = get();
+                }
             }
+            return result;
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    /**
+     * number of entities claimed and not yet consumed
+     */
+    public int length(){
+        long head = consumerSequence.get();
+        long tail = producerSequence.get();
+        return (int) Math.max(0, Math.min(capacity, tail - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * number of entities rejected since created because the buffer is full
+     */
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    abstract static class LhsPadding {
+        protected long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    abstract static class Value extends LhsPadding {
+        protected volatile long value;
+    }
 
-            while (!locker.compareAndSet(0, 1)) {}
-            heldThread = currentThread;
+    static final class Sequence extends Value {
+        private static final AtomicLongFieldUpdater<Value> UPDATER =
+                AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+        protected long p9, p10, p11, p12, p13, p14, p15;
+
+        long get() {
+            return value;
         }
 
-        final void unLock() {
-            heldThread = 0;
-            locker.set(0);
+        void lazySet(long newValue) {
+            UPDATER.lazySet(this, newValue);
         }
-    }
 
-    public int length(){
-        return tail - head;
+        boolean compareAndSet(long expect, long update) {
+            return UPDATER.compareAndSet(this, expect, update);
+        }
     }
 }
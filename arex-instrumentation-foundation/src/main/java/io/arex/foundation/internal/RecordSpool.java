@@ -0,0 +1,231 @@
+package io.arex.foundation.internal;
+
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.log.LogManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded append-only spool of compressed mockers, used while the storage service is unavailable.
+ * <pre>
+ * - the spool is a directory of fixed size segment files named {@code <sequence>.spool},
+ *   the active segment is memory-mapped and rotated when full
+ * - frame: int payload length, byte mocker version, payload (zstd compressed mocker json),
+ *   the length is written last, so a torn frame reads as length 0 which is the end of the segment
+ * - the total size of the segments and the free space of the disk are capped, appends are rejected beyond that
+ * - segments left by the previous process are drained first
+ * </pre>
+ * Frames are drained in order by a single thread, a drained segment is deleted.
+ * The read offset is kept in memory only, so a frame may be sent twice if the process stops while draining.
+ */
+public class RecordSpool {
+    private static final String SUFFIX = ".spool";
+    private static final int FRAME_HEADER_SIZE = 5;
+    /**
+     * stop appending when the disk has less free space than this percentage
+     */
+    private static final int MIN_FREE_SPACE_PERCENT = 10;
+
+    private final File dir;
+    private final int segmentSize;
+    private final long maxSize;
+    private final Deque<File> sealedSegments = new ArrayDeque<>();
+    private final LongAdder rejectedCount = new LongAdder();
+    private long nextSequence;
+    private File activeSegment;
+    private MappedByteBuffer activeBuffer;
+    /**
+     * read offset of the first sealed segment, only accessed by the drain thread
+     */
+    private long readOffset;
+
+    RecordSpool(File dir, int segmentSize, long maxSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        recover();
+    }
+
+    /**
+     * @return null if the directory is not configured or not writable
+     */
+    public static RecordSpool create(String dir, int segmentSize, long maxSize) {
+        if (StringUtil.isEmpty(dir) || segmentSize <= FRAME_HEADER_SIZE || maxSize < segmentSize) {
+            return null;
+        }
+        File spoolDir = new File(dir);
+        if (!spoolDir.isDirectory() && !spoolDir.mkdirs() || !spoolDir.canWrite()) {
+            LogManager.warn("recordSpool.create", StringUtil.format("spool directory is not writable: %s", dir));
+            return null;
+        }
+        return new RecordSpool(spoolDir, segmentSize, maxSize);
+    }
+
+    private void recover() {
+        File[] files = dir.listFiles((parent, name) -> name.endsWith(SUFFIX) && sequence(name) >= 0);
+        if (files == null || files.length == 0) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(file -> sequence(file.getName())));
+        sealedSegments.addAll(Arrays.asList(files));
+        nextSequence = sequence(files[files.length - 1].getName()) + 1;
+        LogManager.info("recordSpool.recover", StringUtil.format("%s segments to drain in %s",
+            String.valueOf(files.length), dir.getPath()));
+    }
+
+    private static long sequence(String fileName) {
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param version mocker version of the payload, passed back when draining
+     * @param payload compressed mocker
+     * @return false if the frame exceeds the segment size or the spool is full
+     */
+    public synchronized boolean append(int version, byte[] payload) {
+        int frameSize = FRAME_HEADER_SIZE + payload.length;
+        if (frameSize > segmentSize || (activeBuffer == null || activeBuffer.remaining() < frameSize) && !rotate()) {
+            rejectedCount.increment();
+            return false;
+        }
+        int position = activeBuffer.position();
+        activeBuffer.position(position + Integer.BYTES);
+        activeBuffer.put((byte) version);
+        activeBuffer.put(payload);
+        activeBuffer.putInt(position, payload.length);
+        return true;
+    }
+
+    private boolean rotate() {
+        seal();
+        if ((sealedSegments.size() + 1L) * segmentSize > maxSize
+            || dir.getUsableSpace() - segmentSize < dir.getTotalSpace() / 100 * MIN_FREE_SPACE_PERCENT) {
+            return false;
+        }
+        File segment = new File(dir, nextSequence + SUFFIX);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(segmentSize);
+            // the mapping stays valid after the channel is closed
+            activeBuffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            activeSegment = segment;
+            nextSequence++;
+            return true;
+        } catch (IOException e) {
+            LogManager.warn("recordSpool.rotate", e);
+            delete(segment);
+            return false;
+        }
+    }
+
+    private void seal() {
+        if (activeBuffer == null) {
+            return;
+        }
+        if (activeBuffer.position() > 0) {
+            sealedSegments.addLast(activeSegment);
+        } else {
+            delete(activeSegment);
+        }
+        activeBuffer = null;
+        activeSegment = null;
+    }
+
+    public synchronized boolean hasPending() {
+        return !sealedSegments.isEmpty() || activeBuffer != null && activeBuffer.position() > 0;
+    }
+
+    /**
+     * Single-threaded, send the frames in order until the spool is empty, a send fails or maxFrames are sent.
+     * The active segment is sealed once all the sealed segments are drained.
+     * @return number of the sent frames
+     */
+    public int drain(FrameSender sender, int maxFrames) {
+        int sentFrames = 0;
+        File segment;
+        while (sentFrames < maxFrames && (segment = nextSegment()) != null) {
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+            try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+                long size = channel.size();
+                while (readOffset + FRAME_HEADER_SIZE <= size) {
+                    header.clear();
+                    readFully(channel, header, readOffset);
+                    int length = header.getInt(0);
+                    if (length <= 0 || readOffset + FRAME_HEADER_SIZE + length > size) {
+                        break;
+                    }
+                    if (sentFrames >= maxFrames) {
+                        return sentFrames;
+                    }
+                    ByteBuffer payload = ByteBuffer.allocate(length);
+                    readFully(channel, payload, readOffset + FRAME_HEADER_SIZE);
+                    if (!sender.send(header.get(Integer.BYTES), payload.array())) {
+                        return sentFrames;
+                    }
+                    readOffset += FRAME_HEADER_SIZE + length;
+                    sentFrames++;
+                }
+            } catch (IOException e) {
+                // unreadable segment, dropped so that the following segments are not blocked
+                LogManager.warn("recordSpool.drain", e);
+            }
+            removeDrained(segment);
+        }
+        return sentFrames;
+    }
+
+    private synchronized File nextSegment() {
+        if (sealedSegments.isEmpty()) {
+            seal();
+        }
+        return sealedSegments.peekFirst();
+    }
+
+    private synchronized void removeDrained(File segment) {
+        sealedSegments.remove(segment);
+        readOffset = 0;
+        delete(segment);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of spool segment");
+            }
+        }
+    }
+
+    private static void delete(File segment) {
+        if (segment.exists() && !segment.delete()) {
+            LogManager.warn("recordSpool.delete", StringUtil.format("delete %s failed", segment.getPath()));
+        }
+    }
+
+    /**
+     * number of frames rejected since created because the spool is full
+     */
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public interface FrameSender {
+        /**
+         * @return false to stop draining, the frame is sent again next time
+         */
+        boolean send(int version, byte[] payload);
+    }
+}
@@ -14,6 +14,7 @@ import com.google.gson.JsonDeserializer;
 
 import io.arex.foundation.serializer.custom.ProtobufAdapterFactory;
 import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.serializer.BinarySerializable;
 import io.arex.inst.runtime.serializer.StringSerializable;
 import io.arex.inst.runtime.util.TypeUtil;
 import java.sql.Time;
@@ -29,7 +30,13 @@ import com.google.gson.*;
 
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -37,7 +44,7 @@ import java.time.LocalTime;
 import java.util.*;
 
 @AutoService(StringSerializable.class)
-public class GsonSerializer implements StringSerializable {
+public class GsonSerializer implements StringSerializable, BinarySerializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(GsonSerializer.class);
 
     private static final JsonSerializer<DateTime> DATE_TIME_JSON_SERIALIZER =
@@ -300,6 +307,25 @@ public class GsonSerializer implements StringSerializable {
         return serializer.fromJson(json, type);
     }
 
+    @Override
+    public void serializeTo(Object object, OutputStream outputStream) throws Throwable {
+        if (object == null) {
+            return;
+        }
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        serializer.toJson(object, writer);
+        writer.flush();
+    }
+
+    @Override
+    public <T> T deserializeFrom(InputStream inputStream, Type type) {
+        if (inputStream == null || type == null) {
+            return null;
+        }
+
+        return serializer.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), type);
+    }
+
     @Override
     public StringSerializable reCreateSerializer() {
         return new GsonSerializer();
@@ -8,11 +8,15 @@ import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator
 import com.google.auto.service.AutoService;
 import com.google.common.collect.Range;
 
+import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.util.StringUtil;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
@@ -25,7 +29,10 @@ import io.arex.foundation.util.JdkUtils;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.model.RepeatCounter;
 import io.arex.inst.runtime.model.SerializeSkipInfo;
+import io.arex.inst.runtime.serializer.BinarySerializable;
+import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.serializer.StringSerializable;
 import io.arex.inst.runtime.util.TypeUtil;
 import java.sql.Time;
@@ -39,6 +46,9 @@ import org.slf4j.LoggerFactory;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
 import java.sql.Timestamp;
 import java.text.ParseException;
@@ -52,7 +62,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @AutoService(StringSerializable.class)
-public final class JacksonSerializer implements StringSerializable {
+public final class JacksonSerializer implements StringSerializable, BinarySerializable {
     public static final String EXTENSION = "json";
 
     private static final String SKIP_INFO_LIST_TYPE = "java.util.ArrayList-io.arex.inst.runtime.model.SerializeSkipInfo";
@@ -76,7 +86,9 @@ public final class JacksonSerializer implements StringSerializable {
         customTimeFormatSerializer(MODULE);
         customTimeFormatDeserializer(MODULE);
         customTypeResolver();
+        MODULE.addSerializer(RepeatCounter.class, new RepeatCounterSerializer());
         MAPPER.registerModule(MODULE);
+        MAPPER.addMixIn(Mocker.Target.class, TargetMixIn.class);
     }
 
     private void customTypeResolver() {
@@ -153,6 +165,24 @@ public final class JacksonSerializer implements StringSerializable {
         return deserialize(json, javaType);
     }
 
+    @Override
+    public void serializeTo(Object object, OutputStream outputStream) throws Throwable {
+        if (object == null) {
+            return;
+        }
+
+        MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, object);
+    }
+
+    @Override
+    public <T> T deserializeFrom(InputStream inputStream, Type type) throws Throwable {
+        if (inputStream == null || type == null) {
+            return null;
+        }
+
+        return MAPPER.readValue(inputStream, MAPPER.getTypeFactory().constructType(type));
+    }
+
     @Override
     public StringSerializable reCreateSerializer() {
         INSTANCE = new JacksonSerializer();
@@ -267,6 +297,118 @@ public final class JacksonSerializer implements StringSerializable {
     // region Custom Serializer/Deserialize
 
 
+    /**
+     * A target body set by {@link Mocker.Target#setJsonBody(String)} is embedded as a raw json value
+     * when {@link Config#isRawJsonBody()}, both forms are accepted when reading.
+     */
+    abstract static class TargetMixIn {
+        @JsonSerialize(using = RawJsonBodySerializer.class)
+        abstract String getBody();
+
+        @JsonDeserialize(using = RawJsonBodyDeserializer.class)
+        abstract void setBody(String body);
+    }
+
+    static class RawJsonBodySerializer extends com.fasterxml.jackson.databind.JsonSerializer<String> {
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            Object target = gen.getCurrentValue();
+            if (target instanceof Mocker.Target && ((Mocker.Target) target).jsonBody() && isRawJson(value)) {
+                gen.writeRawValue(value);
+                return;
+            }
+            gen.writeString(value);
+        }
+
+        /**
+         * only json object or array, a raw string or null could not be told from the escaped form when reading.
+         * The caller of setJsonBody ensures a single json value, so only the first char is checked.
+         */
+        private static boolean isRawJson(String value) {
+            Config config = Config.get();
+            if (config == null || !config.isRawJsonBody()) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    return c == '{' || c == '[';
+                }
+            }
+            return false;
+        }
+    }
+
+    static class RawJsonBodyDeserializer extends com.fasterxml.jackson.databind.JsonDeserializer<String> {
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                return p.getValueAsString();
+            }
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = p.getCodec().getFactory().createGenerator(writer)) {
+                copyExact(p, generator);
+            }
+            return writer.toString();
+        }
+
+        /**
+         * Unlike {@link JsonGenerator#copyCurrentStructure(JsonParser)}, numbers are copied as their original text,
+         * a copy through double would change decimals such as BigDecimal results
+         */
+        private static void copyExact(JsonParser p, JsonGenerator generator) throws IOException {
+            int depth = 0;
+            JsonToken token = p.currentToken();
+            while (token != null) {
+                switch (token) {
+                    case START_OBJECT:
+                        generator.writeStartObject();
+                        depth++;
+                        break;
+                    case START_ARRAY:
+                        generator.writeStartArray();
+                        depth++;
+                        break;
+                    case END_OBJECT:
+                        generator.writeEndObject();
+                        depth--;
+                        break;
+                    case END_ARRAY:
+                        generator.writeEndArray();
+                        depth--;
+                        break;
+                    case VALUE_NUMBER_INT:
+                    case VALUE_NUMBER_FLOAT:
+                        generator.writeNumber(p.getText());
+                        break;
+                    default:
+                        generator.copyCurrentEvent(p);
+                        break;
+                }
+                if (depth == 0) {
+                    return;
+                }
+                token = p.nextToken();
+            }
+        }
+    }
+
+    /**
+     * The counter is written as its final count, sealed so that it is not incremented after being written.
+     * Collectors which do not seal the mocker before serializing get the same form.
+     */
+    static class RepeatCounterSerializer extends com.fasterxml.jackson.databind.JsonSerializer<RepeatCounter> {
+
+        @Override
+        public void serialize(RepeatCounter value, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+            gen.writeNumber(value.seal());
+        }
+    }
+
     static class DateTimeSerialize extends com.fasterxml.jackson.databind.JsonSerializer<DateTime> {
 
         @Override
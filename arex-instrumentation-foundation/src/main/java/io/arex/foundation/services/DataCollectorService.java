@@ -8,22 +8,33 @@ import io.arex.foundation.config.ConfigManager;
 import io.arex.foundation.healthy.HealthManager;
 import io.arex.foundation.internal.DataEntity;
 import io.arex.foundation.internal.MockEntityBuffer;
+import io.arex.foundation.internal.RecordSpool;
 import io.arex.foundation.model.DecelerateReasonEnum;
+import io.arex.foundation.util.CompressUtil;
 import io.arex.foundation.util.httpclient.AsyncHttpClientUtil;
 import io.arex.foundation.model.HttpClientResponse;
 import io.arex.foundation.util.httpclient.async.ThreadFactoryImpl;
+import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.util.CaseManager;
 import io.arex.inst.runtime.service.DataCollector;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
+import org.apache.http.HttpStatus;
 
 public class DataCollectorService implements DataCollector {
     public static final DataCollectorService INSTANCE = new DataCollectorService();
@@ -31,12 +42,31 @@ public class DataCollectorService implements DataCollector {
     final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 15,
             TimeUnit.MINUTES, new LinkedBlockingQueue<>(), new ThreadFactoryImpl("data-save-handler"));
 
+    /**
+     * serialize, compress and send mocker, the size is configured by arex.record.worker.count
+     */
+    private ThreadPoolExecutor recordWorker = null;
     private MockEntityBuffer buffer = null;
     private Future<?> executeFuture = null;
+    /**
+     * keeps the mockers on disk while the storage service is unavailable, null if arex.record.spool.dir is not set
+     */
+    private RecordSpool spool = null;
+    /**
+     * appends the mockers that failed to send to the spool, so that the http client io thread is not blocked
+     */
+    private ThreadPoolExecutor spoolWorker = null;
+    private final AtomicBoolean spoolDraining = new AtomicBoolean(false);
     private final AtomicBoolean initialized = new AtomicBoolean(false);
+    /**
+     * switch to per-item save once the storage service responds that batch save is not supported
+     */
+    volatile boolean batchSaveSupported = true;
 
     private static String queryApiUrl;
+    private static String queryAllApiUrl;
     private static String saveApiUrl;
+    private static String batchSaveApiUrl;
     private static String invalidCaseApiUrl;
 
     static {
@@ -45,7 +75,7 @@ public class DataCollectorService implements DataCollector {
 
     @Override
     public void save(Mocker requestMocker) {
-        if (HealthManager.isFastRejection()) {
+        if (HealthManager.isFastRejection() && spool == null) {
             return;
         }
 
@@ -65,6 +95,22 @@ public class DataCollectorService implements DataCollector {
         return queryReplayData(postData, mockStrategy);
     }
 
+    @Override
+    public CompletableFuture<String> queryAsync(String postData, MockStrategyEnum mockStrategy) {
+        return queryReplayDataAsync(postData, mockStrategy);
+    }
+
+    @Override
+    public String queryAll(String postData) {
+        return queryAllAsync(postData).join();
+    }
+
+    @Override
+    public CompletableFuture<String> queryAllAsync(String postData) {
+        return AsyncHttpClientUtil.postAsyncWithZstdJson(queryAllApiUrl, postData, null)
+            .thenApply(clientResponse -> clientResponse == null ? null : clientResponse.getBody());
+    }
+
     @Override
     public void start() {
         if (initialized.compareAndSet(false, true)) {
@@ -81,25 +127,62 @@ public class DataCollectorService implements DataCollector {
             buffer = new MockEntityBuffer(ConfigManager.INSTANCE.getBufferSize());
         }
 
+        if (recordWorker == null) {
+            recordWorker = createRecordWorker(ConfigManager.INSTANCE.getRecordWorkerCount());
+        }
+
+        if (spool == null) {
+            spool = RecordSpool.create(ConfigManager.INSTANCE.getRecordSpoolDir(),
+                ConfigManager.INSTANCE.getRecordSpoolSegmentSize(), ConfigManager.INSTANCE.getRecordSpoolMaxSize());
+            if (spool != null) {
+                spoolWorker = createSpoolWorker();
+                TimerService.scheduleAtFixedRate(this::drainSpool, 1, 1, TimeUnit.SECONDS);
+            }
+        }
+
         if (executeFuture == null) {
             executeFuture = executor.submit(this::loop);
         }
     }
 
+    /**
+     * when all workers are busy and the waiting queue is full, the loop thread sends the data itself,
+     * so the buffer fills up and the enqueue rejection takes effect.
+     */
+    static ThreadPoolExecutor createRecordWorker(int workerCount) {
+        int poolSize = Math.max(workerCount, 1);
+        return new ThreadPoolExecutor(poolSize, poolSize, 15, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(poolSize * 64), new ThreadFactoryImpl("data-record-worker", true),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * rejects instead of running the task in the caller, the caller is the http client io thread
+     */
+    static ThreadPoolExecutor createSpoolWorker() {
+        return new ThreadPoolExecutor(1, 1, 15, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(SPOOL_QUEUE_SIZE), new ThreadFactoryImpl("data-spool-worker", true),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
     private void loop() {
         while (true) {
             try {
-                DataEntity entity = buffer.get();
+                // park until an entity is published instead of polling
+                DataEntity entity = buffer.poll(1, TimeUnit.SECONDS);
                 if (entity == null) {
-                    if (!initialized.get()) {
+                    if (!initialized.get() || Thread.currentThread().isInterrupted()) {
                         break;
                     }
-
-                    doSleep(1000);
                     continue;
                 }
-                HealthManager.reportUsedTime(System.nanoTime() - entity.getQueueTime(), true);
-                saveData(entity);
+                HealthManager.reportQueueDepth(buffer.length(), buffer.capacity());
+                List<DataEntity> batch = drainBatch(entity);
+                if (spool != null && HealthManager.isFastRejection()) {
+                    recordWorker.execute(() -> spoolBatch(batch));
+                    continue;
+                }
+                recordWorker.execute(() -> doSave(batch));
                 if (HealthManager.isFastRejection()) {
                     doSleep(100);
                 }
@@ -117,37 +200,267 @@ public class DataCollectorService implements DataCollector {
         }
     }
 
+    /**
+     * Collect entities until the batch is full or the linger time is over
+     */
+    private List<DataEntity> drainBatch(DataEntity first) {
+        int batchSize = batchSaveSupported ? ConfigManager.INSTANCE.getRecordBatchSize() : 1;
+        List<DataEntity> batch = new ArrayList<>(Math.max(batchSize, 1));
+        HealthManager.reportUsedTime(System.nanoTime() - first.getQueueTime(), true);
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ConfigManager.INSTANCE.getRecordBatchLingerMs());
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            DataEntity entity = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : buffer.get();
+            if (entity == null) {
+                break;
+            }
+            HealthManager.reportUsedTime(System.nanoTime() - entity.getQueueTime(), true);
+            batch.add(entity);
+        }
+        return batch;
+    }
+
+    private void doSave(List<DataEntity> batch) {
+        try {
+            if (batch.size() == 1 || !batchSaveSupported) {
+                batch.forEach(this::saveData);
+                return;
+            }
+            saveBatchData(batch);
+        } catch (Throwable throwable) {
+            LogManager.warn("saveDataWorker", "serialize or send mock data unhandled error");
+        }
+    }
+
+    private void spoolBatch(List<DataEntity> batch) {
+        try {
+            batch.forEach(this::spoolData);
+        } catch (Throwable throwable) {
+            LogManager.warn("spoolDataWorker", "spool mock data unhandled error");
+        }
+    }
+
+    /**
+     * Keep the compressed mocker in the spool, the case is invalid if the spool is full
+     */
+    void spoolData(DataEntity entity) {
+        if (entity == null || CaseManager.isInvalidCase(entity.getRecordId())) {
+            return;
+        }
+        byte[] postData = entity.getPostData();
+        if (postData == null) {
+            return;
+        }
+        if (!spool.append(mockerVersion(), CompressUtil.zstdCompress(postData))) {
+            CaseManager.invalid(entity.getRecordId(), entity.getOperationName(), DecelerateReasonEnum.SERVICE_EXCEPTION.getValue());
+        }
+    }
+
+    /**
+     * Resend the spooled mockers on a record worker once the storage service is available again
+     */
+    private void drainSpool() {
+        if (HealthManager.isFastRejection() || !spool.hasPending() || !spoolDraining.compareAndSet(false, true)) {
+            return;
+        }
+        recordWorker.execute(() -> {
+            try {
+                spool.drain(this::sendSpooledData, SPOOL_DRAIN_MAX_FRAMES);
+            } catch (Throwable throwable) {
+                LogManager.warn("drainSpool", throwable);
+            } finally {
+                spoolDraining.set(false);
+            }
+        });
+    }
+
+    /**
+     * @return false to stop draining, the frame is kept in the spool
+     */
+    boolean sendSpooledData(int version, byte[] compressedData) {
+        if (HealthManager.isFastRejection()) {
+            return false;
+        }
+        try {
+            HttpClientResponse response = AsyncHttpClientUtil.postAsyncWithCompressedJson(saveApiUrl, compressedData,
+                mockerHeaders(0, version)).get(SPOOL_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (response != null && isSuccessful(response.getStatusCode())) {
+                return true;
+            }
+            LogManager.warn("sendSpooledData", StringUtil.format("send spooled mock data failed, status: %s",
+                response == null ? "none" : String.valueOf(response.getStatusCode())));
+            HealthManager.onDataServiceRejection();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Throwable throwable) {
+            LogManager.warn("sendSpooledData", StringUtil.format("send spooled mock data error: %s", throwable.toString()));
+            HealthManager.onDataServiceRejection();
+            return false;
+        }
+    }
+
+    private static boolean isSuccessful(int statusCode) {
+        return statusCode >= HttpStatus.SC_OK && statusCode < HttpStatus.SC_MULTIPLE_CHOICES;
+    }
+
     private static final String MOCK_STRATEGY = "X-AREX-Mock-Strategy-Code";
+    /**
+     * envelope version of the mocker json, 2: json bodies may be embedded as raw json values
+     */
+    private static final String MOCKER_VERSION = "X-AREX-Mocker-Version";
+    private static final int DEFAULT_MOCKER_VERSION = 1;
+    private static final int RAW_JSON_BODY_VERSION = 2;
+    /**
+     * max frames resent per drain, so that a record worker is not occupied for long
+     */
+    static final int SPOOL_DRAIN_MAX_FRAMES = 256;
+    private static final long SPOOL_SEND_TIMEOUT_SECONDS = 10;
+    static final int SPOOL_QUEUE_SIZE = 1024;
+    /**
+     * uncompressed size limit of one batch request, the compressed entity must stay under 5MB
+     */
+    static final int BATCH_MAX_BYTES = 2 * 1024 * 1024;
 
     void saveData(DataEntity entity) {
         if (entity == null || CaseManager.isInvalidCase(entity.getRecordId())) {
             return;
         }
-        AsyncHttpClientUtil.postAsyncWithZstdJson(saveApiUrl, entity.getPostData(), null)
+        byte[] postData = entity.getPostData();
+        if (postData == null) {
+            return;
+        }
+        reportRecordCost(entity, postData);
+        AsyncHttpClientUtil.postAsyncWithZstdJson(saveApiUrl, postData, mockerHeaders(0))
             .whenComplete(saveMockDataConsumer(entity));
     }
 
+    /**
+     * Send the mockers as a json array, split into several requests if the size exceeds {@link #BATCH_MAX_BYTES}
+     */
+    void saveBatchData(List<DataEntity> batch) {
+        List<DataEntity> entities = new ArrayList<>(batch.size());
+        ByteArrayOutputStream postData = newBatchData();
+        for (DataEntity entity : batch) {
+            if (entity == null || CaseManager.isInvalidCase(entity.getRecordId())) {
+                continue;
+            }
+            byte[] data = entity.getPostData();
+            if (data == null) {
+                continue;
+            }
+            reportRecordCost(entity, data);
+            if (!entities.isEmpty() && postData.size() + data.length > BATCH_MAX_BYTES) {
+                postBatchData(postData, entities);
+                entities = new ArrayList<>(batch.size());
+                postData = newBatchData();
+            }
+            if (!entities.isEmpty()) {
+                postData.write(',');
+            }
+            postData.write(data, 0, data.length);
+            entities.add(entity);
+        }
+        if (!entities.isEmpty()) {
+            postBatchData(postData, entities);
+        }
+    }
+
+    private static void reportRecordCost(DataEntity entity, byte[] postData) {
+        Mocker mocker = entity.getMocker();
+        if (mocker.getCategoryType() != null && mocker.getCategoryType().isEntryPoint()) {
+            HealthManager.reportRecordCost(mocker, postData.length);
+        }
+    }
+
+    private static ByteArrayOutputStream newBatchData() {
+        ByteArrayOutputStream postData = new ByteArrayOutputStream();
+        postData.write('[');
+        return postData;
+    }
+
+    private void postBatchData(ByteArrayOutputStream postData, List<DataEntity> entities) {
+        postData.write(']');
+        AsyncHttpClientUtil.postAsyncWithZstdJson(batchSaveApiUrl, postData.toByteArray(), mockerHeaders(0))
+            .whenComplete(saveBatchDataConsumer(entities));
+    }
+
+    private BiConsumer<HttpClientResponse, Throwable> saveBatchDataConsumer(List<DataEntity> entities) {
+        return (response, throwable) -> {
+            if (Objects.isNull(throwable) && response != null && isBatchUnsupported(response.getStatusCode())) {
+                batchSaveSupported = false;
+                LogManager.warn("saveBatchData", StringUtil.format(
+                    "batch save is not supported by storage service, status: %s, switch to single save",
+                    String.valueOf(response.getStatusCode())));
+                // only happens once, the following batches are sent by single save
+                entities.forEach(this::saveData);
+                return;
+            }
+            for (DataEntity entity : entities) {
+                saveMockDataConsumer(entity).accept(response, throwable);
+            }
+        };
+    }
+
+    private static boolean isBatchUnsupported(int statusCode) {
+        return statusCode == HttpStatus.SC_NOT_FOUND || statusCode == HttpStatus.SC_METHOD_NOT_ALLOWED
+            || statusCode == HttpStatus.SC_NOT_IMPLEMENTED;
+    }
+
     /**
      * Query replay data
      */
     String queryReplayData(String postData, MockStrategyEnum mockStrategy) {
-        Map<String, String> requestHeaders = MapUtils.newHashMapWithExpectedSize(1);
+        return queryReplayDataAsync(postData, mockStrategy).join();
+    }
+
+    CompletableFuture<String> queryReplayDataAsync(String postData, MockStrategyEnum mockStrategy) {
+        Map<String, String> requestHeaders = mockerHeaders(1);
         requestHeaders.put(MOCK_STRATEGY, mockStrategy.getCode());
-        HttpClientResponse clientResponse = AsyncHttpClientUtil.postAsyncWithZstdJson(queryApiUrl, postData,
-            requestHeaders).join();
-        if (clientResponse == null) {
+        return AsyncHttpClientUtil.postAsyncWithZstdJson(queryApiUrl, postData, requestHeaders)
+            .thenApply(clientResponse -> clientResponse == null ? null : clientResponse.getBody());
+    }
+
+    /**
+     * @param expectedSize number of the other headers
+     * @return null if no header
+     */
+    private static Map<String, String> mockerHeaders(int expectedSize) {
+        return mockerHeaders(expectedSize, mockerVersion());
+    }
+
+    private static Map<String, String> mockerHeaders(int expectedSize, int mockerVersion) {
+        if (expectedSize == 0 && mockerVersion == DEFAULT_MOCKER_VERSION) {
             return null;
         }
-        return clientResponse.getBody();
+        Map<String, String> requestHeaders = MapUtils.newHashMapWithExpectedSize(expectedSize + 1);
+        if (mockerVersion != DEFAULT_MOCKER_VERSION) {
+            requestHeaders.put(MOCKER_VERSION, String.valueOf(mockerVersion));
+        }
+        return requestHeaders;
+    }
+
+    private static int mockerVersion() {
+        Config config = Config.get();
+        return config != null && config.isRawJsonBody() ? RAW_JSON_BODY_VERSION : DEFAULT_MOCKER_VERSION;
     }
 
     private <T> BiConsumer<T, Throwable> saveMockDataConsumer(DataEntity entity) {
         return (response, throwable) -> {
             long usedTime = System.nanoTime() - entity.getQueueTime();
             if (Objects.nonNull(throwable)) {
-                CaseManager.invalid(entity.getRecordId(), entity.getOperationName(), DecelerateReasonEnum.SERVICE_EXCEPTION.getValue());
-                LogManager.warn("saveMockDataConsumer", StringUtil.format("save mock data error: %s, post data: %s",
-                        throwable.toString(), entity.getPostData()));
+                if (spoolWorker != null) {
+                    LogManager.warn("saveMockDataConsumer", StringUtil.format("save mock data error: %s, spool it",
+                        throwable.toString()));
+                    spoolLater(entity);
+                } else {
+                    CaseManager.invalid(entity.getRecordId(), entity.getOperationName(), DecelerateReasonEnum.SERVICE_EXCEPTION.getValue());
+                    LogManager.warn("saveMockDataConsumer", StringUtil.format("save mock data error: %s, post data: %s",
+                        throwable.toString(), new String(entity.getPostData(), StandardCharsets.UTF_8)));
+                }
                 usedTime = -1; // -1:reject
                 HealthManager.onDataServiceRejection();
             }
@@ -155,11 +468,24 @@ public class DataCollectorService implements DataCollector {
         };
     }
 
+    /**
+     * invalid the case if the spool worker is busy, the spool must not be written on the http client io thread
+     */
+    void spoolLater(DataEntity entity) {
+        try {
+            spoolWorker.execute(() -> spoolData(entity));
+        } catch (RejectedExecutionException e) {
+            CaseManager.invalid(entity.getRecordId(), entity.getOperationName(), DecelerateReasonEnum.QUEUE_OVERFLOW.getValue());
+        }
+    }
+
     private static void initServiceHost() {
         String storeServiceHost = ConfigManager.INSTANCE.getStorageServiceHost();
 
         queryApiUrl = String.format("http://%s/api/storage/record/query", storeServiceHost);
+        queryAllApiUrl = String.format("http://%s/api/storage/record/queryAll", storeServiceHost);
         saveApiUrl = String.format("http://%s/api/storage/record/save", storeServiceHost);
+        batchSaveApiUrl = String.format("http://%s/api/storage/record/batchSave", storeServiceHost);
         invalidCaseApiUrl = String.format("http://%s/api/storage/record/invalidCase", storeServiceHost);
     }
 }
@@ -0,0 +1,211 @@
+package io.arex.foundation.services;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockStrategyEnum;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.foundation.config.ConfigManager;
+import io.arex.foundation.internal.LocalMockerStore;
+import io.arex.foundation.internal.LocalMockerStore.IndexEntry;
+import io.arex.foundation.model.DecelerateReasonEnum;
+import io.arex.foundation.util.httpclient.async.ThreadFactoryImpl;
+import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.model.RepeatCounter;
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.service.DataCollector;
+import io.arex.inst.runtime.util.CaseManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded collector of local storage mode (arex.storage.mode=local), record and replay without storage service.
+ * Recorded mockers are written to {@link LocalMockerStore} by a single writer thread,
+ * replay queries are served from the memory-mapped segments.
+ * Replayed mockers are not kept, as there is no comparison in local storage mode.
+ */
+public class LocalDataCollector implements DataCollector {
+    public static final LocalDataCollector INSTANCE = new LocalDataCollector();
+
+    /**
+     * max segment size of the local storage files, a larger mocker is not recorded
+     */
+    static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    /**
+     * number of replays whose consumed mockers are tracked
+     */
+    private static final int MAX_TRACKED_REPLAYS = 1024;
+
+    private ThreadPoolExecutor writer = null;
+    private LocalMockerStore store = null;
+    private final AtomicBoolean initialized = new AtomicBoolean(false);
+    /**
+     * replayId (recordId if not replaying) to the consumed frames of the case, so that repeated calls
+     * with the same request are served in recording order
+     */
+    private final Map<String, BitSet> consumedMap = new LinkedHashMap<String, BitSet>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+            return size() > MAX_TRACKED_REPLAYS;
+        }
+    };
+
+    @Override
+    public void start() {
+        if (initialized.compareAndSet(false, true)) {
+            init();
+        }
+    }
+
+    void init() {
+        if (store == null) {
+            store = LocalMockerStore.create(ConfigManager.INSTANCE.getLocalStorageDir(), SEGMENT_SIZE,
+                ConfigManager.INSTANCE.getLocalStorageMaxSize());
+        }
+        if (writer == null) {
+            writer = new ThreadPoolExecutor(1, 1, 15, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(Math.max(ConfigManager.INSTANCE.getBufferSize(), 1)),
+                new ThreadFactoryImpl("local-data-writer", true));
+        }
+    }
+
+    @Override
+    public void save(Mocker requestMocker) {
+        if (store == null || StringUtil.isNotEmpty(requestMocker.getReplayId())) {
+            return;
+        }
+        try {
+            writer.execute(() -> saveData(requestMocker));
+        } catch (RejectedExecutionException e) {
+            CaseManager.invalid(requestMocker.getRecordId(), requestMocker.getOperationName(),
+                DecelerateReasonEnum.QUEUE_OVERFLOW.getValue());
+        }
+    }
+
+    void saveData(Mocker requestMocker) {
+        if (CaseManager.isInvalidCase(requestMocker.getRecordId())) {
+            return;
+        }
+        RepeatCounter.seal(requestMocker);
+        byte[] json = Serializer.serializeToBytes(requestMocker);
+        if (json == null || json.length == 0) {
+            return;
+        }
+        if (!store.append(requestMocker, json)) {
+            LogManager.warn("localDataCollector.save", StringUtil.format("save mocker failed, recordId: %s, operation: %s",
+                requestMocker.getRecordId(), requestMocker.getOperationName()));
+        }
+    }
+
+    @Override
+    public void invalidCase(String postData) {
+        ArexMocker invalidCase = Serializer.deserialize(postData, ArexMocker.class);
+        if (store == null || invalidCase == null) {
+            return;
+        }
+        try {
+            // after the mockers of the case already queued
+            writer.execute(() -> store.invalidate(invalidCase.getRecordId()));
+        } catch (RejectedExecutionException e) {
+            store.invalidate(invalidCase.getRecordId());
+        }
+    }
+
+    /**
+     * Match in recording order by category, operation and request, then by category and operation
+     * unless strict matching. The last matched mocker is reused only by {@link MockStrategyEnum#FIND_LAST}.
+     */
+    @Override
+    public String query(String postData, MockStrategyEnum mockStrategy) {
+        ArexMocker requestMocker = Serializer.deserialize(postData, ArexMocker.class);
+        if (store == null || requestMocker == null || requestMocker.getCategoryType() == null) {
+            return null;
+        }
+        List<IndexEntry> entries = store.entries(requestMocker.getRecordId());
+        if (entries.isEmpty()) {
+            return null;
+        }
+        String categoryName = requestMocker.getCategoryType().getName();
+        String operationName = StringUtil.defaultString(requestMocker.getOperationName());
+        int requestHash = LocalMockerStore.requestHash(requestMocker);
+        String consumedKey = StringUtil.isEmpty(requestMocker.getReplayId()) ?
+            requestMocker.getRecordId() : requestMocker.getReplayId();
+
+        int matched = -1;
+        int lastRequestMatched = -1;
+        int lastOperationMatched = -1;
+        synchronized (consumedMap) {
+            BitSet consumed = consumedMap.computeIfAbsent(consumedKey, key -> new BitSet(entries.size()));
+            int operationMatched = -1;
+            for (int i = 0; i < entries.size(); i++) {
+                IndexEntry entry = entries.get(i);
+                if (!categoryName.equals(entry.getCategoryName()) || !operationName.equals(entry.getOperationName())) {
+                    continue;
+                }
+                boolean requestMatched = entry.getRequestHash() == requestHash;
+                if (consumed.get(i)) {
+                    lastRequestMatched = requestMatched ? i : lastRequestMatched;
+                    lastOperationMatched = i;
+                    continue;
+                }
+                if (requestMatched) {
+                    matched = i;
+                    break;
+                }
+                if (operationMatched < 0) {
+                    operationMatched = i;
+                }
+            }
+            if (matched < 0 && mockStrategy != MockStrategyEnum.STRICT_MATCH) {
+                matched = operationMatched;
+            }
+            if (matched >= 0) {
+                consumed.set(matched);
+            }
+        }
+        if (matched < 0 && mockStrategy == MockStrategyEnum.FIND_LAST) {
+            matched = lastRequestMatched >= 0 ? lastRequestMatched : lastOperationMatched;
+        }
+        byte[] json = matched < 0 ? null : store.read(entries.get(matched));
+        return json == null ? null : new String(json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return json array of the recorded mockers of the case, null if not found
+     */
+    @Override
+    public String queryAll(String postData) {
+        ArexMocker queryMocker = Serializer.deserialize(postData, ArexMocker.class);
+        if (store == null || queryMocker == null) {
+            return null;
+        }
+        List<IndexEntry> entries = store.entries(queryMocker.getRecordId());
+        if (entries.isEmpty()) {
+            return null;
+        }
+        ByteArrayOutputStream mockers = new ByteArrayOutputStream();
+        mockers.write('[');
+        for (IndexEntry entry : entries) {
+            byte[] json = store.read(entry);
+            if (json == null) {
+                // evicted while reading
+                return null;
+            }
+            if (mockers.size() > 1) {
+                mockers.write(',');
+            }
+            mockers.write(json, 0, json.length);
+        }
+        mockers.write(']');
+        return new String(mockers.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
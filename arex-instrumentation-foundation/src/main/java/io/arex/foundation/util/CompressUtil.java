@@ -34,15 +34,12 @@ public class CompressUtil {
             return ZERO_BYTE;
         }
 
-        try (ByteArrayInputStream byteInputStream = new ByteArrayInputStream(original);
-            ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream(byteInputStream.available());
+        try (ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream(original.length);
             ZstdOutputStreamNoFinalizer zstdOutputStream = new ZstdOutputStreamNoFinalizer(byteOutputStream,
                     RecyclingBufferPool.INSTANCE)) {
 
-            byte[] buffer = new byte[BYTES_BUFFER_LENGTH];
-            for (int length; (length = byteInputStream.read(buffer, 0, BYTES_BUFFER_LENGTH)) != -1; ) {
-                zstdOutputStream.write(buffer, 0, length);
-            }
+            // the encoder reads the array directly, no intermediate copy
+            zstdOutputStream.write(original, 0, original.length);
 
             zstdOutputStream.flush();
             zstdOutputStream.close();
@@ -66,7 +66,23 @@ public class AsyncHttpClientUtil {
 
     public static CompletableFuture<HttpClientResponse> postAsyncWithZstdJson(String uri, String postData,
         Map<String, String> requestHeaders) {
-        HttpEntity httpEntity = new ByteArrayEntity(CompressUtil.zstdCompress(postData, StandardCharsets.UTF_8));
+        return postAsyncWithZstdJson(uri, postData.getBytes(StandardCharsets.UTF_8), requestHeaders);
+    }
+
+    /**
+     * @param postData UTF-8 json
+     */
+    public static CompletableFuture<HttpClientResponse> postAsyncWithZstdJson(String uri, byte[] postData,
+        Map<String, String> requestHeaders) {
+        return postAsyncWithCompressedJson(uri, CompressUtil.zstdCompress(postData), requestHeaders);
+    }
+
+    /**
+     * @param compressedData zstd compressed UTF-8 json
+     */
+    public static CompletableFuture<HttpClientResponse> postAsyncWithCompressedJson(String uri, byte[] compressedData,
+        Map<String, String> requestHeaders) {
+        HttpEntity httpEntity = new ByteArrayEntity(compressedData);
 
         if (requestHeaders == null) {
             requestHeaders = MapUtils.newHashMapWithExpectedSize(1);
@@ -55,6 +55,9 @@ class ConfigManagerTest {
         configManager.init();
         assertEquals("test-config-service.host", configManager.getConfigServiceHost());
         assertEquals(1024, configManager.getBufferSize());
+        assertEquals(2, configManager.getRecordWorkerCount());
+        assertEquals(32, configManager.getRecordBatchSize());
+        assertEquals(50, configManager.getRecordBatchLingerMs());
     }
 
     @Test
@@ -1,6 +1,9 @@
 package io.arex.foundation.healthy;
 
 import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.Mocker.Target;
 import io.arex.agent.bootstrap.util.Assert;
 import io.arex.agent.bootstrap.util.ReflectUtil;
 import io.arex.foundation.config.ConfigManager;
@@ -13,6 +16,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -86,6 +90,70 @@ class HealthManagerTest {
         assertEquals("0.80", System.getProperty(ConfigConstants.CURRENT_RATE));
     }
 
+    @Test
+    void adaptiveSampling() {
+        HealthManager.RecordRateManager manager = new HealthManager.RecordRateManager();
+        assertTrue(manager.acquire("cheap", 1));
+        assertFalse(manager.acquire("cheap", 1));
+        assertTrue(manager.acquire("heavy", 1));
+        HealthManager.OperationSampler cheap = HealthManager.RecordRateManager.SAMPLER_MAP.get("cheap");
+        HealthManager.OperationSampler heavy = HealthManager.RecordRateManager.SAMPLER_MAP.get("heavy");
+        long basePermitNanos = manager.permitNanos(heavy);
+        assertEquals(TimeUnit.MINUTES.toNanos(1), basePermitNanos);
+
+        // cost relative to the average
+        manager.reportCost("cheap", 100);
+        manager.reportCost("heavy", 10000);
+        manager.reportCost("unknown", 10000);
+        // a cheap operation is not sampled above the configured rate
+        assertEquals(basePermitNanos, manager.permitNanos(cheap));
+        assertTrue(manager.permitNanos(heavy) > basePermitNanos);
+        assertTrue(manager.permitNanos(heavy) <= basePermitNanos * HealthManager.RecordRateManager.MAX_WEIGHT);
+
+        // queue backs up, only the frequent operation is sampled less
+        long cheapPermitNanos = manager.permitNanos(cheap);
+        long heavyPermitNanos = manager.permitNanos(heavy);
+        manager.reportQueueDepth(90, 100);
+        assertEquals(0.8, manager.loadFactor, 0.001);
+        assertEquals(cheapPermitNanos, manager.permitNanos(cheap));
+        assertEquals(heavyPermitNanos, manager.permitNanos(heavy));
+        // adjusts at most once per second
+        manager.reportQueueDepth(90, 100);
+        assertEquals(0.8, manager.loadFactor, 0.001);
+
+        assertFalse(manager.acquire("cheap", 1));
+        assertFalse(manager.acquire("cheap", 1));
+        assertTrue(cheap.isFrequent());
+        assertFalse(heavy.isFrequent());
+        assertTrue(manager.permitNanos(cheap) > cheapPermitNanos);
+
+        // a rate change restarts the buckets
+        assertTrue(manager.acquire("cheap", 2));
+        HealthManager.RecordRateManager.SAMPLER_MAP.clear();
+    }
+
+    @Test
+    void reportRecordCost() {
+        ConfigManager.INSTANCE.setRecordRate(1);
+        HealthManager.acquire("/user/1?name=a");
+        HealthManager.OperationSampler sampler = HealthManager.RecordRateManager.SAMPLER_MAP.get("/user/1");
+        assertNotNull(sampler);
+
+        // servlet operation is the pattern, found by the request path
+        ArexMocker mocker = new ArexMocker(MockCategoryType.SERVLET);
+        mocker.setOperationName("/user/{id}");
+        mocker.setTargetRequest(new Target());
+        mocker.getTargetRequest().setAttribute("RequestPath", "/user/1?name=b");
+        HealthManager.reportRecordCost(mocker, 100);
+        assertEquals(100, sampler.cost, 0.001);
+
+        ArexMocker nettyMocker = new ArexMocker(MockCategoryType.NETTY_PROVIDER);
+        nettyMocker.setOperationName("/user/1?name=c");
+        HealthManager.reportRecordCost(nettyMocker, 200);
+        assertTrue(sampler.cost > 100);
+        HealthManager.RecordRateManager.SAMPLER_MAP.clear();
+    }
+
     @Test
     void onEnqueueRejection() {
         HealthManager.onEnqueueRejection();
@@ -0,0 +1,120 @@
+package io.arex.foundation.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.Mocker.Target;
+import io.arex.foundation.internal.LocalMockerStore.IndexEntry;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalMockerStoreTest {
+    @TempDir
+    Path dir;
+
+    private static ArexMocker mocker(String recordId, String operation, String request) {
+        ArexMocker mocker = new ArexMocker(MockCategoryType.REDIS);
+        mocker.setRecordId(recordId);
+        mocker.setOperationName(operation);
+        mocker.setTargetRequest(new Target());
+        mocker.getTargetRequest().setBody(request);
+        return mocker;
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void create() {
+        assertNull(LocalMockerStore.create(null, 1024, 4096));
+        assertNull(LocalMockerStore.create(dir.toString(), 4, 4096));
+        assertNull(LocalMockerStore.create(dir.toString(), 1024, 512));
+        LocalMockerStore store = LocalMockerStore.create(dir.resolve("sub").toString(), 1024, 4096);
+        assertNotNull(store);
+        store.close();
+    }
+
+    @Test
+    void createLockedDirectory() {
+        LocalMockerStore store = LocalMockerStore.create(dir.toString(), 1024, 4096);
+        // the directory is locked, a subdirectory of the process is used
+        LocalMockerStore other = LocalMockerStore.create(dir.toString(), 1024, 4096);
+        assertNotNull(other);
+        assertTrue(store.append(mocker("record-1", "get", "key"), json("{\"a\":1}")));
+        assertTrue(other.append(mocker("record-2", "get", "key"), json("{\"b\":2}")));
+        File[] subDirs = dir.toFile().listFiles(File::isDirectory);
+        assertEquals(1, subDirs.length);
+        assertTrue(new File(subDirs[0], "0.mocker").exists());
+        assertTrue(new File(dir.toFile(), "0.mocker").exists());
+        // both locked
+        assertNull(LocalMockerStore.create(dir.toString(), 1024, 4096));
+        other.close();
+        store.close();
+    }
+
+    @Test
+    void evictOldestSegment() {
+        LocalMockerStore store = new LocalMockerStore(dir.toFile(), 64, 128);
+        assertTrue(store.append(mocker("record-1", "get", "key"), json("{\"a\":1}")));
+        IndexEntry evicted = store.entries("record-1").get(0);
+        assertTrue(store.append(mocker("record-2", "get", "key"), json("{\"b\":2}")));
+        assertTrue(store.append(mocker("record-3", "get", "key"), json("{\"c\":3}")));
+        assertTrue(store.entries("record-1").isEmpty());
+        assertNull(store.read(evicted));
+        assertFalse(new File(dir.toFile(), "0.mocker").exists());
+        assertEquals(1, store.entries("record-2").size());
+        assertEquals(1, store.entries("record-3").size());
+
+        // only the latest segments are recovered
+        LocalMockerStore recovered = new LocalMockerStore(dir.toFile(), 64, 64);
+        assertTrue(recovered.entries("record-2").isEmpty());
+        assertEquals("{\"c\":3}", new String(recovered.read(recovered.entries("record-3").get(0)),
+            StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void appendAndRead() {
+        LocalMockerStore store = new LocalMockerStore(dir.toFile(), 64, 1024);
+        assertTrue(store.append(mocker("record-1", "get", "key"), json("{\"a\":1}")));
+        // rotated to the next segment
+        assertTrue(store.append(mocker("record-1", "multi\nline", null), json("{\"b\":2}")));
+        assertTrue(store.append(mocker("record-2", "get", "key"), json("{\"c\":3}")));
+        assertFalse(store.append(mocker("record-2", "get", "key"), new byte[64]));
+        assertFalse(store.append(new ArexMocker(), json("{}")));
+
+        List<IndexEntry> entries = store.entries("record-1");
+        assertEquals(2, entries.size());
+        assertEquals("Redis", entries.get(0).getCategoryName());
+        assertEquals("get", entries.get(0).getOperationName());
+        assertEquals("key".hashCode(), entries.get(0).getRequestHash());
+        assertEquals("multi\nline", entries.get(1).getOperationName());
+        assertEquals(0, entries.get(1).getRequestHash());
+        assertEquals("{\"b\":2}", new String(store.read(entries.get(1)), StandardCharsets.UTF_8));
+        assertTrue(store.entries("record-3").isEmpty());
+        assertTrue(store.entries(null).isEmpty());
+    }
+
+    @Test
+    void recoverAndInvalidate() {
+        LocalMockerStore store = new LocalMockerStore(dir.toFile(), 1024, 4096);
+        store.append(mocker("record-1", "get", "key"), json("{\"a\":1}"));
+        store.append(mocker("record-2", "get", "key"), json("{\"b\":2}"));
+        store.invalidate("record-2");
+        assertTrue(store.entries("record-2").isEmpty());
+
+        LocalMockerStore recovered = new LocalMockerStore(dir.toFile(), 1024, 4096);
+        List<IndexEntry> entries = recovered.entries("record-1");
+        assertEquals(1, entries.size());
+        assertEquals("{\"a\":1}", new String(recovered.read(entries.get(0)), StandardCharsets.UTF_8));
+        assertTrue(recovered.entries("record-2").isEmpty());
+
+        assertTrue(recovered.append(mocker("record-1", "set", "key"), json("{\"c\":3}")));
+        assertEquals(2, recovered.entries("record-1").size());
+    }
+}
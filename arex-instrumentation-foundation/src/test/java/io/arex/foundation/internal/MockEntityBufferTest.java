@@ -0,0 +1,96 @@
+package io.arex.foundation.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MockEntityBufferTest {
+
+    private static DataEntity entity(String recordId) {
+        ArexMocker mocker = new ArexMocker();
+        mocker.setRecordId(recordId);
+        return new DataEntity(mocker);
+    }
+
+    @Test
+    void capacity() {
+        assertEquals(1024, new MockEntityBuffer().capacity());
+        assertEquals(16, new MockEntityBuffer(10).capacity());
+        assertEquals(2, new MockEntityBuffer(1).capacity());
+        assertEquals(1024, new MockEntityBuffer(0).capacity());
+    }
+
+    @Test
+    void putAndGetAfterWraparound() {
+        MockEntityBuffer buffer = new MockEntityBuffer(4);
+        assertNull(buffer.get());
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.put(entity("record" + i)));
+            }
+            assertFalse(buffer.put(entity("overflow")));
+            assertEquals(4, buffer.length());
+
+            assertEquals("record0", buffer.get().getRecordId());
+            assertEquals(3, buffer.length());
+            buffer.clear();
+            assertEquals(0, buffer.length());
+        }
+        assertEquals(3, buffer.rejectedCount());
+    }
+
+    @Test
+    void poll() throws InterruptedException {
+        MockEntityBuffer buffer = new MockEntityBuffer(4);
+        assertNull(buffer.poll(10, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.put(entity("testRecordId"));
+        });
+        producer.start();
+        DataEntity result = buffer.poll(5, TimeUnit.SECONDS);
+        producer.join();
+        assertEquals("testRecordId", result.getRecordId());
+    }
+
+    @Test
+    void multiProducer() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 2000;
+        MockEntityBuffer buffer = new MockEntityBuffer(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < perProducer; j++) {
+                    while (!buffer.put(entity("record"))) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+
+        int consumed = 0;
+        while (consumed < producers * perProducer) {
+            if (buffer.poll(1, TimeUnit.SECONDS) != null) {
+                consumed++;
+            }
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(producers * perProducer, consumed);
+        assertEquals(0, buffer.length());
+    }
+}
@@ -0,0 +1,93 @@
+package io.arex.foundation.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RecordSpoolTest {
+    @TempDir
+    Path dir;
+
+    private static byte[] frame(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int segmentCount() {
+        File[] files = dir.toFile().listFiles();
+        return files == null ? 0 : files.length;
+    }
+
+    @Test
+    void create() {
+        assertNull(RecordSpool.create(null, 64, 128));
+        assertNull(RecordSpool.create(dir.toString(), 64, 32));
+        assertNotNull(RecordSpool.create(dir.resolve("sub").toString(), 64, 128));
+    }
+
+    @Test
+    void appendAndDrain() {
+        RecordSpool spool = new RecordSpool(dir.toFile(), 32, 1024);
+        assertFalse(spool.hasPending());
+        // 5 bytes header + 10 bytes payload, 2 frames per segment
+        for (int i = 0; i < 5; i++) {
+            assertTrue(spool.append(i % 2 + 1, frame("payload-0" + i)));
+        }
+        assertTrue(spool.hasPending());
+        assertEquals(3, segmentCount());
+        assertFalse(spool.append(1, new byte[32]));
+
+        List<String> sent = new ArrayList<>();
+        List<Integer> versions = new ArrayList<>();
+        assertEquals(3, spool.drain((version, payload) -> {
+            versions.add(version);
+            return sent.add(new String(payload, StandardCharsets.UTF_8));
+        }, 3));
+        assertEquals(2, segmentCount());
+
+        // failed frame is sent again
+        assertEquals(0, spool.drain((version, payload) -> false, 10));
+        assertEquals(2, spool.drain((version, payload) -> sent.add(new String(payload, StandardCharsets.UTF_8)), 10));
+        assertEquals(5, sent.size());
+        assertEquals("payload-00", sent.get(0));
+        assertEquals("payload-04", sent.get(4));
+        assertEquals(1, versions.get(0));
+        assertEquals(2, versions.get(1));
+        assertFalse(spool.hasPending());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void maxSize() {
+        RecordSpool spool = new RecordSpool(dir.toFile(), 32, 64);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(spool.append(1, frame("payload-0" + i)));
+        }
+        assertFalse(spool.append(1, frame("payload-04")));
+        assertEquals(1, spool.rejectedCount());
+
+        assertEquals(4, spool.drain((version, payload) -> true, 10));
+        assertTrue(spool.append(1, frame("payload-05")));
+    }
+
+    @Test
+    void recover() {
+        RecordSpool spool = new RecordSpool(dir.toFile(), 32, 1024);
+        spool.append(1, frame("payload-00"));
+        spool.append(1, frame("payload-01"));
+        spool.append(1, frame("payload-02"));
+
+        RecordSpool recovered = new RecordSpool(dir.toFile(), 32, 1024);
+        assertTrue(recovered.hasPending());
+        assertTrue(recovered.append(1, frame("payload-03")));
+        List<String> sent = new ArrayList<>();
+        assertEquals(4, recovered.drain((version, payload) -> sent.add(new String(payload, StandardCharsets.UTF_8)), 10));
+        assertEquals("payload-00", sent.get(0));
+        assertEquals("payload-03", sent.get(3));
+    }
+}
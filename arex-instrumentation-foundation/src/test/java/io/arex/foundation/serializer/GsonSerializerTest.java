@@ -10,9 +10,12 @@ import io.arex.inst.runtime.util.TypeUtil;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Type;
 import java.sql.Time;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 import java.util.concurrent.TimeUnit;
@@ -171,4 +174,20 @@ class GsonSerializerTest {
         assertNull(firstNulldeserialize.getSecond());
     }
 
+    @Test
+    void serializeToStream() throws Throwable {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        GsonSerializer.INSTANCE.serializeTo(null, outputStream);
+        assertEquals(0, outputStream.size());
+
+        Map<String, String> map = new HashMap<>();
+        map.put("key", "\u4e2d\u6587");
+        GsonSerializer.INSTANCE.serializeTo(map, outputStream);
+        assertEquals(GsonSerializer.INSTANCE.serialize(map), outputStream.toString("UTF-8"));
+
+        Map<String, String> actual = GsonSerializer.INSTANCE.deserializeFrom(
+            new ByteArrayInputStream(outputStream.toByteArray()), TypeUtil.forName(TypeUtil.getName(map)));
+        assertEquals(map, actual);
+        assertNull(GsonSerializer.INSTANCE.deserializeFrom(null, String.class));
+    }
 }
@@ -5,11 +5,23 @@ import io.arex.foundation.serializer.custom.FastUtilAdapterFactoryTest.TestType;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.runtime.config.ConfigBuilder;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.model.RepeatCounter;
+import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.TypeUtil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.sql.Time;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
@@ -184,4 +196,80 @@ class JacksonSerializerTest {
         }
     }
 
+    @Test
+    void serializeToStream() throws Throwable {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JacksonSerializer.INSTANCE.serializeTo(null, outputStream);
+        assertEquals(0, outputStream.size());
+
+        Map<String, String> map = new HashMap<>();
+        map.put("key", "\u4e2d\u6587");
+        JacksonSerializer.INSTANCE.serializeTo(map, outputStream);
+        // the stream is not closed
+        outputStream.write(' ');
+        assertEquals(JacksonSerializer.INSTANCE.serialize(map) + " ", outputStream.toString("UTF-8"));
+
+        Map<String, String> actual = JacksonSerializer.INSTANCE.deserializeFrom(
+            new ByteArrayInputStream(outputStream.toByteArray()), TypeUtil.forName(TypeUtil.getName(map)));
+        assertEquals(map, actual);
+        assertNull(JacksonSerializer.INSTANCE.deserializeFrom(null, String.class));
+    }
+
+    @Test
+    void rawJsonBody() throws Throwable {
+        ArexMocker mocker = new ArexMocker(MockCategoryType.DATABASE);
+        mocker.setTargetRequest(new Mocker.Target());
+        mocker.setTargetResponse(new Mocker.Target());
+        mocker.getTargetRequest().setBody("select 1");
+        mocker.getTargetResponse().setJsonBody("{\"id\":1,\"name\":\"mock\"}");
+
+        // disabled, escaped string
+        ConfigBuilder.create("mock").build();
+        String json = JacksonSerializer.INSTANCE.serialize(mocker);
+        assertTrue(json.contains("\"body\":\"{\\\"id\\\":1"));
+
+        ConfigBuilder.create("mock").addProperty(ConfigConstants.MOCKER_RAW_JSON_BODY, "true").build();
+        json = JacksonSerializer.INSTANCE.serialize(mocker);
+        assertTrue(json.contains("\"body\":{\"id\":1,\"name\":\"mock\"}"));
+        assertTrue(json.contains("\"body\":\"select 1\""));
+        ArexMocker actual = JacksonSerializer.INSTANCE.deserialize(json, ArexMocker.class);
+        assertEquals("{\"id\":1,\"name\":\"mock\"}", actual.getTargetResponse().getBody());
+        assertEquals("select 1", actual.getTargetRequest().getBody());
+
+        // numbers are kept as their original text
+        String decimals = "{\"big\":12345678901234567.891,\"small\":0.10000000000000000001,\"exp\":1e2,"
+            + "\"list\":[-0.0,1.50,{\"int\":123456789012345678901234567890}],\"text\":\"1.0\",\"flag\":true,\"none\":null}";
+        mocker.getTargetResponse().setJsonBody(decimals);
+        json = JacksonSerializer.INSTANCE.serialize(mocker);
+        actual = JacksonSerializer.INSTANCE.deserialize(json, ArexMocker.class);
+        assertEquals(decimals, actual.getTargetResponse().getBody());
+
+        // not a single json value, set as a plain body
+        mocker.getTargetResponse().setBody("[1]" + Serializer.SERIALIZE_SEPARATOR + "[2]");
+        json = JacksonSerializer.INSTANCE.serialize(mocker);
+        actual = JacksonSerializer.INSTANCE.deserialize(json, ArexMocker.class);
+        assertEquals("[1]" + Serializer.SERIALIZE_SEPARATOR + "[2]", actual.getTargetResponse().getBody());
+
+        // string body
+        mocker.getTargetResponse().setJsonBody("\"mock\"");
+        json = JacksonSerializer.INSTANCE.serialize(mocker);
+        actual = JacksonSerializer.INSTANCE.deserialize(json, ArexMocker.class);
+        assertEquals("\"mock\"", actual.getTargetResponse().getBody());
+        ConfigBuilder.create("mock").build();
+    }
+
+    @Test
+    void repeatCounter() throws Throwable {
+        ArexMocker mocker = new ArexMocker(MockCategoryType.REDIS);
+        mocker.setTargetResponse(new Mocker.Target());
+        RepeatCounter counter = new RepeatCounter(0);
+        counter.increment();
+        mocker.getTargetResponse().setAttribute(ArexConstants.REPEAT_COUNT, counter);
+
+        // not sealed by the collector, written as the count and sealed
+        String json = JacksonSerializer.INSTANCE.serialize(mocker);
+        assertFalse(counter.increment());
+        ArexMocker actual = JacksonSerializer.INSTANCE.deserialize(json, ArexMocker.class);
+        assertEquals(2, RepeatCounter.repeatCount(actual));
+    }
 }
@@ -3,6 +3,8 @@ package io.arex.foundation.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
@@ -10,10 +12,15 @@ import io.arex.foundation.healthy.HealthManager;
 import io.arex.foundation.internal.DataEntity;
 import io.arex.foundation.model.DecelerateReasonEnum;
 import io.arex.foundation.model.HttpClientResponse;
+import io.arex.foundation.serializer.JacksonSerializer;
 import io.arex.foundation.util.httpclient.AsyncHttpClientUtil;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.serializer.Serializer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import io.arex.inst.runtime.util.CaseManager;
 import org.junit.jupiter.api.AfterAll;
@@ -24,9 +31,10 @@ import org.mockito.Mockito;
 
 class DataCollectorServiceTest {
     static MockedStatic<CaseManager> caseManagerMocked;
+    static MockedStatic<AsyncHttpClientUtil> asyncHttpClientUtilMocked;
     @BeforeAll
     static void setUp() {
-        Mockito.mockStatic(AsyncHttpClientUtil.class);
+        asyncHttpClientUtilMocked = Mockito.mockStatic(AsyncHttpClientUtil.class);
         Mockito.mockStatic(HealthManager.class);
         Mockito.mockStatic(ContextManager.class);
         caseManagerMocked = Mockito.mockStatic(CaseManager.class);
@@ -39,15 +47,16 @@ class DataCollectorServiceTest {
 
     @Test
     void saveData() {
+        Serializer.builder(JacksonSerializer.INSTANCE).build();
         final ArexMocker mocker = new ArexMocker();
         mocker.setRecordId("testRecordId");
         CompletableFuture<HttpClientResponse> mockResponse = CompletableFuture.completedFuture(HttpClientResponse.emptyResponse());
-        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), any(), any())).thenReturn(mockResponse);
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), any(byte[].class), any())).thenReturn(mockResponse);
         assertDoesNotThrow(()-> DataCollectorService.INSTANCE.saveData(new DataEntity(mocker)));
 
         CompletableFuture<HttpClientResponse> mockException = new CompletableFuture<>();
         mockException.completeExceptionally(new RuntimeException("mock exception"));
-        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), any(), any())).thenReturn(mockException);
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), any(byte[].class), any())).thenReturn(mockException);
         assertDoesNotThrow(()-> DataCollectorService.INSTANCE.saveData(new DataEntity(mocker)));
         caseManagerMocked.verify(()-> CaseManager.invalid("testRecordId", null, DecelerateReasonEnum.SERVICE_EXCEPTION.getValue()), Mockito.times(1));
 
@@ -62,6 +71,35 @@ class DataCollectorServiceTest {
         assertDoesNotThrow(()-> DataCollectorService.INSTANCE.saveData(new DataEntity(mocker)));
     }
 
+    @Test
+    void saveBatchData() {
+        Serializer.builder(JacksonSerializer.INSTANCE).build();
+        final ArexMocker mocker = new ArexMocker();
+        mocker.setRecordId("testBatchRecordId");
+        List<DataEntity> batch = Arrays.asList(new DataEntity(mocker), new DataEntity(mocker));
+        DataCollectorService.INSTANCE.batchSaveSupported = true;
+        asyncHttpClientUtilMocked.clearInvocations();
+
+        CompletableFuture<HttpClientResponse> mockResponse = CompletableFuture.completedFuture(
+            new HttpClientResponse(200, null, null));
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(contains("batchSave"), any(byte[].class), any())).thenReturn(mockResponse);
+        assertDoesNotThrow(() -> DataCollectorService.INSTANCE.saveBatchData(batch));
+        assertTrue(DataCollectorService.INSTANCE.batchSaveSupported);
+
+        // storage service does not support batch save, fallback to single save
+        CompletableFuture<HttpClientResponse> notFound = CompletableFuture.completedFuture(
+            new HttpClientResponse(404, null, null));
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(contains("batchSave"), any(byte[].class), any())).thenReturn(notFound);
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(endsWith("/record/save"), any(byte[].class), any())).thenReturn(mockResponse);
+        assertDoesNotThrow(() -> DataCollectorService.INSTANCE.saveBatchData(batch));
+        assertFalse(DataCollectorService.INSTANCE.batchSaveSupported);
+        asyncHttpClientUtilMocked.verify(() -> AsyncHttpClientUtil.postAsyncWithZstdJson(contains("batchSave"), any(byte[].class), any()),
+            Mockito.times(2));
+        asyncHttpClientUtilMocked.verify(() -> AsyncHttpClientUtil.postAsyncWithZstdJson(endsWith("/record/save"), any(byte[].class), any()),
+            Mockito.times(2));
+        DataCollectorService.INSTANCE.batchSaveSupported = true;
+    }
+
     @Test
     void queryReplayData() {
         Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
@@ -72,6 +110,7 @@ class DataCollectorServiceTest {
         Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), anyString(), any())).thenReturn(mockResponse);
         actualResult = DataCollectorService.INSTANCE.queryReplayData("test", MockStrategyEnum.OVER_BREAK);
         assertEquals("test", actualResult);
+        assertEquals("test", DataCollectorService.INSTANCE.queryAsync("test", MockStrategyEnum.OVER_BREAK).join());
     }
 
     @Test
@@ -79,6 +118,42 @@ class DataCollectorServiceTest {
         assertDoesNotThrow(()-> DataCollectorService.INSTANCE.invalidCase("test"));
     }
 
+    @Test
+    void createRecordWorker() {
+        ThreadPoolExecutor worker = DataCollectorService.createRecordWorker(0);
+        assertEquals(1, worker.getCorePoolSize());
+        worker.shutdown();
+
+        worker = DataCollectorService.createRecordWorker(4);
+        assertEquals(4, worker.getMaximumPoolSize());
+        assertInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class, worker.getRejectedExecutionHandler());
+        worker.shutdown();
+    }
+
+    @Test
+    void sendSpooledData() {
+        CompletableFuture<HttpClientResponse> ok = CompletableFuture.completedFuture(new HttpClientResponse(200, null, null));
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithCompressedJson(anyString(), any(byte[].class), any())).thenReturn(ok);
+        assertTrue(DataCollectorService.INSTANCE.sendSpooledData(1, new byte[]{1}));
+
+        // storage service error, the frame is kept in the spool
+        CompletableFuture<HttpClientResponse> unavailable = CompletableFuture.completedFuture(new HttpClientResponse(503, null, null));
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithCompressedJson(anyString(), any(byte[].class), any())).thenReturn(unavailable);
+        assertFalse(DataCollectorService.INSTANCE.sendSpooledData(1, new byte[]{1}));
+
+        CompletableFuture<HttpClientResponse> tooLarge = CompletableFuture.completedFuture(new HttpClientResponse(413, null, null));
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithCompressedJson(anyString(), any(byte[].class), any())).thenReturn(tooLarge);
+        assertFalse(DataCollectorService.INSTANCE.sendSpooledData(1, new byte[]{1}));
+    }
+
+    @Test
+    void createSpoolWorker() {
+        ThreadPoolExecutor worker = DataCollectorService.createSpoolWorker();
+        assertInstanceOf(ThreadPoolExecutor.AbortPolicy.class, worker.getRejectedExecutionHandler());
+        assertEquals(DataCollectorService.SPOOL_QUEUE_SIZE, worker.getQueue().remainingCapacity());
+        worker.shutdown();
+    }
+
     @Test
     void start() {
         assertDoesNotThrow(DataCollectorService.INSTANCE::start);
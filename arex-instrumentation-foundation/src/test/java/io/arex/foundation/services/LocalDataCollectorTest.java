@@ -0,0 +1,99 @@
+package io.arex.foundation.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.MockStrategyEnum;
+import io.arex.agent.bootstrap.model.Mocker.Target;
+import io.arex.foundation.config.ConfigManager;
+import io.arex.foundation.serializer.JacksonSerializer;
+import io.arex.inst.runtime.serializer.Serializer;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalDataCollectorTest {
+    @TempDir
+    static Path dir;
+    static LocalDataCollector collector;
+
+    @BeforeAll
+    static void setUp() {
+        Serializer.builder(JacksonSerializer.INSTANCE).build();
+        ConfigManager.INSTANCE.setLocalStorageDir(dir.toString());
+        collector = new LocalDataCollector();
+        collector.init();
+    }
+
+    private static ArexMocker mocker(String recordId, String operation, String request, String response) {
+        ArexMocker mocker = new ArexMocker(MockCategoryType.REDIS);
+        mocker.setRecordId(recordId);
+        mocker.setOperationName(operation);
+        mocker.setTargetRequest(new Target());
+        mocker.getTargetRequest().setBody(request);
+        mocker.setTargetResponse(new Target());
+        mocker.getTargetResponse().setBody(response);
+        return mocker;
+    }
+
+    private static String query(ArexMocker requestMocker, MockStrategyEnum mockStrategy) {
+        String data = collector.query(Serializer.serialize(requestMocker), mockStrategy);
+        if (data == null) {
+            return null;
+        }
+        return Serializer.deserialize(data, ArexMocker.class).getTargetResponse().getBody();
+    }
+
+    @Test
+    void query() {
+        collector.saveData(mocker("record-query", "get", "key", "first"));
+        collector.saveData(mocker("record-query", "get", "other", "other"));
+        collector.saveData(mocker("record-query", "get", "key", "second"));
+
+        ArexMocker requestMocker = mocker("record-query", "get", "key", null);
+        requestMocker.setReplayId("replay-1");
+        assertEquals("first", query(requestMocker, MockStrategyEnum.OVER_BREAK));
+        assertEquals("second", query(requestMocker, MockStrategyEnum.OVER_BREAK));
+        // fall back to the same operation
+        assertEquals("other", query(requestMocker, MockStrategyEnum.OVER_BREAK));
+        assertNull(query(requestMocker, MockStrategyEnum.OVER_BREAK));
+        assertEquals("second", query(requestMocker, MockStrategyEnum.FIND_LAST));
+
+        // consumed separately per replay
+        requestMocker.setReplayId("replay-2");
+        assertNull(query(mocker("record-query", "get", "missing", null), MockStrategyEnum.STRICT_MATCH));
+        assertEquals("first", query(requestMocker, MockStrategyEnum.STRICT_MATCH));
+        assertNull(query(mocker("record-query", "set", "key", null), MockStrategyEnum.OVER_BREAK));
+        assertNull(query(mocker("record-missing", "get", "key", null), MockStrategyEnum.OVER_BREAK));
+    }
+
+    @Test
+    void queryAllAndInvalidCase() throws InterruptedException {
+        collector.saveData(mocker("record-all", "get", "key", "first"));
+        collector.saveData(mocker("record-all", "set", "key", "second"));
+
+        ArexMocker queryMocker = new ArexMocker();
+        queryMocker.setRecordId("record-all");
+        ArexMocker[] mockers = Serializer.deserialize(collector.queryAll(Serializer.serialize(queryMocker)),
+            ArexMocker[].class);
+        assertEquals(2, mockers.length);
+        assertEquals("second", mockers[1].getTargetResponse().getBody());
+
+        collector.invalidCase("{\"appId\":\"app\",\"recordId\":\"record-all\",\"reason\":\"test\"}");
+        // applied by the writer after the queued mockers
+        for (int i = 0; i < 100 && collector.queryAll(Serializer.serialize(queryMocker)) != null; i++) {
+            Thread.sleep(10);
+        }
+        assertNull(collector.queryAll(Serializer.serialize(queryMocker)));
+    }
+
+    @Test
+    void replayMockerNotSaved() {
+        ArexMocker replayMocker = mocker("record-replay", "get", "key", "value");
+        replayMocker.setReplayId("replay");
+        collector.save(replayMocker);
+        assertNull(collector.query(Serializer.serialize(replayMocker), MockStrategyEnum.OVER_BREAK));
+    }
+}
@@ -6,6 +6,8 @@ import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.MockUtils;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +21,18 @@ public class ApolloConfigExtractor {
     private static boolean startReplay = false;
     private static long replayStartTime = 0;
     private static String currentReplayConfigBatchNo;
+    private static final int MAX_REPLAYED_CONFIGS = 256;
+    /**
+     * replayed config per config version and namespace, a config version is immutable once recorded.
+     * Not found configs are queried again, they may be missing due to a storage error
+     */
+    private static final Map<String, Properties> REPLAYED_CONFIGS =
+            new LinkedHashMap<String, Properties>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Properties> eldest) {
+                    return size() > MAX_REPLAYED_CONFIGS;
+                }
+            };
 
     public static ApolloConfigExtractor tryCreateExtractor() {
         if (UPDATED.compareAndSet(true, false)) {
@@ -68,11 +82,27 @@ public class ApolloConfigExtractor {
     }
 
     public static Properties replay(String fileName) {
+        String configBatchNo = currentReplayConfigBatchNo;
+        String cacheKey = configBatchNo + "#" + fileName;
+        Properties properties;
+        synchronized (REPLAYED_CONFIGS) {
+            properties = REPLAYED_CONFIGS.get(cacheKey);
+        }
+        if (properties != null) {
+            return properties;
+        }
         Mocker mocker = MockUtils.createConfigFile(fileName);
-        mocker.setRecordId(currentReplayConfigBatchNo);
+        mocker.setRecordId(configBatchNo);
         mocker.setRecordEnvironment(1);
         Object body = MockUtils.replayBody(mocker);
-        return body == null ? null : (Properties) body;
+        if (body == null) {
+            return null;
+        }
+        properties = (Properties) body;
+        synchronized (REPLAYED_CONFIGS) {
+            REPLAYED_CONFIGS.put(cacheKey, properties);
+        }
+        return properties;
     }
 
     public static String currentReplayConfigBatchNo() {
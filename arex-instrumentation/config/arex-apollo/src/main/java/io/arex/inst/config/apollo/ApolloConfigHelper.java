@@ -10,7 +10,7 @@ import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.model.ArexConstants;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.AccessibleObject;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -49,7 +49,12 @@ import java.util.function.Supplier;
  * </pre>
  */
 public class ApolloConfigHelper {
-    private static Field configInstancesField;
+    private static final Handle CONFIG_SERVICE_INSTANCE = new Handle(ConfigService.class, "s_instance", false);
+    private static final Handle CONFIG_MANAGER = new Handle(ConfigService.class, "m_configManager", false);
+    private static final Handle CONFIGS = new Handle(DefaultConfigManager.class, "m_configs", false);
+    private static final Handle CONFIG_REPOSITORY = new Handle(DefaultConfig.class, "m_configRepository", false);
+    private static final Handle UPSTREAM = new Handle(LocalFileConfigRepository.class, "m_upstream", false);
+    private static final Handle SYNC = new Handle(RemoteConfigRepository.class, "sync", true);
 
     public static void initAndRecord(Supplier<String> recordIdSpl, Supplier<String> versionSpl) {
         String recordId = recordIdSpl.get();
@@ -57,9 +62,12 @@ public class ApolloConfigHelper {
             return;
         }
         String configVersion = versionSpl.get();
+        // consecutive cases of the same config version, the replayed configs are still in effect
+        boolean replayed = StringUtil.isNotEmpty(configVersion) && ApolloConfigExtractor.duringReplay() &&
+                configVersion.equalsIgnoreCase(ApolloConfigExtractor.currentReplayConfigBatchNo());
         initReplayState(recordId, configVersion);
 
-        if (StringUtil.isEmpty(configVersion)) {
+        if (StringUtil.isEmpty(configVersion) || replayed) {
             return;
         }
         /*
@@ -99,15 +107,9 @@ public class ApolloConfigHelper {
      */
     private static Map<String, Config> getAllConfigInstance() {
         try {
-            if (configInstancesField == null) {
-                configInstancesField = ConfigService.class.getDeclaredField("s_instance");
-                configInstancesField.setAccessible(true);
-            }
-            Object configService = configInstancesField.get(null);
-            Object managerInstance = ReflectUtil.getFieldOrInvokeMethod(() ->
-                    ConfigService.class.getDeclaredField("m_configManager"), configService);
-            Object configs = ReflectUtil.getFieldOrInvokeMethod(() ->
-                    DefaultConfigManager.class.getDeclaredField("m_configs"), managerInstance);
+            Object configService = ReflectUtil.getFieldOrInvokeMethod(CONFIG_SERVICE_INSTANCE, null);
+            Object managerInstance = ReflectUtil.getFieldOrInvokeMethod(CONFIG_MANAGER, configService);
+            Object configs = ReflectUtil.getFieldOrInvokeMethod(CONFIGS, managerInstance);
             if (configs instanceof Map) {
                 return (Map<String, Config>) configs;
             }
@@ -152,17 +154,12 @@ public class ApolloConfigHelper {
     }
 
     private static void triggerReplay(DefaultConfig config) throws Exception {
-        Object repositoryObj = ReflectUtil.getFieldOrInvokeMethod(() ->
-                config.getClass().getDeclaredField("m_configRepository"), config);
+        Object repositoryObj = ReflectUtil.getFieldOrInvokeMethod(CONFIG_REPOSITORY, config);
         if (repositoryObj instanceof LocalFileConfigRepository) {
-            LocalFileConfigRepository localRepository = (LocalFileConfigRepository) repositoryObj;
-            Object remoteRepositoryObj = ReflectUtil.getFieldOrInvokeMethod(() ->
-                    localRepository.getClass().getDeclaredField("m_upstream"), localRepository);
+            Object remoteRepositoryObj = ReflectUtil.getFieldOrInvokeMethod(UPSTREAM, repositoryObj);
             if (remoteRepositoryObj instanceof RemoteConfigRepository) {
-                RemoteConfigRepository remoteRepository = (RemoteConfigRepository) remoteRepositoryObj;
                 // sync -> loadApolloConfig(by arex transformed)
-                ReflectUtil.getFieldOrInvokeMethod(() ->
-                        remoteRepository.getClass().getDeclaredMethod("sync"), remoteRepository);
+                ReflectUtil.getFieldOrInvokeMethod(SYNC, remoteRepositoryObj);
             }
         }
     }
@@ -213,4 +210,31 @@ public class ApolloConfigHelper {
     private static String getReleaseKey() {
         return ArexConstants.PREFIX + ApolloConfigExtractor.currentReplayConfigBatchNo();
     }
+
+    /**
+     * Field or method of the Apollo internals, resolved and made accessible once
+     */
+    private static final class Handle implements ReflectUtil.Reflector<Object> {
+        private final Class<?> type;
+        private final String name;
+        private final boolean method;
+        private volatile AccessibleObject resolved;
+
+        Handle(Class<?> type, String name, boolean method) {
+            this.type = type;
+            this.name = name;
+            this.method = method;
+        }
+
+        @Override
+        public Object reflect() throws Exception {
+            AccessibleObject handle = resolved;
+            if (handle == null) {
+                handle = method ? type.getDeclaredMethod(name) : type.getDeclaredField(name);
+                handle.setAccessible(true);
+                resolved = handle;
+            }
+            return handle;
+        }
+    }
 }
@@ -77,6 +77,15 @@ class ApolloConfigExtractorTest {
     void replay() {
         ApolloConfigExtractor.replay("mock");
         mockUtilsMocker.verify(() -> MockUtils.replayBody(any()), times(1));
+
+        // replayed once per config version
+        Properties properties = new Properties();
+        mockUtilsMocker.when(() -> MockUtils.replayBody(any())).thenReturn(properties);
+        ApolloConfigExtractor.updateReplayState("mock", "cached-version");
+        assertSame(properties, ApolloConfigExtractor.replay("mock"));
+        assertSame(properties, ApolloConfigExtractor.replay("mock"));
+        mockUtilsMocker.verify(() -> MockUtils.replayBody(any()), times(2));
+        mockUtilsMocker.when(() -> MockUtils.replayBody(any())).thenReturn(null);
     }
 
     @Test
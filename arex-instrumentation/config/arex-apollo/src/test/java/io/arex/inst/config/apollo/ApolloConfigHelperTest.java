@@ -33,18 +33,20 @@ class ApolloConfigHelperTest {
 
     static ApolloConfigExtractor mockExtractor;
     static MockedStatic<ApolloConfigExtractor> mockStaticExtractor;
+    static MockedStatic<ReflectUtil> mockStaticReflect;
 
     @BeforeAll
     static void setUp() {
         mockStaticExtractor = Mockito.mockStatic(ApolloConfigExtractor.class);
         mockExtractor = Mockito.mock(ApolloConfigExtractor.class);
-        Mockito.mockStatic(ReflectUtil.class);
+        mockStaticReflect = Mockito.mockStatic(ReflectUtil.class);
     }
 
     @AfterAll
     static void tearDown() {
         mockStaticExtractor = null;
         mockExtractor = null;
+        mockStaticReflect = null;
         Mockito.clearAllCaches();
     }
 
@@ -73,6 +75,18 @@ class ApolloConfigHelperTest {
         );
     }
 
+    @Test
+    void initAndRecordSameVersion() {
+        Mockito.when(ApolloConfigExtractor.duringReplay()).thenReturn(true);
+        Mockito.when(ApolloConfigExtractor.currentReplayConfigBatchNo()).thenReturn("version");
+        mockStaticReflect.clearInvocations();
+        // the configs of the version are still in effect, not replayed again
+        ApolloConfigHelper.initAndRecord(() -> "mock", () -> "version");
+        mockStaticExtractor.verify(() -> ApolloConfigExtractor.updateReplayState("mock", "version"));
+        mockStaticReflect.verifyNoInteractions();
+        Mockito.when(ApolloConfigExtractor.currentReplayConfigBatchNo()).thenReturn(null);
+    }
+
     @ParameterizedTest
     @MethodSource("recordAllConfigsCase")
     void recordAllConfigs(Runnable mocker, Assert asserts) {
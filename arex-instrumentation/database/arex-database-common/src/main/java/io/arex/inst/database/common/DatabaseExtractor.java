@@ -2,6 +2,7 @@ package io.arex.inst.database.common;
 
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.util.ConcurrentCache;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.serializer.Serializer;
 
@@ -16,6 +17,20 @@ public class DatabaseExtractor {
 
     private static final String[] REPLACE_LIST = new String[]{"", ""};
 
+    /**
+     * normalized sql of static statements, keyed by the equal sql text.
+     * Only static statements are cached (MyBatis raw and static sql sources, Hibernate persister and loader sql).
+     * Their text is the same on every call, so the normalization and the hash of the normalized text (used to
+     * match the replay request) are computed once per statement. Dynamic sql is normalized without the cache.
+     * At most 1024 recent statements are held strongly, older ones are kept in a weak map until collected.
+     */
+    private static final ConcurrentCache<String, String> NORMALIZED_SQL_CACHE = new ConcurrentCache<>(1024);
+    /**
+     * cached value of a sql which needs no normalization. Caching the sql itself as the value would keep the
+     * key of the weak map reachable, so the entry would never be collected.
+     */
+    private static final String UNCHANGED = new String("UNCHANGED");
+
     private final String sql;
     private final String parameters;
     private final String dbName;
@@ -40,8 +55,15 @@ public class DatabaseExtractor {
     }
 
     public DatabaseExtractor(String sql, String parameters, String methodName) {
+        this(sql, parameters, methodName, true);
+    }
+
+    /**
+     * @param staticSql false if the sql is built on every call, e.g. MyBatis dynamic sql
+     */
+    public DatabaseExtractor(String sql, String parameters, String methodName, boolean staticSql) {
         this.dbName = "";
-        this.sql = StringUtil.replaceEach(sql, SEARCH_LIST, REPLACE_LIST, false, 0);
+        this.sql = normalizeSql(sql, staticSql);
         this.parameters = parameters;
         this.methodName = methodName;
     }
@@ -56,6 +78,31 @@ public class DatabaseExtractor {
         this.methodName = methodName;
     }
 
+    static String normalizeSql(String sql, boolean cacheable) {
+        if (sql == null) {
+            return null;
+        }
+        if (!cacheable) {
+            return normalize(sql);
+        }
+        String normalized = NORMALIZED_SQL_CACHE.get(sql);
+        if (normalized == null) {
+            normalized = normalize(sql);
+            // String caches its hash, the replay matching of the statement does not rehash the text
+            normalized.hashCode();
+            NORMALIZED_SQL_CACHE.put(sql, normalized == sql ? UNCHANGED : normalized);
+            return normalized;
+        }
+        return normalized == UNCHANGED ? sql : normalized;
+    }
+
+    private static String normalize(String sql) {
+        if (sql.indexOf('\n') < 0 && sql.indexOf('\t') < 0) {
+            return sql;
+        }
+        return StringUtil.replaceEach(sql, SEARCH_LIST, REPLACE_LIST, false, 0);
+    }
+
     public void record(Object response) {
         record(response, null);
     }
@@ -90,7 +137,13 @@ public class DatabaseExtractor {
         mocker.getTargetRequest().setAttribute("dbName", this.dbName);
         mocker.getTargetRequest().setAttribute("parameters", this.parameters);
         mocker.getTargetResponse().setAttribute("keyHolder", this.keyHolder);
-        mocker.getTargetResponse().setBody(Serializer.serialize(response, serializer));
+        String body = Serializer.serialize(response, serializer);
+        // nested collections are joined by the separator, not a single json value
+        if (TypeUtil.toNestedCollection(response) == null) {
+            mocker.getTargetResponse().setJsonBody(body);
+        } else {
+            mocker.getTargetResponse().setBody(body);
+        }
         mocker.getTargetResponse().setType(TypeUtil.getName(response));
         return mocker;
     }
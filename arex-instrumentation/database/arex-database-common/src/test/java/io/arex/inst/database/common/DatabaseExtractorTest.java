@@ -1,6 +1,9 @@
 package io.arex.inst.database.common;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mockStatic;
@@ -14,7 +17,6 @@ import io.arex.inst.runtime.util.MockUtils;
 import java.sql.SQLException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
@@ -22,8 +24,7 @@ import org.mockito.stubbing.Answer;
 @ExtendWith(MockitoExtension.class)
 class DatabaseExtractorTest {
 
-    @InjectMocks
-    DatabaseExtractor target;
+    DatabaseExtractor target = new DatabaseExtractor(null, null, null, null);
 
     @Test
     void record() {
@@ -64,4 +65,25 @@ class DatabaseExtractorTest {
             assertEquals(mockResult.isIgnoreMockResult(), target.replay().isIgnoreMockResult());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void normalizeSql() {
+        assertNull(DatabaseExtractor.normalizeSql(null, true));
+        String sql = new String("select *\n\tfrom t");
+        String normalized = DatabaseExtractor.normalizeSql(sql, true);
+        assertEquals("select *from t", normalized);
+        assertSame(normalized, DatabaseExtractor.normalizeSql(sql, true));
+        assertSame(normalized, new DatabaseExtractor(sql, "", "query").getSql());
+        assertSame(normalized, DatabaseExtractor.normalizeSql(new String(sql), true));
+        // dynamic sql is not cached
+        String dynamic = DatabaseExtractor.normalizeSql(sql, false);
+        assertEquals(normalized, dynamic);
+        assertNotSame(normalized, dynamic);
+        assertNotSame(normalized, new DatabaseExtractor(sql, "", "query", false).getSql());
+
+        String unchanged = new String("select 1");
+        assertSame(unchanged, DatabaseExtractor.normalizeSql(unchanged, true));
+        assertSame(unchanged, DatabaseExtractor.normalizeSql(unchanged, true));
+        assertSame(unchanged, DatabaseExtractor.normalizeSql(unchanged, false));
+    }
+}
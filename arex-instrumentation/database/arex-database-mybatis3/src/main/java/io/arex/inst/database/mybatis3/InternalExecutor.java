@@ -6,8 +6,12 @@ import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.database.common.DatabaseExtractor;
 
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
 
 public class InternalExecutor {
 
@@ -52,7 +56,8 @@ public class InternalExecutor {
     private static void restoreKeyHolder(MappedStatement ms, DatabaseExtractor executor, Object o) {
         String[] keyHolderList = StringUtil.split(executor.getKeyHolder(), KEYHOLDER_SEPARATOR);
         Object insertEntity = o instanceof ParamMap ? getEntityFromMap((ParamMap<?>) o) : o;
-        String[] keyProperties = o instanceof ParamMap ? transformerProperties(ms.getKeyProperties()) : ms.getKeyProperties();
+        KeyHolderAccessor accessor = KeyHolderAccessor.get(ms);
+        String[] keyProperties = accessor.getKeyProperties(o instanceof ParamMap);
 
         if (keyHolderList == null || keyProperties == null) {
             return;
@@ -67,7 +72,7 @@ public class InternalExecutor {
         }
 
         try {
-            Reflector reflector = new Reflector(insertEntity.getClass());
+            Reflector reflector = accessor.getReflector(insertEntity.getClass());
             for (int i = 0; i < keyHolderList.length; i++) {
                 String[] valueType = StringUtil.split(keyHolderList[i], KEYHOLDER_TYPE_SEPARATOR);
                 Object keyHolderValue = Serializer.deserialize(valueType[0], valueType[1]);
@@ -80,13 +85,14 @@ public class InternalExecutor {
         StringBuilder builder = new StringBuilder();
 
         Object insertEntity = o instanceof ParamMap ? getEntityFromMap((ParamMap<?>) o) : o;
-        String[] primaryKeyNames = o instanceof ParamMap ? transformerProperties(ms.getKeyProperties()) : ms.getKeyProperties();
 
         if (insertEntity == null) {
             return;
         }
 
-        Reflector reflector = new Reflector(insertEntity.getClass());
+        KeyHolderAccessor accessor = KeyHolderAccessor.get(ms);
+        String[] primaryKeyNames = accessor.getKeyProperties(o instanceof ParamMap);
+        Reflector reflector = accessor.getReflector(insertEntity.getClass());
 
         for (int i = 0; i < primaryKeyNames.length; i++) {
             try {
@@ -104,17 +110,6 @@ public class InternalExecutor {
         executor.setKeyHolder(builder.toString());
     }
 
-    private static String[] transformerProperties(String[] keyProperties) {
-        String[] primaryKeyNames = new String[keyProperties.length];
-        for (int i = 0; i < keyProperties.length; i++) {
-            int firstDot = keyProperties[i].indexOf(".");
-            if (firstDot != -1) {
-                primaryKeyNames[i] = StringUtil.substring(keyProperties[i], firstDot + 1);
-            }
-        }
-        return primaryKeyNames;
-    }
-
     private static Object getEntityFromMap(ParamMap<?> paramMap) {
         return paramMap.values().stream().findFirst().orElse(null);
     }
@@ -133,9 +128,21 @@ public class InternalExecutor {
 
     public static DatabaseExtractor createExtractor(MappedStatement mappedStatement,
                                                     String originalSql, Object parameters, String methodName) {
-        if (StringUtil.isEmpty(originalSql) && mappedStatement != null && mappedStatement.getBoundSql(parameters) != null) {
-            originalSql = mappedStatement.getBoundSql(parameters).getSql();
+        if (StringUtil.isEmpty(originalSql) && mappedStatement != null) {
+            BoundSql boundSql = mappedStatement.getBoundSql(parameters);
+            if (boundSql != null) {
+                originalSql = boundSql.getSql();
+            }
         }
-        return new DatabaseExtractor(originalSql, Serializer.serialize(parameters), methodName);
+        return new DatabaseExtractor(originalSql, Serializer.serialize(parameters), methodName,
+            isStaticSql(mappedStatement));
+    }
+
+    /**
+     * The sql of a static source is the same text on every call, a dynamic source builds it per call
+     */
+    private static boolean isStaticSql(MappedStatement mappedStatement) {
+        SqlSource sqlSource = mappedStatement == null ? null : mappedStatement.getSqlSource();
+        return sqlSource instanceof RawSqlSource || sqlSource instanceof StaticSqlSource;
     }
 }
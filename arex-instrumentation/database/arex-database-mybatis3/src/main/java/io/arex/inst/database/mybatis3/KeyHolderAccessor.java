@@ -0,0 +1,71 @@
+package io.arex.inst.database.mybatis3;
+
+import io.arex.agent.bootstrap.internal.Cache;
+import io.arex.agent.bootstrap.util.StringUtil;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+
+/**
+ * Key properties of an insert statement, resolved once per MappedStatement.
+ * The reflector of the entity class comes from the ReflectorFactory of the configuration, which caches it.
+ */
+class KeyHolderAccessor {
+    private static final Cache<MappedStatement, KeyHolderAccessor> ACCESSOR_CACHE = Cache.weakMap();
+
+    private final String[] keyProperties;
+    private final String[] paramKeyProperties;
+    private final ReflectorFactory reflectorFactory;
+    /**
+     * reflector of the last entity class, usually the only one of the statement
+     */
+    private volatile Reflector reflector;
+
+    private KeyHolderAccessor(MappedStatement ms) {
+        this.keyProperties = ms.getKeyProperties();
+        this.paramKeyProperties = transformerProperties(keyProperties);
+        this.reflectorFactory = ms.getConfiguration() != null ? ms.getConfiguration().getReflectorFactory() : null;
+    }
+
+    static KeyHolderAccessor get(MappedStatement ms) {
+        KeyHolderAccessor accessor = ACCESSOR_CACHE.get(ms);
+        // the statement is immutable once built, the same key properties array means the same statement
+        if (accessor == null || accessor.keyProperties != ms.getKeyProperties()) {
+            accessor = new KeyHolderAccessor(ms);
+            ACCESSOR_CACHE.put(ms, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * @param paramMap whether the parameter is a ParamMap, its key properties are prefixed by the param name
+     */
+    String[] getKeyProperties(boolean paramMap) {
+        return paramMap ? paramKeyProperties : keyProperties;
+    }
+
+    Reflector getReflector(Class<?> entityClass) {
+        Reflector cached = reflector;
+        if (cached != null && cached.getType() == entityClass) {
+            return cached;
+        }
+        cached = reflectorFactory != null ? reflectorFactory.findForClass(entityClass) : new Reflector(entityClass);
+        reflector = cached;
+        return cached;
+    }
+
+    private static String[] transformerProperties(String[] keyProperties) {
+        if (keyProperties == null) {
+            return null;
+        }
+        String[] primaryKeyNames = new String[keyProperties.length];
+        for (int i = 0; i < keyProperties.length; i++) {
+            int firstDot = keyProperties[i].indexOf(".");
+            if (firstDot != -1) {
+                primaryKeyNames[i] = StringUtil.substring(keyProperties[i], firstDot + 1);
+            }
+        }
+        return primaryKeyNames;
+    }
+}
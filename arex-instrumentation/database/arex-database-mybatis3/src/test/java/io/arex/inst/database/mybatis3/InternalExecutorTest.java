@@ -1,6 +1,7 @@
 package io.arex.inst.database.mybatis3;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -22,6 +23,8 @@ import java.util.stream.Stream;
 import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
 import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.reflection.invoker.Invoker;
 import org.junit.jupiter.api.AfterAll;
@@ -105,6 +108,22 @@ class InternalExecutorTest {
         }
     }
 
+    @Test
+    void createExtractorOfStaticSql() {
+        AtomicReference<Object> staticSql = new AtomicReference<>();
+        try (MockedConstruction<DatabaseExtractor> mocked = Mockito.mockConstruction(DatabaseExtractor.class,
+            (mock, context) -> staticSql.set(context.arguments().get(3)))) {
+            MappedStatement ms = Mockito.mock(MappedStatement.class);
+            Mockito.when(ms.getSqlSource()).thenReturn(Mockito.mock(RawSqlSource.class));
+            target.createExtractor(ms, "select 1", null, "query");
+            assertEquals(Boolean.TRUE, staticSql.get());
+
+            Mockito.when(ms.getSqlSource()).thenReturn(Mockito.mock(SqlSource.class));
+            target.createExtractor(ms, "select 1", null, "query");
+            assertEquals(Boolean.FALSE, staticSql.get());
+        }
+    }
+
     static Stream<Arguments> recordCase() {
         return Stream.of(
                 arguments(new SQLException(), StringUtil.EMPTY),
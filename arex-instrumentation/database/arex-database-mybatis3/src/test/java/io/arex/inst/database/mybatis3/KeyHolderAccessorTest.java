@@ -0,0 +1,58 @@
+package io.arex.inst.database.mybatis3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class KeyHolderAccessorTest {
+
+    static class Entity {
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    @Test
+    void get() throws Exception {
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "insert",
+            parameterObject -> null, SqlCommandType.INSERT).keyProperty("param.id").build();
+
+        KeyHolderAccessor accessor = KeyHolderAccessor.get(ms);
+        assertSame(accessor, KeyHolderAccessor.get(ms));
+        assertArrayEquals(new String[]{"param.id"}, accessor.getKeyProperties(false));
+        assertArrayEquals(new String[]{"id"}, accessor.getKeyProperties(true));
+
+        Reflector reflector = accessor.getReflector(Entity.class);
+        assertSame(reflector, accessor.getReflector(Entity.class));
+        assertSame(configuration.getReflectorFactory().findForClass(Entity.class), reflector);
+        Entity entity = new Entity();
+        reflector.getSetInvoker("id").invoke(entity, new Object[]{1L});
+        assertEquals(1L, entity.getId());
+        assertEquals(Object.class, accessor.getReflector(Object.class).getType());
+    }
+
+    @Test
+    void withoutConfiguration() {
+        MappedStatement ms = Mockito.mock(MappedStatement.class);
+        Mockito.when(ms.getKeyProperties()).thenReturn(new String[]{"id"});
+        KeyHolderAccessor accessor = KeyHolderAccessor.get(ms);
+        assertEquals(Entity.class, accessor.getReflector(Entity.class).getType());
+
+        // rebuilt if the key properties changed
+        Mockito.when(ms.getKeyProperties()).thenReturn(null);
+        assertNotSame(accessor, KeyHolderAccessor.get(ms));
+        assertNull(KeyHolderAccessor.get(ms).getKeyProperties(true));
+    }
+}
@@ -141,21 +141,29 @@ public class DynamicClassInstrumentation extends TypeInstrumentation {
 
     public static final class MethodAdvice {
 
+        /**
+         * The advice is inlined, byte buddy materializes {@code method} (reflective lookup) and {@code args}
+         * (array with boxed primitives) at each place where they are read, so they are only read once
+         * and only after the context check, the path without context does not allocate.
+         */
         @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
         public static boolean onEnter(@Advice.Origin Method method,
             @Advice.AllArguments Object[] args,
             @Advice.Local("extractor") DynamicClassExtractor extractor,
             @Advice.Local("mockResult") MockResult mockResult) {
-            if (ContextManager.needRecord()) {
+            if (!ContextManager.needRecordOrReplay()) {
+                return false;
+            }
+            boolean needReplay = ContextManager.needReplay();
+            if (!needReplay) {
                 RepeatedCollectManager.enter();
             }
-            if (ContextManager.needRecordOrReplay()) {
-                if (void.class.isAssignableFrom(method.getReturnType())) {
-                    return ContextManager.needReplay();
-                }
-                extractor = new DynamicClassExtractor(method, args);
+            Method originMethod = method;
+            if (void.class.isAssignableFrom(originMethod.getReturnType())) {
+                return needReplay;
             }
-            if (ContextManager.needReplay()) {
+            extractor = new DynamicClassExtractor(originMethod, args);
+            if (needReplay) {
                 mockResult = extractor.replay();
                 return mockResult != null && mockResult.notIgnoreMockResult();
             }
@@ -172,9 +172,14 @@ class DynamicClassInstrumentationTest {
     @Test
     void onEnter() throws NoSuchMethodException {
         Method test1 = DynamicTestClass.class.getDeclaredMethod("testWithArexMock", String.class);
-        try(MockedConstruction ignored = Mockito.mockConstruction(DynamicClassExtractor.class, ((extractor, context) -> {
+        try(MockedConstruction mockedConstruction = Mockito.mockConstruction(DynamicClassExtractor.class, ((extractor, context) -> {
             Mockito.when(extractor.replay()).thenReturn(MockResult.success("test"));
         }))) {
+            // no context
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+            assertFalse(DynamicClassInstrumentation.MethodAdvice.onEnter(test1, new Object[]{ "name", 18 }, null, null));
+            assertEquals(0, mockedConstruction.constructed().size());
+
             // record
             Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needRecord()).thenReturn(true);
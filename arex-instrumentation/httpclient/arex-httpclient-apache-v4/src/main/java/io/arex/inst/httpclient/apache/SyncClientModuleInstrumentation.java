@@ -5,6 +5,7 @@ import io.arex.inst.extension.ModuleInstrumentation;
 import io.arex.inst.extension.TypeInstrumentation;
 
 import io.arex.inst.httpclient.apache.async.InternalHttpAsyncClientInstrumentation;
+import io.arex.inst.httpclient.apache.sync.HttpResponseProxyInstrumentation;
 import io.arex.inst.httpclient.apache.sync.InternalHttpClientInstrumentation;
 import java.util.List;
 
@@ -19,6 +20,7 @@ public class SyncClientModuleInstrumentation extends ModuleInstrumentation {
     @Override
     public List<TypeInstrumentation> instrumentationTypes() {
         return asList(new InternalHttpClientInstrumentation(),
+            new HttpResponseProxyInstrumentation(),
             new InternalHttpAsyncClientInstrumentation());
     }
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package io.arex.inst.httpclient.apache.common;
 
 import io.arex.agent.bootstrap.util.IOUtils;
 import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.httpclient.common.BodyCapture;
 import io.arex.inst.httpclient.common.HttpClientAdapter;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import io.arex.inst.httpclient.common.HttpResponseWrapper.StringTuple;
+import io.arex.inst.httpclient.common.LazyBodyRecorder;
+import io.arex.inst.runtime.config.HeaderFilter;
 import io.arex.inst.runtime.log.LogManager;
 import java.io.ByteArrayOutputStream;
 import org.apache.http.Header;
@@ -14,6 +17,7 @@ import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.HttpEntityWrapper;
@@ -23,6 +27,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
 import org.apache.http.util.EntityUtils;
 
 public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, HttpResponse> {
@@ -63,6 +68,15 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
         }
     }
 
+    @Override
+    public BodyCapture truncatedRequestBody() {
+        HttpEntityEnclosingRequest enclosingRequest = enclosingRequest(httpRequest);
+        if (enclosingRequest != null && enclosingRequest.getEntity() instanceof CachedHttpEntityWrapper) {
+            return ((CachedHttpEntityWrapper) enclosingRequest.getEntity()).truncatedBody();
+        }
+        return null;
+    }
+
     @Override
     public String getRequestContentType() {
         return this.getRequestHeader(CONTENT_TYPE_NAME);
@@ -108,13 +122,37 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
             response.setEntity(entity);
         }
 
+        return wrap(response, responseBody);
+    }
+
+    /**
+     * The response body is captured while the application reads it, the response is recorded
+     * when the body is fully read or closed, or the response is closed, with the context of the call.
+     * The body of a response which is not closeable (async client) is buffered already, it is wrapped right away.
+     */
+    @Override
+    public boolean wrapLazily(HttpResponse response, Consumer<HttpResponseWrapper> recorder) {
+        HttpEntity httpEntity = response.getEntity();
+        if (!(response instanceof CloseableHttpResponse) || !check(httpEntity)) {
+            return false;
+        }
+        response.setEntity(new CapturedHttpEntity(httpEntity,
+            new LazyBodyRecorder(wrap(response, ZERO_BYTE), recorder)));
+        return true;
+    }
+
+    private static HttpResponseWrapper wrap(HttpResponse response, byte[] responseBody) {
         Locale locale = response.getLocale();
         List<HttpResponseWrapper.StringTuple> headers = new ArrayList<>();
+        HeaderFilter headerFilter = HeaderFilter.get();
         for (Header header : response.getAllHeaders()) {
             if (StringUtil.isEmpty(header.getName())) {
                 continue;
             }
-            headers.add(new HttpResponseWrapper.StringTuple(header.getName(), header.getValue()));
+            String name = headerFilter.capture(header.getName());
+            if (name != null) {
+                headers.add(new HttpResponseWrapper.StringTuple(name, header.getValue()));
+            }
         }
 
         return new HttpResponseWrapper(response.getStatusLine().toString(), responseBody,
@@ -165,11 +203,7 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
         if (entity == null || entity.isRepeatable()) {
             return;
         }
-        try {
-            enclosingRequest.setEntity(new CachedHttpEntityWrapper(entity));
-        } catch (Exception ignore) {
-            // ignore exception
-        }
+        enclosingRequest.setEntity(new CachedHttpEntityWrapper(entity));
     }
 
     private HttpEntityEnclosingRequest enclosingRequest(HttpRequest httpRequest) {
@@ -2,6 +2,7 @@ package io.arex.inst.httpclient.apache.common;
 
 import io.arex.inst.runtime.util.IgnoreUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
@@ -40,6 +41,16 @@ public class ApacheHttpClientHelper {
         return BasicLineParser.INSTANCE.parseStatusLine(buffer, cursor);
     }
 
+    /**
+     * Record a lazily captured response which is closed before its body is read to the end
+     */
+    public static void completeCapture(HttpResponse response) {
+        HttpEntity entity = response.getEntity();
+        if (entity instanceof CapturedHttpEntity) {
+            ((CapturedHttpEntity) entity).complete();
+        }
+    }
+
     public static boolean ignoreRequest(HttpRequest httpRequest) {
         if (!(httpRequest instanceof HttpUriRequest)) {
             return true;
@@ -1,7 +1,10 @@
 package io.arex.inst.httpclient.apache.common;
 
-import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.inst.httpclient.common.BodyCapture;
+import io.arex.inst.httpclient.common.CapturingInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -9,17 +12,24 @@ import org.apache.http.HttpEntity;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.util.Args;
 
+/**
+ * Non-repeatable request entity whose body is captured while the client sends it, into a capped buffer.
+ * If the body is needed before it is sent (replay), the entity is drained once and then served from the bytes.
+ */
 public class CachedHttpEntityWrapper extends AbstractHttpEntity {
 
-    private final byte[] cachedBody;
-    private final InputStream content;
     private final HttpEntity entity;
+    private final BodyCapture capture;
+    private byte[] cachedBody;
+    private boolean consumed;
 
-    public CachedHttpEntityWrapper(HttpEntity entity) throws IOException {
-        this.entity = entity;
-        this.cachedBody = IOUtils.copyToByteArray(entity.getContent());
-        this.content = new ByteArrayInputStream(cachedBody);
+    public CachedHttpEntityWrapper(HttpEntity entity) {
+        this(entity, new BodyCapture());
+    }
 
+    CachedHttpEntityWrapper(HttpEntity entity, BodyCapture capture) {
+        this.entity = entity;
+        this.capture = capture;
     }
 
     @Override
@@ -33,14 +43,23 @@ public class CachedHttpEntityWrapper extends AbstractHttpEntity {
     }
 
     @Override
-    public InputStream getContent() throws UnsupportedOperationException {
-        return new ByteArrayInputStream(this.cachedBody);
+    public InputStream getContent() throws IOException {
+        if (this.cachedBody != null) {
+            return new ByteArrayInputStream(this.cachedBody);
+        }
+        this.consumed = true;
+        return new CapturingInputStream(this.entity.getContent(), this.capture, captured -> { });
     }
 
     @Override
     public void writeTo(OutputStream outStream) throws IOException {
         Args.notNull(outStream, "Output stream");
-        IOUtils.copy(this.content, outStream);
+        if (this.cachedBody != null) {
+            outStream.write(this.cachedBody);
+            return;
+        }
+        this.consumed = true;
+        this.entity.writeTo(new CapturingOutputStream(outStream));
     }
 
     @Override
@@ -48,7 +67,51 @@ public class CachedHttpEntityWrapper extends AbstractHttpEntity {
         return this.entity.isStreaming();
     }
 
+    /**
+     * @return the body sent, empty if it exceeds the max capture size (see {@link #truncatedBody()}).
+     * Drained from the entity if not sent yet
+     */
     public byte[] getCachedBody() {
-        return this.cachedBody;
+        if (this.cachedBody != null) {
+            return this.cachedBody;
+        }
+        if (this.consumed) {
+            return this.capture.toByteArray();
+        }
+        try {
+            // the whole body is kept, the request may still be sent after replay
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            this.entity.writeTo(body);
+            this.cachedBody = body.toByteArray();
+            return this.cachedBody;
+        } catch (Exception e) {
+            // left to the client to fail on sending
+            return new byte[0];
+        }
+    }
+
+    /**
+     * @return the capture of the body sent if it exceeds the max capture size, otherwise null
+     */
+    public BodyCapture truncatedBody() {
+        return this.consumed && this.cachedBody == null && this.capture.isTruncated() ? this.capture : null;
+    }
+
+    private class CapturingOutputStream extends FilterOutputStream {
+        CapturingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture.write(b, off, len);
+        }
     }
 }
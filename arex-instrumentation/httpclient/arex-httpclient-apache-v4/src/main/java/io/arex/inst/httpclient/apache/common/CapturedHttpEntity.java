@@ -0,0 +1,66 @@
+package io.arex.inst.httpclient.apache.common;
+
+import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.inst.httpclient.common.BodyCapture;
+import io.arex.inst.httpclient.common.CapturingInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.util.Args;
+
+/**
+ * Response entity captured while the application consumes it, the listener gets the capture when the content
+ * reaches its end or is closed, or the response is closed. Streaming responses keep streaming and are not
+ * buffered twice.
+ */
+class CapturedHttpEntity extends HttpEntityWrapper {
+    private final Consumer<BodyCapture> onConsumed;
+    private CapturingInputStream content;
+    private boolean completed;
+
+    CapturedHttpEntity(HttpEntity wrappedEntity, Consumer<BodyCapture> onConsumed) {
+        super(wrappedEntity);
+        this.onConsumed = onConsumed;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (content == null && !completed) {
+            content = new CapturingInputStream(wrappedEntity.getContent(), new BodyCapture(), onConsumed);
+            return content;
+        }
+        if (content == null) {
+            return wrappedEntity.getContent();
+        }
+        // a repeatable entity returns a new stream each time, only the first one is captured
+        return wrappedEntity.isRepeatable() ? wrappedEntity.getContent() : content;
+    }
+
+    /**
+     * The response is closed, the body read so far is handed to the listener, an unread body as empty.
+     * Either is marked as partial unless the body has no content.
+     */
+    void complete() {
+        if (content != null) {
+            content.complete();
+        } else if (!completed) {
+            completed = true;
+            BodyCapture capture = new BodyCapture();
+            if (wrappedEntity.getContentLength() != 0) {
+                capture.markPartial();
+            }
+            onConsumed.accept(capture);
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        Args.notNull(outStream, "Output stream");
+        try (InputStream inStream = getContent()) {
+            IOUtils.copy(inStream, outStream);
+        }
+    }
+}
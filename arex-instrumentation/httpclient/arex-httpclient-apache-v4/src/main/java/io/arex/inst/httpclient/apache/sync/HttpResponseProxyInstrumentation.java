@@ -0,0 +1,41 @@
+package io.arex.inst.httpclient.apache.sync;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.httpclient.apache.common.ApacheHttpClientHelper;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.http.HttpResponse;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * The response returned by the sync client, a response closed without reading the body to the end
+ * (e.g. only the status is checked) is recorded when closed.
+ */
+public class HttpResponseProxyInstrumentation extends TypeInstrumentation {
+
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+        return named("org.apache.http.impl.execchain.HttpResponseProxy");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return singletonList(new MethodInstrumentation(
+                isMethod().and(named("close")).and(takesArguments(0)),
+            this.getClass().getName() + "$CloseAdvice"));
+    }
+
+    public static class CloseAdvice {
+
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This HttpResponse response) {
+            ApacheHttpClientHelper.completeCapture(response);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.arex.inst.httpclient.apache.common;
 
+import io.arex.agent.bootstrap.util.IOUtils;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -155,6 +156,71 @@ class ApacheHttpClientAdapterTest {
         );
     }
 
+    @Test
+    void wrapLazily() throws IOException {
+        List<HttpResponseWrapper> recorded = new ArrayList<>();
+        assertFalse(target.wrapLazily(Mockito.mock(HttpResponse.class), recorded::add));
+
+        StatusLine statusLine = new org.apache.http.message.BasicStatusLine(org.apache.http.HttpVersion.HTTP_1_1,
+            200, "OK");
+        // the body of the async client is buffered already
+        HttpResponse asyncResponse = new org.apache.http.message.BasicHttpResponse(statusLine);
+        asyncResponse.setEntity(new BasicHttpEntity());
+        assertFalse(target.wrapLazily(asyncResponse, recorded::add));
+
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream("mock".getBytes()));
+        HttpResponse response = new CloseableHttpResponseProxy(statusLine);
+        response.setEntity(entity);
+        response.addHeader("name", "value");
+        response.setLocale(new Locale("zh", "CN"));
+        assertTrue(target.wrapLazily(response, recorded::add));
+        assertTrue(recorded.isEmpty());
+
+        // recorded once the application reads the body to the end
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getEntity().writeTo(out);
+        assertEquals("mock", out.toString());
+        assertEquals(1, recorded.size());
+        assertEquals("mock", new String(recorded.get(0).getContent()));
+        assertEquals("value", recorded.get(0).getHeaders().get(0).value());
+        assertFalse(recorded.get(0).isPartialBody());
+        response.getEntity().getContent().close();
+        ApacheHttpClientHelper.completeCapture(response);
+        assertEquals(1, recorded.size());
+
+        // closed without reading the body
+        BasicHttpEntity unreadEntity = new BasicHttpEntity();
+        unreadEntity.setContent(new ByteArrayInputStream("mock".getBytes()));
+        HttpResponse unreadResponse = new CloseableHttpResponseProxy(statusLine);
+        unreadResponse.setEntity(unreadEntity);
+        unreadResponse.setLocale(Locale.ROOT);
+        assertTrue(target.wrapLazily(unreadResponse, recorded::add));
+        ApacheHttpClientHelper.completeCapture(unreadResponse);
+        assertEquals(2, recorded.size());
+        assertEquals(0, recorded.get(1).getContent().length);
+        assertEquals("HTTP/1.1 200 OK", recorded.get(1).getStatusLine());
+        assertTrue(recorded.get(1).isPartialBody());
+        ApacheHttpClientHelper.completeCapture(unreadResponse);
+        assertEquals(2, recorded.size());
+        // not captured after closed
+        assertEquals("mock", new String(IOUtils.copyToByteArray(unreadResponse.getEntity().getContent())));
+        assertEquals(2, recorded.size());
+
+        // partly read
+        BasicHttpEntity partEntity = new BasicHttpEntity();
+        partEntity.setContent(new ByteArrayInputStream("mock".getBytes()));
+        HttpResponse partResponse = new CloseableHttpResponseProxy(statusLine);
+        partResponse.setEntity(partEntity);
+        partResponse.setLocale(Locale.ROOT);
+        assertTrue(target.wrapLazily(partResponse, recorded::add));
+        assertEquals('m', partResponse.getEntity().getContent().read());
+        ApacheHttpClientHelper.completeCapture(partResponse);
+        assertEquals(3, recorded.size());
+        assertEquals("m", new String(recorded.get(2).getContent()));
+        assertTrue(recorded.get(2).isPartialBody());
+    }
+
     @Test
     void unwrap() {
         HttpResponseWrapper.StringTuple header = new HttpResponseWrapper.StringTuple("key", "val");
@@ -3,29 +3,28 @@ package io.arex.inst.httpclient.apache.common;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.inst.httpclient.common.BodyCapture;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.InputStreamEntity;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class CachedHttpEntityWrapperTest {
-    static CachedHttpEntityWrapper wrapper;
+    CachedHttpEntityWrapper wrapper;
 
-    @BeforeAll
-    static void setUp() throws IOException {
+    @BeforeEach
+    void setUp() {
         HttpEntity httpEntity = new InputStreamEntity(new ByteArrayInputStream("mock".getBytes()));
         wrapper = new CachedHttpEntityWrapper(httpEntity);
     }
 
-    @AfterAll
-    static void tearDown() {
+    @AfterEach
+    void tearDown() {
         wrapper = null;
     }
 
@@ -43,6 +42,8 @@ class CachedHttpEntityWrapperTest {
     void getContent() throws IOException {
         byte[] content = IOUtils.copyToByteArray(wrapper.getContent());
         assertEquals("mock", new String(content));
+        // captured while read
+        assertEquals("mock", new String(wrapper.getCachedBody()));
     }
 
     @Test
@@ -50,6 +51,8 @@ class CachedHttpEntityWrapperTest {
         ByteArrayOutputStream baous = new ByteArrayOutputStream();
         assertDoesNotThrow(() -> wrapper.writeTo(baous));
         assertEquals("mock", baous.toString());
+        // captured while sent
+        assertEquals("mock", new String(wrapper.getCachedBody()));
     }
 
     @Test
@@ -58,7 +61,24 @@ class CachedHttpEntityWrapperTest {
     }
 
     @Test
-    void getCachedBody() {
+    void getCachedBody() throws IOException {
         assertEquals("mock", new String(wrapper.getCachedBody()));
+        // drained before sent, then sent from the drained body
+        ByteArrayOutputStream baous = new ByteArrayOutputStream();
+        wrapper.writeTo(baous);
+        assertEquals("mock", baous.toString());
+        assertEquals("mock", new String(IOUtils.copyToByteArray(wrapper.getContent())));
+        assertNull(wrapper.truncatedBody());
+    }
+
+    @Test
+    void truncatedBody() throws IOException {
+        HttpEntity httpEntity = new InputStreamEntity(new ByteArrayInputStream("mock body".getBytes()));
+        CachedHttpEntityWrapper truncated = new CachedHttpEntityWrapper(httpEntity, new BodyCapture(4));
+        assertNull(truncated.truncatedBody());
+        truncated.writeTo(new ByteArrayOutputStream());
+        assertEquals(0, truncated.getCachedBody().length);
+        assertNotNull(truncated.truncatedBody());
+        assertEquals(9, truncated.truncatedBody().length());
     }
 }
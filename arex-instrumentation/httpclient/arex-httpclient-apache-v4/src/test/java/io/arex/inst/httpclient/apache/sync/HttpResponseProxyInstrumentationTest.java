@@ -0,0 +1,32 @@
+package io.arex.inst.httpclient.apache.sync;
+
+import io.arex.inst.httpclient.apache.common.ApacheHttpClientHelper;
+import org.apache.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class HttpResponseProxyInstrumentationTest {
+    HttpResponseProxyInstrumentation target = new HttpResponseProxyInstrumentation();
+
+    @Test
+    void typeMatcher() {
+        assertNotNull(target.typeMatcher());
+    }
+
+    @Test
+    void methodAdvices() {
+        assertNotNull(target.methodAdvices());
+    }
+
+    @Test
+    void onEnter() {
+        try (MockedStatic<ApacheHttpClientHelper> helper = Mockito.mockStatic(ApacheHttpClientHelper.class)) {
+            HttpResponse response = Mockito.mock(HttpResponse.class);
+            HttpResponseProxyInstrumentation.CloseAdvice.onEnter(response);
+            helper.verify(() -> ApacheHttpClientHelper.completeCapture(response));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.arex.inst.httpclient.common;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.util.CappedByteArrayOutputStream;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Capture of a http client body up to {@link ConfigConstants#HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE}
+ * (falls back to {@link ConfigConstants#HTTP_BODY_MAX_CAPTURE_SIZE}).
+ * The length and checksum cover the whole body, so a truncated body is still recorded as its metadata.
+ */
+public class BodyCapture extends OutputStream {
+    private final CappedByteArrayOutputStream content;
+    private final CRC32 checksum = new CRC32();
+    private long length;
+    private boolean partial;
+
+    public BodyCapture() {
+        this(maxCaptureSize());
+    }
+
+    /**
+     * @param maxSize max bytes to capture, 0 or negative means unlimited
+     */
+    public BodyCapture(int maxSize) {
+        this.content = new CappedByteArrayOutputStream(maxSize);
+    }
+
+    static int maxCaptureSize() {
+        Config config = Config.get();
+        if (config == null) {
+            return 0;
+        }
+        return config.getInt(ConfigConstants.HTTP_CLIENT_BODY_MAX_CAPTURE_SIZE,
+            config.getInt(ConfigConstants.HTTP_BODY_MAX_CAPTURE_SIZE, 0));
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        content.write(b);
+        checksum.update(b);
+        length++;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        content.write(b, off, len);
+        checksum.update(b, off, len);
+        length += len;
+    }
+
+    /**
+     * Copy the remaining bytes of the buffer, the position of the buffer is not changed
+     */
+    public synchronized void write(ByteBuffer buffer) {
+        content.write(buffer);
+        checksum.update(buffer.duplicate());
+        length += buffer.remaining();
+    }
+
+    public synchronized boolean isTruncated() {
+        return content.isExceeded();
+    }
+
+    /**
+     * @return the captured body, empty if truncated
+     */
+    public synchronized byte[] toByteArray() {
+        return content.toByteArray();
+    }
+
+    /**
+     * The body was closed before its end, the capture holds only the bytes read
+     */
+    public synchronized void markPartial() {
+        partial = true;
+    }
+
+    public synchronized boolean isPartial() {
+        return partial;
+    }
+
+    public synchronized long length() {
+        return length;
+    }
+
+    /**
+     * @return CRC32 of the whole body in hex
+     */
+    public synchronized String hash() {
+        return Long.toHexString(checksum.getValue());
+    }
+}
@@ -0,0 +1,104 @@
+package io.arex.inst.httpclient.common;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Tees the bytes read by the application into a {@link BodyCapture}, the body is not buffered up front.
+ * The capture is handed to the listener once, when the stream reaches its end or is closed.
+ * Closed before its end, the capture is marked as partial.
+ */
+public class CapturingInputStream extends FilterInputStream {
+    private final BodyCapture capture;
+    private final Consumer<BodyCapture> onComplete;
+    private boolean completed;
+    private boolean reachedEnd;
+
+    public CapturingInputStream(InputStream in, BodyCapture capture,
+        Consumer<BodyCapture> onComplete) {
+        super(in);
+        this.capture = capture;
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b < 0) {
+            reachedEnd = true;
+            complete();
+        } else {
+            capture.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n < 0) {
+            reachedEnd = true;
+            complete();
+        } else {
+            capture.write(b, off, n);
+        }
+        return n;
+    }
+
+    /**
+     * Skipped bytes are read through, so the capture is still the whole body
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 4096)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        // not supported, reset would capture the bytes twice
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            complete();
+        }
+    }
+
+    /**
+     * Hand the bytes read so far to the listener, e.g. when the response is closed before the body is read
+     */
+    public void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        if (!reachedEnd) {
+            capture.markPartial();
+        }
+        onComplete.accept(capture);
+    }
+}
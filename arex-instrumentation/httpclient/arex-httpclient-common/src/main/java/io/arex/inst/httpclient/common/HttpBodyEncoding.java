@@ -0,0 +1,88 @@
+package io.arex.inst.httpclient.common;
+
+import io.arex.agent.bootstrap.util.StringUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Textual bodies (text/*, json, xml, form) are recorded as strings in the charset of their content type,
+ * Base64 inflates them by a third before they are escaped again within the mocker.
+ * Binary bodies, and text that does not decode losslessly, are left to Base64.
+ * A request body recorded as text is marked by the {@link #BODY_ENCODING} attribute of the request.
+ */
+public final class HttpBodyEncoding {
+    public static final String BODY_ENCODING = "BodyEncoding";
+    public static final String TEXT = "text";
+
+    private HttpBodyEncoding() {
+    }
+
+    /**
+     * @return the charset of a textual content type, UTF-8 if not declared. null if binary or unsupported
+     */
+    public static Charset textCharset(String contentType) {
+        if (StringUtil.isEmpty(contentType)) {
+            return null;
+        }
+        String lowerType = contentType.toLowerCase(Locale.ROOT);
+        int paramStart = lowerType.indexOf(';');
+        String mimeType = (paramStart < 0 ? lowerType : lowerType.substring(0, paramStart)).trim();
+        if (!isTextual(mimeType)) {
+            return null;
+        }
+        int charsetStart = lowerType.indexOf("charset=", paramStart < 0 ? lowerType.length() : paramStart);
+        if (charsetStart < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        int charsetEnd = lowerType.indexOf(';', charsetStart);
+        String charsetName = lowerType.substring(charsetStart + "charset=".length(),
+            charsetEnd < 0 ? lowerType.length() : charsetEnd).trim().replace("\"", "");
+        try {
+            return Charset.forName(charsetName);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean isTextual(String mimeType) {
+        return mimeType.startsWith("text/") || mimeType.endsWith("json") || mimeType.endsWith("xml")
+            || mimeType.equals("application/x-www-form-urlencoded") || mimeType.equals("application/javascript");
+    }
+
+    /**
+     * @return the body as text, null if the body is not textual or does not round trip through the charset
+     */
+    public static String encodeText(byte[] body, String contentType) {
+        Charset charset = textCharset(contentType);
+        if (body == null || charset == null) {
+            return null;
+        }
+        String text;
+        try {
+            CharBuffer chars = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(body));
+            text = chars.toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+        // strict UTF-8 decoding is lossless, other charsets may map several byte sequences to the same char
+        if (charset != StandardCharsets.UTF_8 && !Arrays.equals(body, text.getBytes(charset))) {
+            return null;
+        }
+        return text;
+    }
+
+    public static byte[] decodeText(String text, String contentType) {
+        Charset charset = textCharset(contentType);
+        return text.getBytes(charset == null ? StandardCharsets.UTF_8 : charset);
+    }
+}
@@ -1,6 +1,7 @@
 package io.arex.inst.httpclient.common;
 
 import java.net.URI;
+import java.util.function.Consumer;
 
 public interface HttpClientAdapter<TRequest, TResponse> {
     byte[] ZERO_BYTE = new byte[0];
@@ -11,6 +12,13 @@ public interface HttpClientAdapter<TRequest, TResponse> {
 
     byte[] getRequestBytes();
 
+    /**
+     * @return the capture of the request body if it exceeds the max capture size, the request bytes are empty then
+     */
+    default BodyCapture truncatedRequestBody() {
+        return null;
+    }
+
     String getRequestContentType();
 
     String getRequestHeader(String name);
@@ -19,5 +27,14 @@ public interface HttpClientAdapter<TRequest, TResponse> {
 
     HttpResponseWrapper wrap(TResponse response);
 
+    /**
+     * Hand the wrapped response to the recorder once the application has consumed the body,
+     * so that the body is captured while read instead of buffered up front.
+     * @return false if not supported, then the response is wrapped right away by {@link #wrap}
+     */
+    default boolean wrapLazily(TResponse response, Consumer<HttpResponseWrapper> recorder) {
+        return false;
+    }
+
     TResponse unwrap(HttpResponseWrapper wrapped);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package io.arex.inst.httpclient.common;
 
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
@@ -15,9 +16,11 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class HttpClientExtractor<TRequest, TResponse> {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientExtractor.class);
+    private static final String CONTENT_TYPE = "ContentType";
 
     private final HttpClientAdapter<TRequest, TResponse> adapter;
 
@@ -28,6 +31,9 @@ public class HttpClientExtractor<TRequest, TResponse> {
     public void record(TResponse response) {
         HttpResponseWrapper wrapped = null;
         try {
+            if (adapter.wrapLazily(response, this::recordWrapped)) {
+                return;
+            }
             wrapped = adapter.wrap(response);
         } catch (Throwable throwable) {
             LOGGER.warn("wrap record error:{}", throwable.getMessage(), throwable);
@@ -37,12 +43,34 @@ public class HttpClientExtractor<TRequest, TResponse> {
             return;
         }
 
+        recordWrapped(wrapped);
+    }
+
+    public void recordWrapped(HttpResponseWrapper wrapped) {
         Mocker mocker = makeMocker();
         mocker.getTargetResponse().setType(HttpResponseWrapper.class.getName());
-        mocker.getTargetResponse().setBody(Serializer.serialize(wrapped));
+        wrapped.encodeText();
+        mocker.getTargetResponse().setJsonBody(Serializer.serialize(wrapped));
+        BodyCapture truncatedBody = wrapped.truncatedBody();
+        if (truncatedBody != null) {
+            markTruncated(mocker.getTargetResponse(), truncatedBody);
+            mocker.getTargetResponse().setAttribute(CONTENT_TYPE, wrapped.header(HttpClientAdapter.CONTENT_TYPE_NAME));
+        }
+        if (wrapped.isPartialBody()) {
+            mocker.getTargetResponse().setAttribute(ArexConstants.BODY_PARTIAL, Boolean.TRUE);
+        }
         MockUtils.recordMocker(mocker);
     }
 
+    /**
+     * The body is recorded empty, its length and hash tell it from an empty body
+     */
+    private static void markTruncated(Mocker.Target target, BodyCapture truncatedBody) {
+        target.setAttribute(ArexConstants.BODY_TRUNCATED, Boolean.TRUE);
+        target.setAttribute(ArexConstants.BODY_LENGTH, truncatedBody.length());
+        target.setAttribute(ArexConstants.BODY_HASH, truncatedBody.hash());
+    }
+
     public void record(Throwable throwable) {
         Mocker mocker = makeMocker();
         mocker.getTargetResponse().setType(TypeUtil.getName(throwable));
@@ -51,13 +79,32 @@ public class HttpClientExtractor<TRequest, TResponse> {
     }
 
     public MockResult replay() {
-        boolean ignoreResult = IgnoreUtils.ignoreMockResult("http", adapter.getUri().getPath());
-        Object object = MockUtils.replayBody(makeMocker());
+        return toMockResult(ignoreMockResult(), MockUtils.replayBody(makeMocker()));
+    }
+
+    /**
+     * Replay without blocking the caller, for reactive clients
+     */
+    public CompletableFuture<MockResult> replayAsync() {
+        boolean ignoreResult = ignoreMockResult();
+        return MockUtils.replayBodyAsync(makeMocker()).thenApply(object -> toMockResult(ignoreResult, object));
+    }
+
+    /**
+     * Whether the replayed result is not used and the real request is sent, known before replay
+     */
+    public boolean ignoreMockResult() {
+        return IgnoreUtils.ignoreMockResult("http", adapter.getUri().getPath());
+    }
+
+    private MockResult toMockResult(boolean ignoreResult, Object object) {
         if (object instanceof Throwable) {
             return MockResult.success(ignoreResult, object);
         }
         if (object instanceof HttpResponseWrapper) {
-            TResponse response = this.adapter.unwrap((HttpResponseWrapper) object);
+            HttpResponseWrapper wrapped = (HttpResponseWrapper) object;
+            wrapped.decodeText();
+            TResponse response = this.adapter.unwrap(wrapped);
             return MockResult.success(ignoreResult, response);
         }
         return MockResult.success(ignoreResult, null);
@@ -71,17 +118,29 @@ public class HttpClientExtractor<TRequest, TResponse> {
         mocker.getTargetRequest().setAttributes(attributes);
         attributes.put("HttpMethod", httpMethod);
         attributes.put("QueryString", adapter.getUri().getQuery());
-        attributes.put("ContentType", adapter.getRequestContentType());
+        attributes.put(CONTENT_TYPE, adapter.getRequestContentType());
 
-        mocker.getTargetRequest().setBody(this.encodeRequest(httpMethod));
+        mocker.getTargetRequest().setBody(this.encodeRequest(httpMethod, attributes));
+        BodyCapture truncatedRequestBody = adapter.truncatedRequestBody();
+        if (truncatedRequestBody != null) {
+            markTruncated(mocker.getTargetRequest(), truncatedRequestBody);
+        }
         return mocker;
     }
 
-    private String encodeRequest(String httpMethod) {
+    /**
+     * A textual body is kept as text and marked by the body encoding attribute, Base64 otherwise
+     */
+    private String encodeRequest(String httpMethod, Map<String, Object> attributes) {
         if (ALLOW_HTTP_METHOD_BODY_SETS.contains(httpMethod)) {
             byte[] bytes = adapter.getRequestBytes();
             if (bytes != null) {
-                return Base64.getEncoder().encodeToString(bytes);
+                String text = HttpBodyEncoding.encodeText(bytes, adapter.getRequestContentType());
+                if (text == null) {
+                    return Base64.getEncoder().encodeToString(bytes);
+                }
+                attributes.put(HttpBodyEncoding.BODY_ENCODING, HttpBodyEncoding.TEXT);
+                return text;
             }
         }
         return adapter.getUri().getQuery();
@@ -6,9 +6,21 @@ public class HttpResponseWrapper {
 
     private String statusLine;
     private byte[] content;
+    /**
+     * textual content recorded as is instead of Base64, see {@link HttpBodyEncoding}
+     */
+    private String contentText;
     private StringTuple locale;
     private List<StringTuple> headers;
     private String reason;
+    /**
+     * not recorded as content if the body exceeds the max capture size, only its metadata is recorded
+     */
+    private transient BodyCapture truncatedBody;
+    /**
+     * the response was closed before the body was read to its end
+     */
+    private transient boolean partialBody;
 
     public String getReason() {
         return reason;
@@ -42,6 +54,72 @@ public class HttpResponseWrapper {
         return content;
     }
 
+    /**
+     * Take the captured body as the content, or as truncated metadata with empty content if it exceeds
+     * the max capture size
+     */
+    public void captured(BodyCapture body) {
+        this.partialBody = body.isPartial();
+        if (body.isTruncated()) {
+            this.content = new byte[0];
+            this.truncatedBody = body;
+        } else {
+            this.content = body.toByteArray();
+        }
+    }
+
+    public BodyCapture truncatedBody() {
+        return truncatedBody;
+    }
+
+    public boolean isPartialBody() {
+        return partialBody;
+    }
+
+    public String getContentText() {
+        return contentText;
+    }
+
+    public void setContentText(String contentText) {
+        this.contentText = contentText;
+    }
+
+    /**
+     * Before recording, move a textual content to the content text in the charset of its content type
+     */
+    public void encodeText() {
+        String text = HttpBodyEncoding.encodeText(content, header(HttpClientAdapter.CONTENT_TYPE_NAME));
+        if (text != null) {
+            this.contentText = text;
+            this.content = null;
+        }
+    }
+
+    /**
+     * After replay, restore the content from either encoding
+     */
+    public void decodeText() {
+        if (content == null && contentText != null) {
+            this.content = HttpBodyEncoding.decodeText(contentText, header(HttpClientAdapter.CONTENT_TYPE_NAME));
+            this.contentText = null;
+        }
+    }
+
+    /**
+     * @return the first value of the header, ignoring case
+     */
+    public String header(String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (StringTuple header : headers) {
+            if (name.equalsIgnoreCase(header.name())) {
+                return header.value();
+            }
+        }
+        return null;
+    }
+
     public HttpResponseWrapper() {
     }
 
@@ -0,0 +1,43 @@
+package io.arex.inst.httpclient.common;
+
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
+
+import java.util.function.Consumer;
+
+/**
+ * Records a response once its body has been captured while the application read it.
+ * The capture may be installed on the response before the wrapped response and recorder are attached,
+ * a body completed without them is not recorded.
+ */
+public class LazyBodyRecorder implements Consumer<BodyCapture> {
+    private HttpResponseWrapper wrapped;
+    private volatile Consumer<HttpResponseWrapper> recorder;
+    private TraceTransmitter traceTransmitter;
+
+    public LazyBodyRecorder() {
+    }
+
+    public LazyBodyRecorder(HttpResponseWrapper wrapped, Consumer<HttpResponseWrapper> recorder) {
+        attach(wrapped, recorder);
+    }
+
+    /**
+     * The recorder is called with the context of the current call
+     */
+    public void attach(HttpResponseWrapper wrapped, Consumer<HttpResponseWrapper> recorder) {
+        this.traceTransmitter = TraceTransmitter.create();
+        this.wrapped = wrapped;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void accept(BodyCapture body) {
+        if (recorder == null) {
+            return;
+        }
+        wrapped.captured(body);
+        try (TraceTransmitter tm = traceTransmitter.transmit()) {
+            recorder.accept(wrapped);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.arex.inst.httpclient.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CapturingInputStreamTest {
+
+    @Test
+    void readToEnd() throws IOException {
+        List<byte[]> captured = new ArrayList<>();
+        List<Boolean> partial = new ArrayList<>();
+        CapturingInputStream in = new CapturingInputStream(new ByteArrayInputStream("mock body".getBytes()),
+            new BodyCapture(0), capture -> {
+                captured.add(capture.toByteArray());
+                partial.add(capture.isPartial());
+            });
+        assertEquals('m', in.read());
+        assertEquals(3, in.skip(3));
+        byte[] buffer = new byte[16];
+        assertEquals(5, in.read(buffer, 0, buffer.length));
+        assertTrue(captured.isEmpty());
+        assertEquals(-1, in.read(buffer, 0, buffer.length));
+        assertFalse(in.markSupported());
+        in.close();
+        assertEquals(1, captured.size());
+        assertEquals("mock body", new String(captured.get(0)));
+        assertFalse(partial.get(0));
+    }
+
+    @Test
+    void closeBeforeEnd() throws IOException {
+        List<BodyCapture> captured = new ArrayList<>();
+        CapturingInputStream in = new CapturingInputStream(new ByteArrayInputStream("mock body".getBytes()),
+            new BodyCapture(4), captured::add);
+        byte[] buffer = new byte[6];
+        assertEquals(6, in.read(buffer));
+        in.close();
+        assertEquals(1, captured.size());
+        assertTrue(captured.get(0).isTruncated());
+        assertEquals(6, captured.get(0).length());
+        assertTrue(captured.get(0).isPartial());
+        assertThrows(IOException.class, in::reset);
+    }
+}
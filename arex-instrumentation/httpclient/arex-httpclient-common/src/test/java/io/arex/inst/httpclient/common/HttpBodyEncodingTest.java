@@ -0,0 +1,41 @@
+package io.arex.inst.httpclient.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class HttpBodyEncodingTest {
+
+    @Test
+    void textCharset() {
+        assertNull(HttpBodyEncoding.textCharset(null));
+        assertNull(HttpBodyEncoding.textCharset("application/octet-stream"));
+        assertNull(HttpBodyEncoding.textCharset("image/png"));
+        assertNull(HttpBodyEncoding.textCharset("text/plain; charset=unknown-charset"));
+        assertEquals(StandardCharsets.UTF_8, HttpBodyEncoding.textCharset("application/json"));
+        assertEquals(StandardCharsets.UTF_8, HttpBodyEncoding.textCharset("application/problem+json"));
+        assertEquals(StandardCharsets.UTF_8, HttpBodyEncoding.textCharset("application/x-www-form-urlencoded"));
+        assertEquals(StandardCharsets.ISO_8859_1, HttpBodyEncoding.textCharset("Text/XML; Charset=\"ISO-8859-1\""));
+        assertEquals(Charset.forName("GBK"), HttpBodyEncoding.textCharset("text/html;charset=gbk;format=flowed"));
+    }
+
+    @Test
+    void encodeAndDecodeText() {
+        byte[] json = "{\"name\":\"测试\"}".getBytes(StandardCharsets.UTF_8);
+        String text = HttpBodyEncoding.encodeText(json, "application/json");
+        assertEquals("{\"name\":\"测试\"}", text);
+        assertArrayEquals(json, HttpBodyEncoding.decodeText(text, "application/json"));
+
+        byte[] gbk = "测试".getBytes(Charset.forName("GBK"));
+        text = HttpBodyEncoding.encodeText(gbk, "text/plain; charset=GBK");
+        assertEquals("测试", text);
+        assertArrayEquals(gbk, HttpBodyEncoding.decodeText(text, "text/plain; charset=GBK"));
+
+        // binary or malformed text is left to Base64
+        assertNull(HttpBodyEncoding.encodeText(json, "application/octet-stream"));
+        assertNull(HttpBodyEncoding.encodeText(new byte[]{(byte) 0xC3, (byte) 0x28}, "application/json"));
+        assertNull(HttpBodyEncoding.encodeText(null, "application/json"));
+    }
+}
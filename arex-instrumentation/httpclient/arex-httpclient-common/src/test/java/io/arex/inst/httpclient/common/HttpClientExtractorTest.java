@@ -1,8 +1,10 @@
 package io.arex.inst.httpclient.common;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
@@ -10,10 +12,14 @@ import static org.mockito.Mockito.when;
 import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker.Target;
+import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -61,6 +67,86 @@ public class HttpClientExtractorTest {
         }
     }
 
+    @Test
+    void recordTruncatedTest() {
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
+            ArexMocker mocker = new ArexMocker();
+            mocker.setTargetRequest(new Target());
+            mocker.setTargetResponse(new Target());
+            mockUtils.when(() -> MockUtils.createHttpClient(any())).thenReturn(mocker);
+
+            BodyCapture body = new BodyCapture(4);
+            body.write("mock body".getBytes(), 0, 9);
+            HttpResponseWrapper wrapped = new HttpResponseWrapper("HTTP/1.1 200", null, null,
+                Collections.singletonList(new HttpResponseWrapper.StringTuple("content-type", "text/plain")));
+            wrapped.captured(body);
+            assertEquals(0, wrapped.getContent().length);
+            httpClientExtractor.recordWrapped(wrapped);
+
+            Target response = mocker.getTargetResponse();
+            assertEquals(Boolean.TRUE, response.getAttribute(ArexConstants.BODY_TRUNCATED));
+            assertEquals(9L, response.getAttribute(ArexConstants.BODY_LENGTH));
+            CRC32 crc32 = new CRC32();
+            crc32.update("mock body".getBytes());
+            assertEquals(Long.toHexString(crc32.getValue()), response.getAttribute(ArexConstants.BODY_HASH));
+            assertEquals("text/plain", response.getAttribute("ContentType"));
+            assertNull(response.getAttribute(ArexConstants.BODY_PARTIAL));
+            mockUtils.verify(() -> MockUtils.recordMocker(mocker));
+        }
+    }
+
+    @Test
+    void recordTruncatedRequestTest() {
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
+            ArexMocker mocker = new ArexMocker();
+            mocker.setTargetRequest(new Target());
+            mocker.setTargetResponse(new Target());
+            mockUtils.when(() -> MockUtils.createHttpClient(any())).thenReturn(mocker);
+            BodyCapture requestBody = new BodyCapture(4);
+            requestBody.write("mock request".getBytes(), 0, 12);
+            when(adapter.truncatedRequestBody()).thenReturn(requestBody);
+
+            BodyCapture body = new BodyCapture(0);
+            body.write("mo".getBytes(), 0, 2);
+            body.markPartial();
+            HttpResponseWrapper wrapped = new HttpResponseWrapper("HTTP/1.1 200", null, null, Collections.emptyList());
+            wrapped.captured(body);
+            httpClientExtractor.recordWrapped(wrapped);
+
+            Target request = mocker.getTargetRequest();
+            assertEquals(Boolean.TRUE, request.getAttribute(ArexConstants.BODY_TRUNCATED));
+            assertEquals(12L, request.getAttribute(ArexConstants.BODY_LENGTH));
+            assertEquals(requestBody.hash(), request.getAttribute(ArexConstants.BODY_HASH));
+            assertEquals(Boolean.TRUE, mocker.getTargetResponse().getAttribute(ArexConstants.BODY_PARTIAL));
+            assertNull(mocker.getTargetResponse().getAttribute(ArexConstants.BODY_TRUNCATED));
+        } finally {
+            when(adapter.truncatedRequestBody()).thenReturn(null);
+        }
+    }
+
+    @Test
+    void recordTextTest() {
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
+            ArexMocker mocker = new ArexMocker();
+            mocker.setTargetRequest(new Target());
+            mocker.setTargetResponse(new Target());
+            mockUtils.when(() -> MockUtils.createHttpClient(any())).thenReturn(mocker);
+
+            HttpResponseWrapper wrapped = new HttpResponseWrapper("HTTP/1.1 200", "{\"id\":1}".getBytes(), null,
+                Collections.singletonList(new HttpResponseWrapper.StringTuple("Content-Type", "application/json")));
+            httpClientExtractor.recordWrapped(wrapped);
+            // request and response bodies are kept as text
+            assertEquals("mock request", mocker.getTargetRequest().getBody());
+            assertEquals(HttpBodyEncoding.TEXT, mocker.getTargetRequest().getAttribute(HttpBodyEncoding.BODY_ENCODING));
+            assertNull(wrapped.getContent());
+            assertEquals("{\"id\":1}", wrapped.getContentText());
+
+            wrapped.decodeText();
+            assertEquals("{\"id\":1}", new String(wrapped.getContent()));
+            assertNull(wrapped.getContentText());
+        }
+    }
+
     @Test
     void recordExceptionTest() {
         try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
@@ -100,6 +186,13 @@ public class HttpClientExtractorTest {
             mockUtils.when(() -> MockUtils.replayBody(any())).thenReturn(new Object());
             mockResult = httpClientExtractor.replay();
             assertNull(mockResult.getResult());
+
+            // replay async
+            mockUtils.when(() -> MockUtils.replayBodyAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(new HttpResponseWrapper()));
+            mockResult = httpClientExtractor.replayAsync().join();
+            assertNotNull(mockResult.getResult());
+            assertTrue(httpClientExtractor.ignoreMockResult());
         }
     }
 }
@@ -3,12 +3,17 @@ package io.arex.inst.httpclient.feign;
 import feign.Request;
 import feign.Response;
 import feign.Response.Body;
-import feign.Util;
 import io.arex.agent.bootstrap.util.CollectionUtil;
+import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.inst.httpclient.common.BodyCapture;
+import io.arex.inst.httpclient.common.CapturingInputStream;
 import io.arex.inst.httpclient.common.HttpClientAdapter;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import io.arex.inst.httpclient.common.HttpResponseWrapper.StringTuple;
+import io.arex.inst.httpclient.common.LazyBodyRecorder;
+import io.arex.inst.runtime.config.HeaderFilter;
 import io.arex.inst.runtime.log.LogManager;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -16,12 +21,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class FeignClientAdapter implements HttpClientAdapter<Request, Response> {
     private static final String CONTENT_TYPE = "Content-Type";
     private final Request request;
     private final URI uri;
-    private byte[] responseBody;
+    private BodyCapture capturedBody;
+    /**
+     * set if the response body is captured while the application reads it
+     */
+    private LazyBodyRecorder bodyRecorder;
 
     public FeignClientAdapter(Request request, URI uri) {
         this.request = request;
@@ -61,12 +71,30 @@ public class FeignClientAdapter implements HttpClientAdapter<Request, Response>
     public HttpResponseWrapper wrap(Response response) {
         final String statusLine = String.valueOf(response.status());
         final List<StringTuple> headers = new ArrayList<>(response.headers().size());
-        response.headers().forEach((k, v) -> headers.add(new StringTuple(k, v.iterator().next())));
-        HttpResponseWrapper responseWrapper = new HttpResponseWrapper(statusLine, responseBody, null, headers);
+        final HeaderFilter headerFilter = HeaderFilter.get();
+        response.headers().forEach((k, v) -> {
+            String name = headerFilter.capture(k);
+            if (name != null && !v.isEmpty()) {
+                headers.add(new StringTuple(name, v.iterator().next()));
+            }
+        });
+        HttpResponseWrapper responseWrapper = new HttpResponseWrapper(statusLine, null, null, headers);
+        if (capturedBody != null) {
+            responseWrapper.captured(capturedBody);
+        }
         responseWrapper.setReason(response.reason());
         return responseWrapper;
     }
 
+    @Override
+    public boolean wrapLazily(Response response, Consumer<HttpResponseWrapper> recorder) {
+        if (bodyRecorder == null) {
+            return false;
+        }
+        bodyRecorder.attach(wrap(response), recorder);
+        return true;
+    }
+
     @Override
     public Response unwrap(HttpResponseWrapper wrapped) {
         final int status = parseInt(wrapped.getStatusLine());
@@ -88,6 +116,10 @@ public class FeignClientAdapter implements HttpClientAdapter<Request, Response>
         }
     }
 
+    /**
+     * A repeatable body is read once more for recording. Otherwise the returned response streams the original body
+     * to the application and captures it while read, recorded by {@link #wrapLazily}.
+     */
     public Response copyResponse(Response response) {
         if (response == null) {
             return null;
@@ -97,13 +129,19 @@ public class FeignClientAdapter implements HttpClientAdapter<Request, Response>
             return response;
         }
         try {
-            responseBody = Util.toByteArray(body.asInputStream());
+            if (body.isRepeatable()) {
+                capturedBody = new BodyCapture();
+                try (InputStream inputStream = body.asInputStream()) {
+                    IOUtils.copy(inputStream, capturedBody);
+                }
+                return response;
+            }
+            bodyRecorder = new LazyBodyRecorder();
+            InputStream capturing = new CapturingInputStream(body.asInputStream(), new BodyCapture(), bodyRecorder);
+            return response.toBuilder().body(capturing, body.length()).build();
         } catch (Exception ex) {
             LogManager.warn("feign.copyResponse", "uri: " + getUri(), ex);
-        }
-        if (body.isRepeatable()) {
             return response;
         }
-        return response.toBuilder().body(responseBody).build();
     }
 }
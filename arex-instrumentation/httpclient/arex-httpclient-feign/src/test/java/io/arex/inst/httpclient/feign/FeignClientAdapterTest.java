@@ -10,9 +10,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -63,6 +65,7 @@ class FeignClientAdapterTest {
         responseHeaders.put("testKey", Collections.singletonList("testValue"));
         byte[] body = "testResponse".getBytes();
         final Response response = Response.builder().body(body).reason("test").status(200).headers(responseHeaders).build();
+        feignClientAdapter.copyResponse(response);
         final HttpResponseWrapper wrap = feignClientAdapter.wrap(response);
         assertEquals("testResponse", new String(wrap.getContent()));
 
@@ -74,7 +77,7 @@ class FeignClientAdapterTest {
 
     @Test
     @Order(1)
-    void copyResponse() {
+    void copyResponse() throws IOException {
         // null response
         assertNull(feignClientAdapter.copyResponse(null));
 
@@ -85,12 +88,19 @@ class FeignClientAdapterTest {
         assertTrue(copyRepeatResponse.body().isRepeatable());
         assertEquals(repeatResponse.hashCode(), copyRepeatResponse.hashCode());
 
-        // not repeatable response
+        // not repeatable response, captured while read
         final ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
         final Response unRepeatResponse = Response.builder().body(inputStream, 1024).reason("test").status(200).headers(new HashMap<>()).build();
         assertFalse(unRepeatResponse.body().isRepeatable());
         final Response copyUnRepeatResponse = feignClientAdapter.copyResponse(unRepeatResponse);
-        assertTrue(copyUnRepeatResponse.body().isRepeatable());
-        assertNotEquals(unRepeatResponse.hashCode(), copyUnRepeatResponse.hashCode());
+        assertFalse(copyUnRepeatResponse.body().isRepeatable());
+        assertEquals(1024, copyUnRepeatResponse.body().length());
+        final List<HttpResponseWrapper> recorded = new ArrayList<>();
+        assertTrue(feignClientAdapter.wrapLazily(copyUnRepeatResponse, recorded::add));
+        assertTrue(recorded.isEmpty());
+        assertEquals("testResponse", new String(Util.toByteArray(copyUnRepeatResponse.body().asInputStream())));
+        assertEquals(1, recorded.size());
+        assertEquals("testResponse", new String(recorded.get(0).getContent()));
+        assertEquals("test", recorded.get(0).getReason());
     }
 }
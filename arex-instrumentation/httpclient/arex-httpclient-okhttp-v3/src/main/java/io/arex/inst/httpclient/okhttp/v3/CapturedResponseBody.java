@@ -0,0 +1,87 @@
+package io.arex.inst.httpclient.okhttp.v3;
+
+import io.arex.inst.httpclient.common.BodyCapture;
+import io.arex.inst.httpclient.common.HttpResponseWrapper;
+import io.arex.inst.httpclient.common.LazyBodyRecorder;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Response body captured while the application reads it, the original source keeps streaming.
+ * The response is recorded once the source is exhausted or closed.
+ */
+class CapturedResponseBody extends ResponseBody {
+    private final ResponseBody delegate;
+    private final LazyBodyRecorder bodyRecorder = new LazyBodyRecorder();
+    private final BufferedSource source;
+
+    CapturedResponseBody(ResponseBody delegate) {
+        this.delegate = delegate;
+        this.source = Okio.buffer(new CapturingSource(delegate.source(), new BodyCapture()));
+    }
+
+    void attach(HttpResponseWrapper wrapped, Consumer<HttpResponseWrapper> recorder) {
+        bodyRecorder.attach(wrapped, recorder);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public BufferedSource source() {
+        return source;
+    }
+
+    private class CapturingSource extends ForwardingSource {
+        private final BodyCapture capture;
+        private boolean completed;
+
+        CapturingSource(Source delegate, BodyCapture capture) {
+            super(delegate);
+            this.capture = capture;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+            if (read < 0) {
+                complete();
+            } else {
+                sink.copyTo(capture, sink.size() - read, read);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            bodyRecorder.accept(capture);
+        }
+    }
+}
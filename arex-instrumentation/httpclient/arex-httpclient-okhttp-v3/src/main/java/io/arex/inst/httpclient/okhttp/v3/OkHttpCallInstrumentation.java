@@ -86,6 +86,7 @@ public class OkHttpCallInstrumentation extends TypeInstrumentation {
                 if (throwable != null) {
                     extractor.record(throwable);
                 } else {
+                    response = OkHttpClientAdapter.copyResponse(response);
                     extractor.record(response);
                 }
             }
@@ -43,8 +43,9 @@ public class OkHttpCallbackWrapper implements Callback {
     public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
         // call from record
         try (TraceTransmitter tm = traceTransmitter.transmit()) {
-            extractor.record(response);
-            delegate.onResponse(call, response);
+            Response captured = OkHttpClientAdapter.copyResponse(response);
+            extractor.record(captured);
+            delegate.onResponse(call, captured);
         }
     }
 
@@ -5,6 +5,7 @@ import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.httpclient.common.HttpClientAdapter;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import io.arex.inst.httpclient.common.HttpResponseWrapper.StringTuple;
+import io.arex.inst.runtime.config.HeaderFilter;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.Request;
@@ -23,6 +24,7 @@ import java.util.ArrayList;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OkHttpClientAdapter.class);
@@ -67,6 +69,34 @@ public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response>
             LOGGER.warn("encode response error:{}", e.getMessage(), e);
             return null;
         }
+        return wrapStatusAndHeaders(wrapper, response);
+    }
+
+    /**
+     * The body is captured by {@link #copyResponse} while the application reads it
+     */
+    @Override
+    public boolean wrapLazily(Response response, Consumer<HttpResponseWrapper> recorder) {
+        if (!(response.body() instanceof CapturedResponseBody)) {
+            return false;
+        }
+        HttpResponseWrapper wrapper = new HttpResponseWrapper();
+        wrapper.setContent(ZERO_BYTE);
+        ((CapturedResponseBody) response.body()).attach(wrapStatusAndHeaders(wrapper, response), recorder);
+        return true;
+    }
+
+    /**
+     * @return the response handed to the application, whose body is captured while read instead of peeked up front
+     */
+    public static Response copyResponse(Response response) {
+        if (response == null || response.body() == null) {
+            return response;
+        }
+        return response.newBuilder().body(new CapturedResponseBody(response.body())).build();
+    }
+
+    private HttpResponseWrapper wrapStatusAndHeaders(HttpResponseWrapper wrapper, Response response) {
         StatusLine statusLine = new StatusLine(response.protocol(), response.code(), response.message());
         wrapper.setStatusLine(statusLine.toString());
 
@@ -80,11 +110,15 @@ public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response>
             return Collections.emptyList();
         }
         List<StringTuple> encodeHeaders = new ArrayList<>(headers.size());
+        HeaderFilter headerFilter = HeaderFilter.get();
         for (int i = 0; i < headers.size(); i++) {
             if (StringUtil.isEmpty(headers.name(i))) {
                 continue;
             }
-            encodeHeaders.add(new StringTuple(headers.name(i), headers.value(i)));
+            String name = headerFilter.capture(headers.name(i));
+            if (name != null) {
+                encodeHeaders.add(new StringTuple(name, headers.value(i)));
+            }
         }
         return encodeHeaders;
     }
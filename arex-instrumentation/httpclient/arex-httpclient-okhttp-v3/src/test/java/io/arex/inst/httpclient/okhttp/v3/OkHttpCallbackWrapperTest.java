@@ -4,6 +4,8 @@ package io.arex.inst.httpclient.okhttp.v3;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import io.arex.agent.bootstrap.model.MockResult;
@@ -47,7 +49,8 @@ public class OkHttpCallbackWrapperTest {
     void onResponseTest() throws IOException {
         Response response = createResponse();
         okHttpCallbackWrapper.onResponse(call, response);
-        verify(delegate).onResponse(call, response);
+        // the body is captured while the delegate reads it
+        verify(delegate).onResponse(eq(call), argThat(captured -> captured != response && captured.code() == 200));
     }
 
     static Request createRequest() {
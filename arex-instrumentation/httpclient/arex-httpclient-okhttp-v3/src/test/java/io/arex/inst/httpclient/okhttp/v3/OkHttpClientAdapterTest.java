@@ -2,6 +2,7 @@ package io.arex.inst.httpclient.okhttp.v3;
 
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -16,6 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static io.arex.inst.httpclient.okhttp.v3.OkHttpCallbackWrapperTest.createRequest;
@@ -83,6 +86,29 @@ public class OkHttpClientAdapterTest {
 
     }
 
+    @Test
+    void wrapLazilyTest() throws IOException {
+        List<HttpResponseWrapper> recorded = new ArrayList<>();
+        Response response = createResponse();
+        Assertions.assertFalse(okHttpClientAdapter.wrapLazily(response, recorded::add));
+        Assertions.assertNull(OkHttpClientAdapter.copyResponse(null));
+
+        Response copied = OkHttpClientAdapter.copyResponse(response);
+        Assertions.assertTrue(okHttpClientAdapter.wrapLazily(copied, recorded::add));
+        Assertions.assertTrue(recorded.isEmpty());
+        Assertions.assertEquals("response body", copied.body().string());
+        Assertions.assertEquals(1, recorded.size());
+        Assertions.assertEquals("response body", new String(recorded.get(0).getContent()));
+        Assertions.assertEquals(200, okHttpClientAdapter.unwrap(recorded.get(0)).code());
+
+        // closed without reading
+        copied = OkHttpClientAdapter.copyResponse(createResponse());
+        Assertions.assertTrue(okHttpClientAdapter.wrapLazily(copied, recorded::add));
+        copied.close();
+        Assertions.assertEquals(2, recorded.size());
+        Assertions.assertArrayEquals(new byte[0], recorded.get(1).getContent());
+    }
+
     private void unwrapTest(HttpResponseWrapper wrapper) {
         Response actResult = okHttpClientAdapter.unwrap(wrapper);
         Assertions.assertNotNull(actResult);
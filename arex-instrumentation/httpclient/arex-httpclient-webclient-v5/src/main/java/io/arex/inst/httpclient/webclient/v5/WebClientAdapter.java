@@ -7,6 +7,7 @@ import io.arex.inst.httpclient.webclient.v5.model.WebClientDefaultResponse;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientHttpResponse;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientRequest;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientResponse;
+import io.arex.inst.runtime.config.HeaderFilter;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
@@ -57,7 +58,9 @@ public class WebClientAdapter implements HttpClientAdapter<ClientRequest, WebCli
     @Override
     public HttpResponseWrapper wrap(WebClientResponse webClientResponse) {
         HttpResponseWrapper wrapper = new HttpResponseWrapper();
-        wrapper.setContent(webClientResponse.getContent());
+        if (webClientResponse.getBody() != null) {
+            wrapper.captured(webClientResponse.getBody());
+        }
         ClientResponse response = webClientResponse.originalResponse();
         wrapper.setStatusLine(String.valueOf(response.statusCode().value()));
         HttpHeaders headers = response.headers().asHttpHeaders();
@@ -70,8 +73,12 @@ public class WebClientAdapter implements HttpClientAdapter<ClientRequest, WebCli
             return Collections.emptyList();
         }
         List<StringTuple> encodeHeaders = new ArrayList<>(headers.size());
+        HeaderFilter headerFilter = HeaderFilter.get();
         for (Map.Entry<String, List<String>> header : headers.entrySet()) {
-            encodeHeaders.add(new StringTuple(header.getKey(), String.join(",", header.getValue())));
+            String name = headerFilter.capture(header.getKey());
+            if (name != null) {
+                encodeHeaders.add(new StringTuple(name, String.join(",", header.getValue())));
+            }
         }
         return encodeHeaders;
     }
@@ -1,6 +1,5 @@
 package io.arex.inst.httpclient.webclient.v5;
 
-import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.extension.MethodInstrumentation;
 import io.arex.inst.extension.TypeInstrumentation;
 import io.arex.inst.runtime.context.ContextManager;
@@ -44,7 +43,7 @@ public class WebClientInstrumentation extends TypeInstrumentation {
         public static boolean onEnter(@Advice.Argument(0) ClientRequest clientRequest,
                                       @Advice.FieldValue("strategies") ExchangeStrategies strategies,
                                       @Advice.Local("wrapper") WebClientWrapper wrapper,
-                                      @Advice.Local("mockResult") MockResult mockResult) {
+                                      @Advice.Local("replayResponse") Mono<ClientResponse> replayResponse) {
             if (IgnoreUtils.excludeOperation(clientRequest.url().getPath())) {
                 return false;
             }
@@ -53,23 +52,23 @@ public class WebClientInstrumentation extends TypeInstrumentation {
                 RepeatedCollectManager.enter();
                 wrapper = new WebClientWrapper(clientRequest, strategies);
                 if (ContextManager.needReplay()) {
-                    mockResult = wrapper.replay();
+                    replayResponse = wrapper.replay();
                 }
             }
-            return mockResult != null && mockResult.notIgnoreMockResult();
+            return replayResponse != null;
         }
 
         @Advice.OnMethodExit(suppress = Throwable.class)
         public static void onExit(
                 @Advice.Local("wrapper") WebClientWrapper wrapper,
-                @Advice.Local("mockResult") MockResult mockResult,
+                @Advice.Local("replayResponse") Mono<ClientResponse> replayResponse,
                 @Advice.Return(readOnly = false) Mono<ClientResponse> response) {
             if (wrapper == null || !RepeatedCollectManager.exitAndValidate()) {
                 return;
             }
 
-            if (mockResult != null && mockResult.notIgnoreMockResult()) {
-                response = wrapper.replay(mockResult);
+            if (replayResponse != null) {
+                response = replayResponse;
                 return;
             }
             if (ContextManager.needRecord()) {
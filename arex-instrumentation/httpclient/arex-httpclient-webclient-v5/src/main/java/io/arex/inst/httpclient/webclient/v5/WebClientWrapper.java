@@ -2,20 +2,20 @@ package io.arex.inst.httpclient.webclient.v5;
 
 import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.agent.bootstrap.model.MockResult;
-import io.arex.agent.bootstrap.util.ArrayUtils;
+import io.arex.inst.httpclient.common.BodyCapture;
 import io.arex.inst.httpclient.common.HttpClientExtractor;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientRequest;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientResponse;
+import io.arex.inst.runtime.util.ReplayUtils;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class WebClientWrapper {
     private final ClientRequest httpRequest;
@@ -51,36 +51,28 @@ public class WebClientWrapper {
             }
         }).map(response -> {
             try (TraceTransmitter tm = traceTransmitter.transmit()) {
-                List<byte[]> bytes = new ArrayList<>();
-                return response.mutate().body(body -> Flux.defer(() -> Flux.from(body)
-                        .map(dataBuffer -> {
-                            /*
-                             * If the response message is too large, it will be truncated and returned multiple times.
-                             * Here, aggregation is required
-                             */
-                            collect(dataBuffer, bytes);
-                            return dataBuffer;
-                        }).doOnComplete(() -> {
-                            byte[] bodyArray = new byte[]{};
-                            if (bytes.size() == 1) {
-                                bodyArray = bytes.get(0);
-                            } else {
-                                for (byte[] byteArray : bytes) {
-                                    bodyArray = ArrayUtils.addAll(bodyArray, byteArray);
-                                }
-                            }
-                            try (TraceTransmitter tm1 = traceTransmitter1.transmit()) {
-                                extractor.record(WebClientResponse.of(response, bodyArray));
-                            }
-                        })
-                )).build();
+                return response.mutate().body(flux -> Flux.defer(() -> {
+                    BodyCapture body = new BodyCapture();
+                    return Flux.from(flux).map(dataBuffer -> {
+                        /*
+                         * If the response message is too large, it will be truncated and returned multiple times.
+                         * Here, aggregation is required, the buffer itself is passed through untouched
+                         */
+                        collect(dataBuffer, body);
+                        return dataBuffer;
+                    }).doOnComplete(() -> {
+                        try (TraceTransmitter tm1 = traceTransmitter1.transmit()) {
+                            extractor.record(WebClientResponse.of(response, body));
+                        }
+                    });
+                })).build();
             }
         });
     }
 
-    private void collect(DataBuffer dataBuffer, List<byte[]> bytes) {
+    private void collect(DataBuffer dataBuffer, BodyCapture body) {
         if (dataBuffer != null) {
-            bytes.add(dataBuffer.toString(StandardCharsets.UTF_8).getBytes());
+            body.write(dataBuffer.asByteBuffer());
         }
     }
 
@@ -90,13 +82,35 @@ public class WebClientWrapper {
         adapter.setHttpRequest(request);
     }
 
-    public MockResult replay() {
+    /**
+     * Replay without blocking the caller (usually an event loop thread), the response is emitted when the query completes
+     * @return null if the mock result is ignored, then the real exchange is executed
+     */
+    public Mono<ClientResponse> replay() {
         try (TraceTransmitter tm = traceTransmitter2.transmit()) {
             convertRequest();
-            return extractor.replay();
+            CompletableFuture<MockResult> mockResultFuture = extractor.replayAsync();
+            if (extractor.ignoreMockResult()) {
+                return null;
+            }
+            return fromReplay(mockResultFuture, TraceTransmitter.create()).flatMap(this::replay);
         }
     }
 
+    /**
+     * Emit the replay result on a reactor scheduler with the trace context of the caller, see {@link ReplayUtils}
+     */
+    static <T> Mono<T> fromReplay(CompletableFuture<T> future, TraceTransmitter transmitter) {
+        return Mono.create(sink -> ReplayUtils.whenReplayed(future, transmitter,
+            task -> Schedulers.parallel().schedule(task), (result, throwable) -> {
+                if (throwable != null) {
+                    sink.error(throwable);
+                } else {
+                    sink.success(result);
+                }
+            }));
+    }
+
     public Mono<ClientResponse> replay(MockResult mockResult) {
         if (mockResult.getThrowable() != null) {
             return Mono.error(mockResult.getThrowable());
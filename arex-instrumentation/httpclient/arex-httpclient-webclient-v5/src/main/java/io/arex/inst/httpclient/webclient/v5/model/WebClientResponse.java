@@ -1,25 +1,30 @@
 package io.arex.inst.httpclient.webclient.v5.model;
 
+import io.arex.inst.httpclient.common.BodyCapture;
 import org.springframework.web.reactive.function.client.ClientResponse;
 
 public class WebClientResponse {
     private ClientResponse response;
-    private byte[] content;
-    private WebClientResponse(ClientResponse response, byte[] content) {
+    private BodyCapture body;
+    private WebClientResponse(ClientResponse response, BodyCapture body) {
         this.response = response;
-        this.content = content;
+        this.body = body;
     }
     public static WebClientResponse of(ClientResponse defaultResponse) {
         return of(defaultResponse, null);
     }
-    public static WebClientResponse of(ClientResponse response, byte[] content) {
-        return new WebClientResponse(response, content);
+    public static WebClientResponse of(ClientResponse response, BodyCapture body) {
+        return new WebClientResponse(response, body);
     }
     public ClientResponse originalResponse() {
         return response;
     }
-    public byte[] getContent() {
-        return content;
+
+    /**
+     * @return null if the body is not captured
+     */
+    public BodyCapture getBody() {
+        return body;
     }
 
 }
@@ -1,5 +1,6 @@
 package io.arex.inst.httpclient.webclient.v5;
 
+import io.arex.inst.httpclient.common.BodyCapture;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientRequest;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientResponse;
@@ -22,8 +23,11 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -93,6 +97,19 @@ class WebClientAdapterTest {
         HttpHeaders httpHeaders = new HttpHeaders(headerMap);
         Mockito.when(headers.asHttpHeaders()).thenReturn(httpHeaders);
         assertNotNull(target.wrap(webClientResponse));
+
+        // captured body
+        BodyCapture body = new BodyCapture(4);
+        body.write(ByteBuffer.wrap("mock".getBytes(StandardCharsets.UTF_8)));
+        HttpResponseWrapper wrapper = target.wrap(WebClientResponse.of(response, body));
+        assertEquals("mock", new String(wrapper.getContent(), StandardCharsets.UTF_8));
+        assertNull(wrapper.truncatedBody());
+
+        // oversized body is recorded as truncated metadata
+        body.write(ByteBuffer.wrap("-oversized".getBytes(StandardCharsets.UTF_8)));
+        wrapper = target.wrap(WebClientResponse.of(response, body));
+        assertEquals(0, wrapper.getContent().length);
+        assertEquals(14L, wrapper.truncatedBody().length());
     }
 
     @Test
@@ -1,6 +1,5 @@
 package io.arex.inst.httpclient.webclient.v5;
 
-import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.context.RepeatedCollectManager;
 import io.arex.inst.runtime.util.IgnoreUtils;
@@ -17,10 +16,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -60,7 +60,7 @@ class WebClientInstrumentationTest {
         Mockito.when(request.url()).thenReturn(new URL("http://localhost").toURI());
 
         try (MockedConstruction<WebClientWrapper> mocked = Mockito.mockConstruction(WebClientWrapper.class, (mock, context) -> {
-            Mockito.when(mock.replay()).thenReturn(MockResult.success(false, null));
+            Mockito.when(mock.replay()).thenReturn(Mono.empty());
         })) {
             Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needReplay()).thenReturn(true);
@@ -73,11 +73,11 @@ class WebClientInstrumentationTest {
 
     @ParameterizedTest
     @MethodSource("onExitCase")
-    void onExit(Runnable mocker, MockResult mockResult, Predicate<MockResult> predicate) {
+    void onExit(Runnable mocker, Mono<ClientResponse> replayResponse, Predicate<WebClientWrapper> predicate) {
         mocker.run();
         WebClientWrapper wrapper = Mockito.mock(WebClientWrapper.class);
-        WebClientInstrumentation.ExchangeAdvice.onExit(wrapper, mockResult, null);
-        assertTrue(predicate.test(mockResult));
+        WebClientInstrumentation.ExchangeAdvice.onExit(wrapper, replayResponse, null);
+        assertTrue(predicate.test(wrapper));
     }
 
     static Stream<Arguments> onExitCase() {
@@ -88,12 +88,12 @@ class WebClientInstrumentationTest {
         Runnable needRecord = () -> {
             Mockito.when(ContextManager.needRecord()).thenReturn(true);
         };
-        Predicate<MockResult> predicate1 = Objects::isNull;
-        Predicate<MockResult> predicate2 = Objects::nonNull;
+        Predicate<WebClientWrapper> notRecord = wrapper -> Mockito.mockingDetails(wrapper).getInvocations().isEmpty();
+        Predicate<WebClientWrapper> record = wrapper -> !Mockito.mockingDetails(wrapper).getInvocations().isEmpty();
         return Stream.of(
-                arguments(emptyMocker, null, predicate1),
-                arguments(exitAndValidate, MockResult.success(null), predicate2),
-                arguments(needRecord, null, predicate1)
+                arguments(emptyMocker, null, notRecord),
+                arguments(exitAndValidate, Mono.empty(), notRecord),
+                arguments(needRecord, null, record)
         );
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package io.arex.inst.httpclient.webclient.v5;
 
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.httpclient.common.HttpClientExtractor;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientResponse;
@@ -26,6 +27,7 @@ import reactor.core.publisher.Mono;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -50,7 +52,10 @@ class WebClientWrapperTest {
         Mockito.when(clientRequest.writeTo(any(), any())).thenReturn(Mono.empty());
         Mockito.when(clientRequest.url()).thenReturn(Mockito.mock(URI.class));
         Mockito.when(clientRequest.headers()).thenReturn(new HttpHeaders());
-        Mockito.mockConstruction(HttpClientExtractor.class);
+        Mockito.mockConstruction(HttpClientExtractor.class, (mock, context) -> {
+            Mockito.when(mock.replayAsync()).thenReturn(
+                CompletableFuture.completedFuture(MockResult.success(new NullPointerException("mock"))));
+        });
     }
 
     @AfterAll
@@ -78,7 +83,7 @@ class WebClientWrapperTest {
             Function<Flux<DataBuffer>, Flux<DataBuffer>> transformer = dataBufferFlux -> Flux.just(dataBuffer);
             builder.body(transformer);
             Mockito.when(response.mutate()).thenReturn(builder);
-            Mockito.when(dataBuffer.toString(any())).thenReturn("mock");
+            Mockito.when(dataBuffer.asByteBuffer()).thenReturn(java.nio.ByteBuffer.wrap("mock".getBytes()));
         };
         Predicate<Mono<ClientResponse>> predicate1 = Objects::isNull;
         Predicate<Mono<ClientResponse>> predicate2 = responseMono -> {
@@ -107,8 +112,8 @@ class WebClientWrapperTest {
     @Test
     void replay() {
         WebClientWrapper target = new WebClientWrapper(clientRequest, strategies);
-        MockResult mockResult = target.replay();
-        assertNull(mockResult);
+        Mono<ClientResponse> responseMono = target.replay();
+        assertThrows(NullPointerException.class, responseMono::block);
     }
 
     @Test
@@ -121,4 +126,27 @@ class WebClientWrapperTest {
         MockResult mockResult1 = MockResult.success(WebClientResponse.of(response));
         assertNotNull(target.replay(mockResult1).block());
     }
-}
\ No newline at end of file
+
+    @Test
+    void fromReplay() {
+        // completed by the agent's thread, emitted on a reactor scheduler
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Mono<String> mono = WebClientWrapper.fromReplay(future, TraceTransmitter.create())
+            .map(result -> result + "@" + Thread.currentThread().getName());
+        Thread agentThread = new Thread(() -> future.complete("mock"), "arex-async-http-client");
+        agentThread.start();
+        String result = mono.block(Duration.ofSeconds(5));
+        assertTrue(result.startsWith("mock@"));
+        assertFalse(result.endsWith("arex-async-http-client"));
+
+        // completed before subscribing
+        assertEquals("mock", WebClientWrapper.fromReplay(CompletableFuture.completedFuture("mock"), TraceTransmitter.create()).block());
+        // a missing replay result is an error, not an empty response
+        assertThrows(IllegalStateException.class,
+            () -> WebClientWrapper.fromReplay(CompletableFuture.completedFuture(null), TraceTransmitter.create()).block());
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("mock"));
+        assertThrows(IllegalStateException.class,
+            () -> WebClientWrapper.fromReplay(failed.thenApply(value -> value), TraceTransmitter.create()).block());
+    }
+}
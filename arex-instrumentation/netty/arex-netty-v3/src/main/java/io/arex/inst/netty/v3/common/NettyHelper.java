@@ -1,6 +1,7 @@
 package io.arex.inst.netty.v3.common;
 
 import io.arex.agent.bootstrap.util.ReflectUtil;
+import io.arex.inst.runtime.config.HeaderFilter;
 import io.arex.inst.runtime.util.fastreflect.MethodHolder;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.handler.codec.http.HttpHeaders;
@@ -24,8 +25,12 @@ public class NettyHelper {
 
     public static Map<String, String> parseHeaders(List<Map.Entry<String, String>> headerList) {
         Map<String, String> headers = new HashMap<>();
+        HeaderFilter headerFilter = HeaderFilter.get();
         for (Map.Entry<String, String> entry : headerList) {
-            headers.put(entry.getKey(), entry.getValue());
+            String name = headerFilter.capture(entry.getKey());
+            if (name != null) {
+                headers.put(name, entry.getValue());
+            }
         }
         return headers;
     }
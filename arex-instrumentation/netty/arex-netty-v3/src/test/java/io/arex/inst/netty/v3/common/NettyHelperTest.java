@@ -43,6 +43,7 @@ class NettyHelperTest {
     void parseHeaders() {
         List<Map.Entry<String, String>> headerList = new ArrayList<>();
         Map.Entry<String, String> headers = Mockito.mock(Map.Entry.class);
+        Mockito.when(headers.getKey()).thenReturn("mock-header");
         headerList.add(headers);
         assertTrue(NettyHelper.parseHeaders(headerList).size() > 0);
     }
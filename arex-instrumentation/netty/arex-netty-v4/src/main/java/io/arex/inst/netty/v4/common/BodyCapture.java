@@ -0,0 +1,118 @@
+package io.arex.inst.netty.v4.common;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Body of a chunked http message, the chunks are retained (not copied) into one composite buffer
+ * and decoded once when the message is complete.
+ * If the body exceeds {@link ConfigConstants#HTTP_BODY_MAX_CAPTURE_SIZE} the capture is dropped,
+ * only its metadata is recorded, see {@link #markTruncated(Mocker.Target)}.
+ */
+public class BodyCapture {
+    private final ByteBufAllocator allocator;
+    private final int maxSize;
+    private CompositeByteBuf buffer;
+    private boolean exceeded;
+    /**
+     * length of the whole body, counted after exceeded as well
+     */
+    private long length;
+    /**
+     * CRC32 of the whole body, recorded with the length when truncated
+     */
+    private final CRC32 checksum = new CRC32();
+
+    public BodyCapture(ByteBufAllocator allocator) {
+        this(allocator, Config.get().getInt(ConfigConstants.HTTP_BODY_MAX_CAPTURE_SIZE, 0));
+    }
+
+    BodyCapture(ByteBufAllocator allocator, int maxSize) {
+        this.allocator = allocator != null ? allocator : UnpooledByteBufAllocator.DEFAULT;
+        this.maxSize = maxSize;
+    }
+
+    public void append(ByteBuf content) {
+        if (content == null || !content.isReadable()) {
+            return;
+        }
+        int readableBytes = content.readableBytes();
+        length += readableBytes;
+        for (ByteBuffer nioBuffer : content.nioBuffers()) {
+            checksum.update(nioBuffer);
+        }
+        if (exceeded) {
+            return;
+        }
+        int capturedBytes = buffer == null ? 0 : buffer.readableBytes();
+        if (maxSize > 0 && capturedBytes + readableBytes > maxSize) {
+            exceeded = true;
+            release();
+            return;
+        }
+        if (buffer == null) {
+            // no consolidation, the components are copied only once when decoding
+            buffer = allocator.compositeBuffer(Integer.MAX_VALUE);
+        }
+        // the duplicate shares the reference count, independent indexes keep the message untouched
+        buffer.addComponent(content.duplicate().retain());
+        buffer.writerIndex(buffer.writerIndex() + readableBytes);
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Record the body as truncated on the target if it exceeded the max capture size, like the servlet and
+     * http client mockers
+     */
+    public void markTruncated(Mocker.Target target) {
+        if (exceeded && target != null) {
+            target.setAttribute(ArexConstants.BODY_TRUNCATED, Boolean.TRUE);
+            target.setAttribute(ArexConstants.BODY_LENGTH, length);
+            target.setAttribute(ArexConstants.BODY_HASH, Long.toHexString(checksum.getValue()));
+        }
+    }
+
+    /**
+     * @return null if nothing captured or exceeded the max capture size
+     */
+    public String decode(Charset charset) {
+        if (buffer == null || !buffer.isReadable()) {
+            return null;
+        }
+        return buffer.toString(charset);
+    }
+
+    /**
+     * @return base64 of the body, null if nothing captured or exceeded the max capture size
+     */
+    public String encodeBase64() {
+        if (buffer == null) {
+            return null;
+        }
+        return NettyHelper.parseBody(buffer);
+    }
+
+    public void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package io.arex.inst.netty.v4.common;
 
+import io.arex.inst.runtime.config.HeaderFilter;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.EmptyByteBuf;
 import io.netty.handler.codec.http.HttpHeaders;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -12,8 +15,12 @@ public class NettyHelper {
 
     public static Map<String, String> parseHeaders(HttpHeaders originHeaders) {
         Map<String, String> headers = new HashMap<>();
+        HeaderFilter headerFilter = HeaderFilter.get();
         for (Map.Entry<String, String> entry : originHeaders.entries()) {
-            headers.put(entry.getKey(), entry.getValue());
+            String name = headerFilter.capture(entry.getKey());
+            if (name != null) {
+                headers.put(name, entry.getValue());
+            }
         }
         return headers;
     }
@@ -22,10 +29,18 @@ public class NettyHelper {
         if (byteData instanceof EmptyByteBuf) {
             return null;
         }
-        byte[] msgByte = new byte[byteData.readableBytes()];
-        byteData.readBytes(msgByte);
-        byteData.resetReaderIndex();
-        return Base64.getEncoder().encodeToString(msgByte);
+        // the readable region is read without moving the indexes, a single nio buffer is encoded without copy
+        ByteBuffer source;
+        if (byteData.nioBufferCount() == 1) {
+            source = byteData.nioBuffer();
+        } else {
+            byte[] msgByte = new byte[byteData.readableBytes()];
+            byteData.getBytes(byteData.readerIndex(), msgByte);
+            source = ByteBuffer.wrap(msgByte);
+        }
+        ByteBuffer encoded = Base64.getEncoder().encode(source);
+        return new String(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining(),
+                StandardCharsets.ISO_8859_1);
     }
 
 }
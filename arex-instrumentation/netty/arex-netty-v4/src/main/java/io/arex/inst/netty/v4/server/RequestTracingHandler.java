@@ -11,6 +11,7 @@ import io.arex.inst.runtime.listener.EventSource;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.netty.v4.common.AttributeKey;
+import io.arex.inst.netty.v4.common.BodyCapture;
 import io.arex.inst.netty.v4.common.NettyHelper;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
@@ -62,17 +63,12 @@ public class RequestTracingHandler extends ChannelInboundHandlerAdapter {
         if (mocker == null) {
             return;
         }
-        String content = httpContent.content().toString(CharsetUtil.UTF_8);
-        if (StringUtil.isEmpty(content)) {
-            return;
-        }
-        String requestBody = mocker.getTargetRequest().getBody();
-        if (StringUtil.isNotEmpty(requestBody)) {
-            requestBody += content;
-        } else {
-            requestBody = content;
+        BodyCapture requestBody = ctx.channel().attr(AttributeKey.TRACING_REQUEST_BODY).get();
+        if (requestBody == null) {
+            requestBody = new BodyCapture(ctx.alloc());
+            ctx.channel().attr(AttributeKey.TRACING_REQUEST_BODY).set(requestBody);
         }
-        mocker.getTargetRequest().setBody(requestBody);
+        requestBody.append(httpContent.content());
     }
 
     private boolean shouldSkip(HttpRequest request, String caseId) {
@@ -101,13 +97,24 @@ public class RequestTracingHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        BodyCapture requestBody = null;
         try {
+            requestBody = ctx.channel().attr(AttributeKey.TRACING_REQUEST_BODY).getAndSet(null);
             Mocker mocker = ctx.channel().attr(AttributeKey.TRACING_MOCKER).getAndSet(null);
             if (mocker == null) {
                 return;
             }
+            if (requestBody != null) {
+                mocker.getTargetRequest().setBody(requestBody.decode(CharsetUtil.UTF_8));
+                requestBody.markTruncated(mocker.getTargetRequest());
+            }
             if (ContextManager.needReplay()) {
-                MockUtils.replayBody(mocker);
+                // the response of entry replay is not used, not block the event loop
+                MockUtils.replayMockerAsync(mocker).whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        LogManager.warn("netty entry replay error", throwable);
+                    }
+                });
             } else if (ContextManager.needRecord()) {
                 MockUtils.recordMocker(mocker);
             }
@@ -116,7 +123,31 @@ public class RequestTracingHandler extends ChannelInboundHandlerAdapter {
         } catch (Throwable e) {
             LogManager.warn("netty channelReadComplete error", e);
         } finally {
+            if (requestBody != null) {
+                requestBody.release();
+            }
             super.channelReadComplete(ctx);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * release the retained body chunks if the connection is closed before the message completes
+     */
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        try {
+            releaseBody(ctx.channel().attr(AttributeKey.TRACING_REQUEST_BODY).getAndSet(null));
+            releaseBody(ctx.channel().attr(AttributeKey.TRACING_RESPONSE_BODY).getAndSet(null));
+        } catch (Throwable e) {
+            LogManager.warn("netty channelInactive error", e);
+        } finally {
+            super.channelInactive(ctx);
+        }
+    }
+
+    private void releaseBody(BodyCapture body) {
+        if (body != null) {
+            body.release();
+        }
+    }
+}
@@ -5,11 +5,14 @@ import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.netty.v4.common.AttributeKey;
+import io.arex.inst.netty.v4.common.BodyCapture;
 import io.arex.inst.netty.v4.common.NettyHelper;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.TypeUtil;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.*;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
 
@@ -36,13 +39,17 @@ public class ResponseTracingHandler extends ChannelOutboundHandlerAdapter {
                     prm = ctx.newPromise();
                 }
 
-                String body = NettyHelper.parseBody(((LastHttpContent) msg).content());
+                String body = parseBody(ctx, ((LastHttpContent) msg).content());
                 // record response and save record on RequestTracingHandler#channelReadComplete
                 invoke(ctx.channel(), body, prm.cause());
             } else {
                 if (msg instanceof HttpResponse) {
                     processHeaders(ctx.channel(), (HttpResponse) msg);
                 }
+                // chunked response, capture until the last content
+                if (msg instanceof HttpContent) {
+                    captureBody(ctx, ((HttpContent) msg).content());
+                }
             }
         } catch (Throwable e) {
             LogManager.warn("netty write error", e);
@@ -51,6 +58,35 @@ public class ResponseTracingHandler extends ChannelOutboundHandlerAdapter {
         }
     }
 
+    private void captureBody(ChannelHandlerContext ctx, ByteBuf content) {
+        if (ctx.channel().attr(AttributeKey.TRACING_MOCKER).get() == null) {
+            return;
+        }
+        BodyCapture responseBody = ctx.channel().attr(AttributeKey.TRACING_RESPONSE_BODY).get();
+        if (responseBody == null) {
+            responseBody = new BodyCapture(ctx.alloc());
+            ctx.channel().attr(AttributeKey.TRACING_RESPONSE_BODY).set(responseBody);
+        }
+        responseBody.append(content);
+    }
+
+    private String parseBody(ChannelHandlerContext ctx, ByteBuf lastContent) {
+        BodyCapture responseBody = ctx.channel().attr(AttributeKey.TRACING_RESPONSE_BODY).getAndSet(null);
+        if (responseBody == null) {
+            responseBody = new BodyCapture(ctx.alloc());
+        }
+        try {
+            responseBody.append(lastContent);
+            Mocker mocker = ctx.channel().attr(AttributeKey.TRACING_MOCKER).get();
+            if (mocker != null) {
+                responseBody.markTruncated(mocker.getTargetResponse());
+            }
+            return responseBody.encodeBase64();
+        } finally {
+            responseBody.release();
+        }
+    }
+
     private void processHeaders(final Channel channel, final HttpResponse response) {
         Mocker mocker = channel.attr(AttributeKey.TRACING_MOCKER).get();
         if (mocker == null) {
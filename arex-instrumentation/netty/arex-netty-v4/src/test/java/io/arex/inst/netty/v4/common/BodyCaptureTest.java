@@ -0,0 +1,69 @@
+package io.arex.inst.netty.v4.common;
+
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyCaptureTest {
+
+    @Test
+    void appendAndDecode() {
+        BodyCapture capture = new BodyCapture(UnpooledByteBufAllocator.DEFAULT, 0);
+        assertNull(capture.decode(CharsetUtil.UTF_8));
+        assertNull(capture.encodeBase64());
+
+        ByteBuf chunk1 = Unpooled.copiedBuffer("hello ", CharsetUtil.UTF_8);
+        ByteBuf chunk2 = Unpooled.copiedBuffer("world", CharsetUtil.UTF_8);
+        capture.append(chunk1);
+        capture.append(Unpooled.EMPTY_BUFFER);
+        capture.append(chunk2);
+        // retained, message indexes untouched
+        assertEquals(2, chunk1.refCnt());
+        assertEquals(0, chunk1.readerIndex());
+
+        assertEquals("hello world", capture.decode(CharsetUtil.UTF_8));
+        assertEquals(Base64.getEncoder().encodeToString("hello world".getBytes()), capture.encodeBase64());
+
+        capture.release();
+        assertEquals(1, chunk1.refCnt());
+        assertEquals(1, chunk2.refCnt());
+        assertNull(capture.decode(CharsetUtil.UTF_8));
+    }
+
+    @Test
+    void exceedMaxSize() {
+        BodyCapture capture = new BodyCapture(UnpooledByteBufAllocator.DEFAULT, 8);
+        ByteBuf chunk1 = Unpooled.copiedBuffer("hello ", CharsetUtil.UTF_8);
+        capture.append(chunk1);
+        assertFalse(capture.isExceeded());
+        capture.append(Unpooled.copiedBuffer("world", CharsetUtil.UTF_8));
+        assertTrue(capture.isExceeded());
+        assertEquals(1, chunk1.refCnt());
+        assertNull(capture.decode(CharsetUtil.UTF_8));
+        assertNull(capture.encodeBase64());
+
+        // recorded as truncated with the length of the whole body
+        capture.append(Unpooled.copiedBuffer("!", CharsetUtil.UTF_8));
+        Mocker.Target target = new Mocker.Target();
+        capture.markTruncated(target);
+        assertEquals(Boolean.TRUE, target.getAttribute(ArexConstants.BODY_TRUNCATED));
+        assertEquals(12L, target.getAttribute(ArexConstants.BODY_LENGTH));
+        CRC32 crc32 = new CRC32();
+        crc32.update("hello world!".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Long.toHexString(crc32.getValue()), target.getAttribute(ArexConstants.BODY_HASH));
+
+        Mocker.Target notTruncated = new Mocker.Target();
+        new BodyCapture(UnpooledByteBufAllocator.DEFAULT, 8).markTruncated(notTruncated);
+        assertNull(notTruncated.getAttribute(ArexConstants.BODY_TRUNCATED));
+    }
+}
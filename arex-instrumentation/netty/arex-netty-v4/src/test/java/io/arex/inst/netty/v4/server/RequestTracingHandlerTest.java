@@ -1,6 +1,7 @@
 package io.arex.inst.netty.v4.server;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.model.Mocker.Target;
 import io.arex.agent.bootstrap.util.Assert;
 import io.arex.inst.runtime.config.Config;
@@ -8,17 +9,23 @@ import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.context.RecordLimiter;
 import io.arex.inst.runtime.listener.CaseEventDispatcher;
 import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.netty.v4.common.AttributeKey;
+import io.arex.inst.netty.v4.common.BodyCapture;
 import io.arex.inst.netty.v4.common.NettyHelper;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.EmptyByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.*;
 import io.netty.util.Attribute;
+import io.netty.util.CharsetUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -27,8 +34,10 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -77,6 +86,23 @@ class RequestTracingHandlerTest {
         verify(ctx, atLeastOnce()).fireChannelRead(any());
     }
 
+    @Test
+    void channelInactive() throws Exception {
+        Channel channel = Mockito.mock(Channel.class);
+        Attribute bodyAttribute = Mockito.mock(Attribute.class);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        Mockito.when(channel.attr(any())).thenReturn(bodyAttribute);
+        BodyCapture body = new BodyCapture(UnpooledByteBufAllocator.DEFAULT);
+        ByteBuf content = Unpooled.copiedBuffer("mock", CharsetUtil.UTF_8);
+        body.append(content);
+        assertEquals(2, content.refCnt());
+        Mockito.when(bodyAttribute.getAndSet(null)).thenReturn(body, (Object) null);
+
+        target.channelInactive(ctx);
+        assertEquals(1, content.refCnt());
+        verify(ctx).fireChannelInactive();
+    }
+
     static Stream<Arguments> channelReadCase() {
         Runnable mocker1 = () -> {
             Mockito.when(headers.get(ArexConstants.RECORD_ID)).thenReturn("mock");
@@ -102,11 +128,13 @@ class RequestTracingHandlerTest {
         };
         Channel channel = Mockito.mock(Channel.class);
         Attribute attribute = Mockito.mock(Attribute.class);
+        Attribute bodyAttribute = Mockito.mock(Attribute.class);
         ArexMocker mocker = new ArexMocker();
         Runnable mocker6 = () -> {
             Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ctx.channel()).thenReturn(channel);
-            Mockito.when(channel.attr(any())).thenReturn(attribute);
+            Mockito.when(channel.attr(any())).thenReturn(bodyAttribute);
+            Mockito.when(channel.attr(AttributeKey.TRACING_MOCKER)).thenReturn(attribute);
             Mockito.when(MockUtils.createNettyProvider(any())).thenReturn(mocker);
         };
 
@@ -122,7 +150,8 @@ class RequestTracingHandlerTest {
             Mockito.when(httpContent.content()).thenReturn(UnpooledByteBufAllocator.DEFAULT.buffer().writeBytes("mock".getBytes()));
         };
         Runnable mocker9 = () -> {
-            mocker.getTargetRequest().setBody("mock");
+            BodyCapture requestBody = new BodyCapture(UnpooledByteBufAllocator.DEFAULT);
+            Mockito.when(bodyAttribute.get()).thenReturn(requestBody);
         };
 
         return Stream.of(
@@ -150,9 +179,11 @@ class RequestTracingHandlerTest {
     static Stream<Arguments> channelReadCompleteCase() {
         Channel channel = Mockito.mock(Channel.class);
         Attribute attribute = Mockito.mock(Attribute.class);
+        Attribute bodyAttribute = Mockito.mock(Attribute.class);
         Runnable mocker1 = () -> {
             Mockito.when(ctx.channel()).thenReturn(channel);
-            Mockito.when(channel.attr(any())).thenReturn(attribute);
+            Mockito.when(channel.attr(any())).thenReturn(bodyAttribute);
+            Mockito.when(channel.attr(AttributeKey.TRACING_MOCKER)).thenReturn(attribute);
         };
 
         ArexMocker mocker = new ArexMocker();
@@ -161,6 +192,12 @@ class RequestTracingHandlerTest {
             mocker.setTargetResponse(new Target());
             Mockito.when(attribute.getAndSet(null)).thenReturn(mocker);
             Mockito.when(ContextManager.needReplay()).thenReturn(true);
+            CompletableFuture<Mocker> replayFuture = new CompletableFuture<>();
+            replayFuture.completeExceptionally(new RuntimeException("mock"));
+            Mockito.when(MockUtils.replayMockerAsync(any())).thenReturn(replayFuture);
+            BodyCapture requestBody = new BodyCapture(UnpooledByteBufAllocator.DEFAULT);
+            requestBody.append(Unpooled.copiedBuffer("mock", CharsetUtil.UTF_8));
+            Mockito.when(bodyAttribute.getAndSet(null)).thenReturn(requestBody);
         };
         Runnable mocker3 = () -> {
             Mockito.when(ContextManager.needReplay()).thenReturn(false);
@@ -173,10 +210,14 @@ class RequestTracingHandlerTest {
         Assert asserts2 = () -> {
             mockCaseEvent.verify(() -> CaseEventDispatcher.onEvent(any()), atLeastOnce());
         };
+        Assert asserts3 = () -> {
+            mockCaseEvent.verify(() -> CaseEventDispatcher.onEvent(any()), atLeastOnce());
+            assertEquals("mock", mocker.getTargetRequest().getBody());
+        };
 
         return Stream.of(
                 arguments(mocker1, asserts1),
-                arguments(mocker2, asserts2),
+                arguments(mocker2, asserts3),
                 arguments(mocker3, asserts2)
         );
     }
@@ -30,147 +30,234 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public String set(String key, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.set(key, value);
+        }
         return this.call("set", key, () -> super.set(key, value), null);
     }
 
     @Override
     public String set(String key, String value, String expx, long time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.set(key, value, expx, time);
+        }
         return this.call("set", key, () -> super.set(key, value, expx, time), null);
     }
 
     @Override
     public String set(String key, String value, String nxxx, String expx, long time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.set(key, value, nxxx, expx, time);
+        }
         return this.call("set", key, () -> super.set(key, value, nxxx, expx, time), null);
     }
 
     @Override
     public String get(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.get(key);
+        }
         return call("get", key, () -> super.get(key), null);
     }
 
     @Override
     public Long exists(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.exists(keys);
+        }
         return call("exists", RedisKeyUtil.generate(keys), () -> super.exists(keys), 0L);
     }
 
     @Override
     public Boolean exists(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.exists(key);
+        }
         return call("exists", key, () -> super.exists(key), false);
     }
 
     @Override
     public Long del(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.del(keys);
+        }
         return call("del", RedisKeyUtil.generate(keys), () -> super.del(keys), 0L);
     }
 
     @Override
     public Long del(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.del(key);
+        }
         return call("del", key, () -> super.del(key), 0L);
     }
 
     @Override
     public String type(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.type(key);
+        }
         return call("type", key, () -> super.type(key), "none");
     }
 
     @Override
     public Set<String> keys(String pattern) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.keys(pattern);
+        }
         return call("keys", pattern, () -> super.keys(pattern), Collections.EMPTY_SET);
     }
 
     @Override
     public Long expire(String key, int seconds) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expire(key, seconds);
+        }
         return call("expire", key, () -> super.expire(key, seconds), 0L);
     }
 
     @Override
     public Long expire(byte[] key, int seconds) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expire(key, seconds);
+        }
         return call("expire", Base64.getEncoder().encodeToString(key), () -> super.expire(key, seconds), 0L);
     }
 
     @Override
     public Long expireAt(String key, long unixTime) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAt(key, unixTime);
+        }
         return call("expireAt", key, () -> super.expireAt(key, unixTime), 0L);
     }
 
     @Override
     public Long ttl(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.ttl(key);
+        }
         return call("ttl", key, () -> super.ttl(key), -1L);
     }
 
     @Override
     public String getSet(String key, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getSet(key, value);
+        }
         return call("getSet", key, () -> super.getSet(key, value), null);
     }
 
     @Override
     public List<String> mget(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.mget(keys);
+        }
         return call("mget", RedisKeyUtil.generate(keys), () -> super.mget(keys), Collections.EMPTY_LIST);
     }
 
     @Override
     public Long setnx(String key, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setnx(key, value);
+        }
         return call("setnx", key, () -> super.setnx(key, value), 0L);
     }
 
     @Override
     public String setex(String key, int seconds, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setex(key, seconds, value);
+        }
         return call("setex", key, () -> super.setex(key, seconds, value), null);
     }
 
     @Override
     public String mset(String... keysvalues) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.mset(keysvalues);
+        }
         return call("mset", keysvalues, () -> super.mset(keysvalues), null);
     }
 
     @Override
     public Long msetnx(String... keysvalues) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.msetnx(keysvalues);
+        }
         return call("msetnx", keysvalues, () -> super.msetnx(keysvalues), 0L);
     }
 
     @Override
     public Long decrBy(String key, long integer) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.decrBy(key, integer);
+        }
         return call("decrBy", key, () -> super.decrBy(key, integer), 0L);
     }
 
     @Override
     public Long decr(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.decr(key);
+        }
         return call("decr", key, () -> super.decr(key), 0L);
     }
 
     @Override
     public Long incrBy(String key, long integer) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.incrBy(key, integer);
+        }
         return call("incrBy", key, () -> super.incrBy(key, integer), 0L);
     }
 
     @Override
     public Double incrByFloat(String key, double value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.incrByFloat(key, value);
+        }
         return call("incrByFloat", key, () -> super.incrByFloat(key, value), 0d);
     }
 
     @Override
     public Long incr(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.incr(key);
+        }
         return call("incr", key, () -> super.incr(key), 0L);
     }
 
     @Override
     public Long append(String key, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.append(key, value);
+        }
         return call("append", key, () -> super.append(key, value), 0L);
     }
 
     @Override
     public Long append(byte[] key, byte[] value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.append(key, value);
+        }
         return call("append", Base64.getEncoder().encodeToString(key), () -> super.append(key, value), 0L);
     }
 
     @Override
     public String substr(String key, int start, int end) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.substr(key, start, end);
+        }
         return call("substr", key, RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
                 () -> super.substr(key, start, end), null);
     }
 
     @Override
     public byte[] substr(byte[] key, int start, int end) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.substr(key, start, end);
+        }
         return call("substr", Base64.getEncoder().encodeToString(key),
             RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
             () -> super.substr(key, start, end), null);
@@ -178,11 +265,17 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Long hset(String key, String field, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hset(key, field, value);
+        }
         return call("hset", key, field, () -> super.hset(key, field, value), 0L);
     }
 
     @Override
     public Long hset(byte[] key, byte[] field, byte[] value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hset(key, field, value);
+        }
         return call("hset",
             Base64.getEncoder().encodeToString(key), Base64.getEncoder().encodeToString(field),
             () -> super.hset(key, field, value), 0L);
@@ -190,22 +283,34 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Long hset(byte[] key, Map<byte[], byte[]> hash) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hset(key, hash);
+        }
         return call("hset", Base64.getEncoder().encodeToString(key),
             Serializer.serialize(hash.keySet()), () -> super.hset(key, hash), 0L);
     }
 
     @Override
     public Long hset(final String key, final Map<String, String> hash) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hset(key, hash);
+        }
         return call("hset", key, Serializer.serialize(hash.keySet()), () -> super.hset(key, hash), 0L);
     }
 
     @Override
     public String hget(String key, String field) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hget(key, field);
+        }
         return call("hget", key, field, () -> super.hget(key, field), null);
     }
 
     @Override
     public byte[] hget(byte[] key, byte[] field) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hget(key, field);
+        }
         return call("hget",
             Base64.getEncoder().encodeToString(key), Base64.getEncoder().encodeToString(field),
             () -> super.hget(key, field), null);
@@ -213,180 +318,282 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Long hsetnx(String key, String field, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hsetnx(key, field, value);
+        }
         return call("hsetnx", key, field, () -> super.hsetnx(key, field, value), 0L);
     }
 
     @Override
     public String hmset(String key, Map<String, String> hash) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hmset(key, hash);
+        }
         return call("hmset", key, Serializer.serialize(hash.keySet()), () -> super.hmset(key, hash),
                 null);
     }
 
     @Override
     public List<String> hmget(String key, String... fields) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hmget(key, fields);
+        }
         return call("hmget", key, RedisKeyUtil.generate(fields), () -> super.hmget(key, fields),
                 Collections.EMPTY_LIST);
     }
 
     @Override
     public Long hincrBy(String key, String field, long value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hincrBy(key, field, value);
+        }
         return call("hincrBy", key, field, () -> super.hincrBy(key, field, value), 0L);
     }
 
     @Override
     public Double hincrByFloat(String key, String field, double value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hincrByFloat(key, field, value);
+        }
         return call("hincrByFloat", key, field, () -> super.hincrByFloat(key, field, value), 0d);
     }
 
     @Override
     public Boolean hexists(String key, String field) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hexists(key, field);
+        }
         return call("hexists", key, field, () -> super.hexists(key, field), false);
     }
 
     @Override
     public Long hdel(String key, String... fields) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hdel(key, fields);
+        }
         return call("hdel", key, RedisKeyUtil.generate(fields), () -> super.hdel(key, fields), 0L);
     }
 
     @Override
     public Long hdel(byte[] key, byte[]... fields) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hdel(key, fields);
+        }
         return call("hdel", Base64.getEncoder().encodeToString(key), RedisKeyUtil.generate(fields), () -> super.hdel(key, fields), 0L);
     }
 
     @Override
     public Long hlen(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hlen(key);
+        }
         return call("hlen", key, () -> super.hlen(key), 0L);
     }
 
     @Override
     public Set<String> hkeys(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hkeys(key);
+        }
         return call("hkeys", key, () -> super.hkeys(key), Collections.EMPTY_SET);
     }
 
     @Override
     public List<String> hvals(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hvals(key);
+        }
         return call("hvals", key, () -> super.hvals(key), Collections.EMPTY_LIST);
     }
 
     @Override
     public List<byte[]> hvals(byte[] key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hvals(key);
+        }
         return call("hvals", Base64.getEncoder().encodeToString(key), () -> super.hvals(key), Collections.EMPTY_LIST);
     }
 
     @Override
     public Map<String, String> hgetAll(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hgetAll(key);
+        }
         return call("hgetAll", key, () -> super.hgetAll(key), Collections.EMPTY_MAP);
     }
 
     @Override
     public Map<byte[], byte[]> hgetAll(byte[] key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.hgetAll(key);
+        }
         return call("hgetAll", Base64.getEncoder().encodeToString(key), () -> super.hgetAll(key), Collections.EMPTY_MAP);
     }
 
     @Override
     public Long llen(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.llen(key);
+        }
         return call("llen", key, () -> super.llen(key), 0L);
     }
 
     @Override
     public List<String> lrange(String key, long start, long end) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.lrange(key, start, end);
+        }
         return call("lrange", key, RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
                 () -> super.lrange(key, start, end), Collections.EMPTY_LIST);
     }
 
     @Override
     public String ltrim(String key, long start, long end) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.ltrim(key, start, end);
+        }
         return call("ltrim", key, RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
                 () -> super.ltrim(key, start, end), null);
     }
 
     @Override
     public String lindex(String key, long index) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.lindex(key, index);
+        }
         return call("lindex", key, RedisKeyUtil.generate("index", String.valueOf(index)),
                 () -> super.lindex(key, index), null);
     }
 
     @Override
     public String lset(String key, long index, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.lset(key, index, value);
+        }
         return call("lset", key, RedisKeyUtil.generate("index", String.valueOf(index)),
                 () -> super.lset(key, index, value), null);
     }
 
     @Override
     public String lpop(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.lpop(key);
+        }
         return call("lpop", key, () -> super.lpop(key), null);
     }
 
     @Override
     public String rpop(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.rpop(key);
+        }
         return call("rpop", key, () -> super.rpop(key), null);
     }
 
     @Override
     public String spop(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.spop(key);
+        }
         return call("spop", key, () -> super.spop(key), null);
     }
 
     @Override
     public Set<String> spop(String key, long count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.spop(key, count);
+        }
         return call("spop", RedisKeyUtil.generate(key, String.valueOf(count)), () -> super.spop(key, count),
                 Collections.EMPTY_SET);
     }
 
     @Override
     public Long scard(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.scard(key);
+        }
         return call("scard", key, () -> super.scard(key), 0L);
     }
 
     @Override
     public Set<String> sinter(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sinter(keys);
+        }
         return call("sinter", RedisKeyUtil.generate(keys), () -> super.sinter(keys), Collections.EMPTY_SET);
     }
 
     @Override
     public Set<String> sunion(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sunion(keys);
+        }
         return call("sunion", RedisKeyUtil.generate(keys), () -> super.sunion(keys), Collections.EMPTY_SET);
     }
 
     @Override
     public Set<String> sdiff(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sdiff(keys);
+        }
         return call("sdiff", RedisKeyUtil.generate(keys), () -> super.sdiff(keys), Collections.EMPTY_SET);
     }
 
     @Override
     public String srandmember(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.srandmember(key);
+        }
         return call("srandmember", key, () -> super.srandmember(key), null);
     }
 
     @Override
     public List<String> srandmember(String key, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.srandmember(key, count);
+        }
         return call("srandmember", key, RedisKeyUtil.generate("count", String.valueOf(count)),
                 () -> super.srandmember(key, count), Collections.EMPTY_LIST);
     }
 
     @Override
     public Long zcard(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.zcard(key);
+        }
         return call("zcard", key, () -> super.zcard(key), 0L);
     }
 
     @Override
     public Long strlen(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.strlen(key);
+        }
         return call("strlen", key, () -> super.strlen(key), 0L);
     }
 
     @Override
     public Long persist(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.persist(key);
+        }
         return call("persist", key, () -> super.persist(key), 0L);
     }
 
     @Override
     public Long setrange(String key, long offset, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setrange(key, offset, value);
+        }
         return call("setrange", key, RedisKeyUtil.generate("offset", String.valueOf(offset)),
                 () -> super.setrange(key, offset, value), 0L);
     }
 
     @Override
     public String getrange(String key, long startOffset, long endOffset) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getrange(key, startOffset, endOffset);
+        }
         return call("getrange", key, RedisKeyUtil.generate(
                         RedisKeyUtil.generate("startOffset", String.valueOf(startOffset), "endOffset", String.valueOf(endOffset))),
                 () -> super.getrange(key, startOffset, endOffset), null);
@@ -394,132 +601,210 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Long pexpire(String key, long milliseconds) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.pexpire(key, milliseconds);
+        }
         return call("pexpire", key, () -> super.pexpire(key, milliseconds), 0L);
     }
 
     @Override
     public Long pexpireAt(String key, long millisecondsTimestamp) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.pexpireAt(key, millisecondsTimestamp);
+        }
         return call("pexpireAt", key, () -> super.pexpireAt(key, millisecondsTimestamp), 0L);
     }
 
     @Override
     public Long pttl(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.pttl(key);
+        }
         return call("pttl", key, () -> super.pttl(key), 0L);
     }
 
     @Override
     public String psetex(String key, long milliseconds, String value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.psetex(key, milliseconds, value);
+        }
         return call("psetex", key, value, () -> super.psetex(key, milliseconds, value), null);
     }
 
     @Override
     public String set(final byte[] key, final byte[] value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.set(key, value);
+        }
         return call("set", Base64.getEncoder().encodeToString(key), () -> super.set(key, value), null);
     }
 
     @Override
     public String set(byte[] key, byte[] value, byte[] nxxx, byte[] expx, long time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.set(key, value, nxxx, expx, time);
+        }
         return call("set", Base64.getEncoder().encodeToString(key), () -> super.set(key, value, nxxx, expx, time), null);
     }
 
     @Override
     public String set(byte[] key, byte[] value, byte[] expx, long time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.set(key, value, expx, time);
+        }
         return call("set", Base64.getEncoder().encodeToString(key), () -> super.set(key, value, expx, time), null);
     }
 
     @Override
     public byte[] get(final byte[] key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.get(key);
+        }
         return call("get", Base64.getEncoder().encodeToString(key), () -> super.get(key), null);
     }
 
     @Override
     public Long exists(final byte[]... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.exists(keys);
+        }
         return call("exists", RedisKeyUtil.generate(keys), () -> super.exists(keys), 0L);
     }
 
     @Override
     public Boolean exists(final byte[] key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.exists(key);
+        }
         return call("exists", Base64.getEncoder().encodeToString(key), () -> super.exists(key), false);
     }
 
     @Override
     public String type(final byte[] key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.type(key);
+        }
         return call("type", Base64.getEncoder().encodeToString(key), () -> super.type(key), "none");
     }
 
     @Override
     public byte[] getSet(final byte[] key, final byte[] value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getSet(key, value);
+        }
         return call("getSet", Base64.getEncoder().encodeToString(key), () -> super.getSet(key, value), null);
     }
 
     @Override
     public List<byte[]> mget(final byte[]... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.mget(keys);
+        }
         return call("mget", RedisKeyUtil.generate(keys), () -> super.mget(keys), Collections.EMPTY_LIST);
     }
 
     @Override
     public Long setnx(final byte[] key, final byte[] value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setnx(key, value);
+        }
         return call("setnx", Base64.getEncoder().encodeToString(key), () -> super.setnx(key, value), 0L);
     }
 
     @Override
     public String setex(byte[] key, int seconds, byte[] value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setex(key, seconds, value);
+        }
         return call("setex", Base64.getEncoder().encodeToString(key), () -> super.setex(key, seconds, value),
                 null);
     }
 
     @Override
     public Long unlink(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.unlink(keys);
+        }
         return call("unlink", RedisKeyUtil.generate(keys), () -> super.unlink(keys), 0L);
     }
 
     @Override
     public Long unlink(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.unlink(key);
+        }
         return call("unlink", key, () -> super.unlink(key), 0L);
     }
 
     @Override
     public Long unlink(byte[]... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.unlink(keys);
+        }
         return call("unlink", RedisKeyUtil.generate(keys), () -> super.unlink(keys), 0L);
     }
 
     @Override
     public Long unlink(byte[] key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.unlink(key);
+        }
         return call("unlink", Base64.getEncoder().encodeToString(key), () -> super.unlink(key), 0L);
     }
 
     @Override
     public String rename(byte[] oldkey, byte[] newkey) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.rename(oldkey, newkey);
+        }
         return call("rename", RedisKeyUtil.generate(oldkey, newkey), () -> super.rename(oldkey, newkey), null);
     }
 
     @Override
     public Long renamenx(byte[] oldkey, byte[] newkey) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.renamenx(oldkey, newkey);
+        }
         return call("renamenx", RedisKeyUtil.generate(oldkey, newkey), () -> super.renamenx(oldkey, newkey), 0L);
     }
 
     @Override
     public String rename(String oldkey, String newkey) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.rename(oldkey, newkey);
+        }
         return call("rename", RedisKeyUtil.generate(oldkey, newkey), () -> super.rename(oldkey, newkey), null);
     }
 
     @Override
     public Long renamenx(String oldkey, String newkey) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.renamenx(oldkey, newkey);
+        }
         return call("renamenx", RedisKeyUtil.generate(oldkey, newkey), () -> super.renamenx(oldkey, newkey), 0L);
     }
 
     @Override
     public String ping() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.ping();
+        }
         return call("ping", "", () -> super.ping(), null);
     }
 
     @Override
     public byte[] ping(byte[] message) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.ping(message);
+        }
         return call("ping", Base64.getEncoder().encodeToString(message), () -> super.ping(message), null);
     }
 
     @Override
     public String ping(String message) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.ping(message);
+        }
         return call("ping", message, () -> super.ping(message), null);
     }
 
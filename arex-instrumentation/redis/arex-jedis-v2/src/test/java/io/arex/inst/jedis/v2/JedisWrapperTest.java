@@ -5,6 +5,7 @@ import io.arex.inst.redis.common.RedisExtractor;
 import io.arex.inst.runtime.context.ContextManager;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -69,16 +70,29 @@ class JedisWrapperTest {
         }
     }
 
+    @Test
+    void callWithoutContext() {
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+        Mockito.when(client.getBulkReply()).thenReturn("mock");
+        try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class)) {
+            assertEquals("mock", target.hget("key", "field"));
+            assertTrue(mocked.constructed().isEmpty());
+        }
+    }
+
     static Stream<Arguments> callCase() {
         Runnable mocker1 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needReplay()).thenReturn(true);
         };
         Runnable mocker2 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needReplay()).thenReturn(false);
             Mockito.when(ContextManager.needRecord()).thenReturn(true);
             Mockito.when(client.getBulkReply()).thenThrow(new NullPointerException());
         };
         Runnable mocker3 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(client.getBulkReply()).thenReturn("mock");
         };
         Predicate<String> predicate1 = Objects::isNull;
@@ -0,0 +1,148 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.inst.runtime.context.ContextManager;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisSocketFactory;
+
+/**
+ * Throughput of JedisWrapper against plain Jedis when the call is neither recorded nor replayed,
+ * not run by unit test. The connection is an in-memory socket answering every command with the same reply,
+ * so only the client side is measured.
+ * run: main method, or java -cp test-classes:... org.openjdk.jmh.Main JedisWrapperBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JedisWrapperBenchmark {
+    private static final String BULK_REPLY = "$5\r\nvalue\r\n";
+    private static final String MULTI_BULK_REPLY = "*2\r\n" + BULK_REPLY + BULK_REPLY;
+
+    private Jedis jedis;
+    private Jedis wrapper;
+    private Jedis multiKeyJedis;
+    private Jedis multiKeyWrapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ContextManager.remove();
+        jedis = new Jedis(() -> new ReplySocket(BULK_REPLY), DefaultJedisClientConfig.builder().build());
+        wrapper = new JedisWrapper(() -> new ReplySocket(BULK_REPLY), DefaultJedisClientConfig.builder().build());
+        multiKeyJedis = new Jedis(() -> new ReplySocket(MULTI_BULK_REPLY), DefaultJedisClientConfig.builder().build());
+        multiKeyWrapper = new JedisWrapper(() -> new ReplySocket(MULTI_BULK_REPLY),
+            DefaultJedisClientConfig.builder().build());
+    }
+
+    @Benchmark
+    public String jedisGet() {
+        return jedis.get("key");
+    }
+
+    @Benchmark
+    public String wrapperGet() {
+        return wrapper.get("key");
+    }
+
+    @Benchmark
+    public List<String> jedisMget() {
+        return multiKeyJedis.mget("key1", "key2");
+    }
+
+    /**
+     * the key of a multi-key command is not generated when there is no context
+     */
+    @Benchmark
+    public List<String> wrapperMget() {
+        return multiKeyWrapper.mget("key1", "key2");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JedisWrapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Replies the same reply to every command, the commands written are discarded.
+     */
+    static class ReplySocket extends Socket {
+        private final byte[] reply;
+        private final InputStream input = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                byte b = reply[position];
+                position = (position + 1) % reply.length;
+                return b & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                int count = Math.min(len, reply.length - position);
+                System.arraycopy(reply, position, b, off, count);
+                position = (position + count) % reply.length;
+                return count;
+            }
+        };
+        private final OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        ReplySocket(String reply) {
+            this.reply = reply.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return input;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return output;
+        }
+
+        @Override
+        public int getSoTimeout() {
+            return 0;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean isBound() {
+            return true;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.arex.inst.redis.common.RedisExtractor;
 import io.arex.inst.runtime.context.ContextManager;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -18,6 +19,7 @@ import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -65,16 +67,29 @@ class JedisWrapperTest {
         }
     }
 
+    @Test
+    void callWithoutContext() {
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+        Mockito.when(connection.executeCommand(any(CommandObject.class))).thenReturn("mock");
+        try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class)) {
+            assertEquals("mock", target.hget("key", "field"));
+            assertTrue(mocked.constructed().isEmpty());
+        }
+    }
+
     static Stream<Arguments> callCase() {
         Runnable mocker1 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needReplay()).thenReturn(true);
         };
         Runnable mocker2 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needReplay()).thenReturn(false);
             Mockito.when(ContextManager.needRecord()).thenReturn(true);
             Mockito.when(connection.executeCommand(any(CommandObject.class))).thenThrow(new NullPointerException());
         };
         Runnable mocker3 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(connection.executeCommand(any(CommandObject.class))).thenReturn("mock");
         };
         Predicate<String> predicate1 = Objects::isNull;
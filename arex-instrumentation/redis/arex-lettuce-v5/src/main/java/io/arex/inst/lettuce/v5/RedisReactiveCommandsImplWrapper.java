@@ -1,8 +1,10 @@
 package io.arex.inst.lettuce.v5;
 
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.redis.common.RedisConnectionManager;
 import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.util.ReplayUtils;
 import io.arex.inst.redis.common.RedisExtractor;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.lettuce.core.KeyValue;
@@ -18,11 +20,13 @@ import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.RedisCommand;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -548,13 +552,17 @@ public class RedisReactiveCommandsImplWrapper<K, V> extends RedisReactiveCommand
         if (ContextManager.needReplay()) {
             RedisExtractor extractor =
                     new RedisExtractor(this.redisUri, commandSupplier.get().getType().name(), key, field);
-            MockResult mockResult = extractor.replay();
-            if (mockResult.notIgnoreMockResult()) {
+            // not block the subscriber thread, the real command is executed only if the mock result is ignored
+            return fromReplay(extractor.replayAsync()).flatMap(mockResult -> {
+                if (mockResult.isIgnoreMockResult()) {
+                    return super.createMono(commandSupplier);
+                }
                 if (mockResult.getThrowable() != null) {
                     return Mono.error(mockResult.getThrowable());
                 }
-                return Mono.just((T) mockResult.getResult());
-            }
+                // an empty reply emits no value and is not recorded, so its replay finds no mocker
+                return Mono.justOrEmpty((T) mockResult.getResult());
+            });
         }
 
         return super.createMono(commandSupplier).doOnNext(result -> {
@@ -572,6 +580,21 @@ public class RedisReactiveCommandsImplWrapper<K, V> extends RedisReactiveCommand
         });
     }
 
+    /**
+     * Emit the replay result on a reactor scheduler with the trace context of the caller, see {@link ReplayUtils}
+     */
+    static <T> Mono<T> fromReplay(CompletableFuture<T> future) {
+        TraceTransmitter transmitter = TraceTransmitter.create();
+        return Mono.create(sink -> ReplayUtils.whenReplayed(future, transmitter,
+            task -> Schedulers.parallel().schedule(task), (result, throwable) -> {
+                if (throwable != null) {
+                    sink.error(throwable);
+                } else {
+                    sink.success(result);
+                }
+            }));
+    }
+
     public <T, R> Flux<R> createDissolvingFlux(Supplier<RedisCommand<K, V, T>> commandSupplier, String key) {
         return createDissolvingFlux(commandSupplier, key, null);
     }
@@ -586,13 +609,15 @@ public class RedisReactiveCommandsImplWrapper<K, V> extends RedisReactiveCommand
         if (ContextManager.needReplay()) {
             RedisExtractor extractor =
                 new RedisExtractor(this.redisUri, commandSupplier.get().getType().name(), key, field);
-            MockResult mockResult = extractor.replay();
-            if (mockResult.notIgnoreMockResult()) {
+            return fromReplay(extractor.replayAsync()).flatMapMany(mockResult -> {
+                if (mockResult.isIgnoreMockResult()) {
+                    return (Flux<R>) createDissolvingFlux(commandSupplier);
+                }
                 if (mockResult.getThrowable() != null) {
                     return Flux.error(mockResult.getThrowable());
                 }
-                return Flux.just((R) mockResult.getResult());
-            }
+                return Mono.justOrEmpty((R) mockResult.getResult());
+            });
         }
 
         return (Flux<R>) createDissolvingFlux(commandSupplier).doOnNext(result -> {
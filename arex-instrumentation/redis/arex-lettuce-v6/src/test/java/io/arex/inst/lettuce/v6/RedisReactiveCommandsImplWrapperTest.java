@@ -17,6 +17,7 @@ import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.ProtocolKeyword;
 import io.lettuce.core.resource.ClientResources;
 import io.lettuce.core.tracing.Tracing;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -78,7 +79,7 @@ class RedisReactiveCommandsImplWrapperTest {
         mocker.run();
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class, (extractor, context) -> {
             System.out.println("mock RedisExtractor");
-            Mockito.when(extractor.replay()).thenReturn(mockResult);
+            Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
         })) {
             Mono<?> result = target.createMono(() -> cmd,  "key", "field");
             assertTrue(predicate.test(result));
@@ -119,7 +120,7 @@ class RedisReactiveCommandsImplWrapperTest {
         mocker.run();
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class, (extractor, context) -> {
             System.out.println("mock RedisExtractor");
-            Mockito.when(extractor.replay()).thenReturn(mockResult);
+            Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
         })) {
             Flux<?> result = target.createDissolvingFlux(() -> cmd,  "key", "field");
             assertTrue(predicate.test(result));
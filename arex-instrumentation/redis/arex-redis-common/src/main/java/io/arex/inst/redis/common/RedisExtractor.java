@@ -3,15 +3,35 @@ package io.arex.inst.redis.common;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
 
+import io.arex.inst.runtime.context.ArexContext;
+import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.model.RepeatCounter;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
 import io.arex.inst.runtime.util.TypeUtil;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class RedisExtractor {
     private static final String SPECIAL_CLASS_NAME = "redis.clients.jedis.BinaryJedis$SetFromList";
+    /**
+     * read-only commands whose repeated calls can be collapsed, the request body does not contain the written
+     * value of a write command, so repeated writes are always recorded one by one
+     */
+    private static final Set<String> READ_COMMANDS = new HashSet<>(Arrays.asList(
+        "get", "mget", "getrange", "strlen", "getbit", "bitcount", "exists", "type", "ttl", "pttl",
+        "hget", "hmget", "hgetall", "hkeys", "hvals", "hlen", "hexists", "hstrlen",
+        "llen", "lrange", "lindex", "scard", "smembers", "sismember",
+        "zcard", "zcount", "zscore", "zrank", "zrevrank", "zrange", "zrevrange", "zrangebyscore", "zrevrangebyscore"));
 
     private final String clusterName;
     private final String command;
@@ -61,25 +81,128 @@ public class RedisExtractor {
         return typeName;
     }
 
+    /**
+     * Consecutive identical calls of the case (same cluster, command, key and field, and the same result as
+     * the previous call) are collapsed into the mocker of the first call, counted by its repeat attribute.
+     * A call with another result starts a new mocker, so the replay serves the results in recorded order.
+     * Only the calls of {@link #READ_COMMANDS} are collapsed.
+     */
     public void record(Object response) {
-        MockUtils.recordMocker(makeMocker(response));
+        Mocker mocker = makeMocker(response);
+        ArexContext context = ContextManager.currentContext();
+        if (context == null || !isReadCommand(command)) {
+            MockUtils.recordMocker(mocker);
+            return;
+        }
+        int callHash = Objects.hash(clusterName, command, key, field);
+        int resultHash = Objects.hashCode(mocker.getTargetResponse().getBody());
+        Map<Integer, RepeatCounter> repeatCounterMap = context.getRepeatCounterMap();
+        RepeatCounter repeatCounter = repeatCounterMap.get(callHash);
+        if (repeatCounter != null && repeatCounter.getSignature() == resultHash && repeatCounter.increment()) {
+            return;
+        }
+        repeatCounter = new RepeatCounter(resultHash);
+        mocker.getTargetResponse().setAttribute(ArexConstants.REPEAT_COUNT, repeatCounter);
+        repeatCounterMap.put(callHash, repeatCounter);
+        MockUtils.recordMocker(mocker);
+    }
+
+    static boolean isReadCommand(String command) {
+        return command != null && READ_COMMANDS.contains(command.toLowerCase(Locale.ROOT));
     }
 
     public MockResult replay() {
         boolean ignoreResult = IgnoreUtils.ignoreMockResult(clusterName, command);
-        Object replayBody = MockUtils.replayBody(makeMocker(null));
-        return MockResult.success(ignoreResult, replayBody);
+        ArexContext context = ContextManager.currentContext();
+        Mocker replayMocker = pollRepeatedMocker(context);
+        if (replayMocker == null) {
+            replayMocker = cacheRepeatedMocker(context, MockUtils.replayMocker(makeMocker(null)));
+        }
+        return MockResult.success(ignoreResult, parseReplayBody(replayMocker));
+    }
+
+    /**
+     * Replay without blocking the caller, for reactive clients
+     */
+    public CompletableFuture<MockResult> replayAsync() {
+        boolean ignoreResult = IgnoreUtils.ignoreMockResult(clusterName, command);
+        ArexContext context = ContextManager.currentContext();
+        Mocker repeatedMocker = pollRepeatedMocker(context);
+        CompletableFuture<Mocker> replayMocker = repeatedMocker != null ?
+            CompletableFuture.completedFuture(repeatedMocker) :
+            MockUtils.replayMockerAsync(makeMocker(null)).thenApply(mocker -> cacheRepeatedMocker(context, mocker));
+        return replayMocker.thenApply(mocker -> MockResult.success(ignoreResult, parseReplayBody(mocker)));
+    }
+
+    /**
+     * @return the recorded mocker of a collapsed call if it still stands for more identical calls
+     */
+    private Mocker pollRepeatedMocker(ArexContext context) {
+        if (context == null) {
+            return null;
+        }
+        String cacheKey = replayCacheKey();
+        Object cached = context.getCachedReplayResultMap().get(cacheKey);
+        if (!(cached instanceof RepeatedMocker)) {
+            return null;
+        }
+        RepeatedMocker repeatedMocker = (RepeatedMocker) cached;
+        int remaining = repeatedMocker.remaining.decrementAndGet();
+        if (remaining <= 0) {
+            context.getCachedReplayResultMap().remove(cacheKey, cached);
+        }
+        return remaining >= 0 ? repeatedMocker.mocker : null;
+    }
+
+    private Mocker cacheRepeatedMocker(ArexContext context, Mocker replayMocker) {
+        if (context == null || replayMocker == null) {
+            return replayMocker;
+        }
+        int repeat = RepeatCounter.repeatCount(replayMocker);
+        if (repeat > 1) {
+            context.getCachedReplayResultMap().put(replayCacheKey(), new RepeatedMocker(replayMocker, repeat - 1));
+        }
+        return replayMocker;
+    }
+
+    private String replayCacheKey() {
+        return "redis_" + clusterName + "_" + command + "_" + key + "_" + field;
+    }
+
+    private static Object parseReplayBody(Mocker replayMocker) {
+        if (!MockUtils.checkResponseMocker(replayMocker)) {
+            return null;
+        }
+        // deserialized per call, the caller may modify the result
+        return Serializer.deserialize(replayMocker.getTargetResponse().getBody(),
+            replayMocker.getTargetResponse().getType());
     }
 
     private Mocker makeMocker(Object response) {
         Mocker mocker = MockUtils.createRedis(this.command);
         mocker.getTargetRequest().setBody(Serializer.serialize(new RedisMultiKey(key, field)));
         mocker.getTargetRequest().setAttribute("clusterName", this.clusterName);
-        mocker.getTargetResponse().setBody(Serializer.serialize(response));
+        String body = Serializer.serialize(response);
+        // nested collections are joined by the separator, not a single json value
+        if (TypeUtil.toNestedCollection(response) == null) {
+            mocker.getTargetResponse().setJsonBody(body);
+        } else {
+            mocker.getTargetResponse().setBody(body);
+        }
         mocker.getTargetResponse().setType(normalizeTypeName(response));
         return mocker;
     }
 
+    static class RepeatedMocker {
+        private final Mocker mocker;
+        private final AtomicInteger remaining;
+
+        RepeatedMocker(Mocker mocker, int remaining) {
+            this.mocker = mocker;
+            this.remaining = new AtomicInteger(remaining);
+        }
+    }
+
     static class RedisCluster {
         private static final ConcurrentHashMap<String, String> REDIS_CLUSTER_CACHE = new ConcurrentHashMap<>(5);
         private static final AtomicInteger sequence = new AtomicInteger();
@@ -1,7 +1,13 @@
 package io.arex.inst.redis.common;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker.Target;
+import io.arex.inst.runtime.context.ArexContext;
+import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.model.RepeatCounter;
+import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
 import org.junit.jupiter.api.AfterAll;
@@ -13,9 +19,14 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,9 +72,114 @@ class RedisExtractorTest {
             mocker.setTargetRequest(new Target());
             mocker.setTargetResponse(new Target());
             mockService.when(() -> MockUtils.createRedis(any())).thenReturn(mocker);
-            mockService.when(() -> MockUtils.replayBody(any())).thenReturn(mocker);
+            mockService.when(() -> MockUtils.replayMocker(any())).thenReturn(mocker);
 
             assertNotNull(target.replay());
+
+            mockService.when(() -> MockUtils.replayMockerAsync(any())).thenReturn(CompletableFuture.completedFuture(mocker));
+            MockResult mockResult = target.replayAsync().join();
+            assertNull(mockResult.getResult());
+            assertTrue(mockResult.isIgnoreMockResult());
+        }
+    }
+
+    @Test
+    void recordRepeated() {
+        try (MockedStatic<MockUtils> mockService = mockStatic(MockUtils.class);
+            MockedStatic<ContextManager> contextManager = mockStatic(ContextManager.class);
+            MockedStatic<Serializer> serializer = mockStatic(Serializer.class)) {
+            serializer.when(() -> Serializer.serialize(any())).thenAnswer(invocation -> String.valueOf(invocation.getArguments()[0]));
+            ArexContext context = ArexContext.of("record-id");
+            contextManager.when(ContextManager::currentContext).thenReturn(context);
+            mockService.when(() -> MockUtils.createRedis(any())).thenAnswer(invocation -> {
+                ArexMocker mocker = new ArexMocker();
+                mocker.setTargetRequest(new Target());
+                mocker.setTargetResponse(new Target());
+                return mocker;
+            });
+            List<ArexMocker> recorded = new ArrayList<>();
+            mockService.when(() -> MockUtils.recordMocker(any())).then(invocation -> {
+                recorded.add(invocation.getArgument(0));
+                return null;
+            });
+
+            RedisExtractor extractor = new RedisExtractor("url", "get", "key", null);
+            extractor.record("value");
+            extractor.record("value");
+            extractor.record("value");
+            mockService.verify(() -> MockUtils.recordMocker(any()), times(1));
+            // another result is recorded
+            extractor.record("other");
+            mockService.verify(() -> MockUtils.recordMocker(any()), times(2));
+            // not consecutive, recorded again so that the replay keeps the order
+            extractor.record("value");
+            mockService.verify(() -> MockUtils.recordMocker(any()), times(3));
+            // another key is counted separately
+            new RedisExtractor("url", "get", "key2", null).record("value");
+            extractor.record("value");
+            mockService.verify(() -> MockUtils.recordMocker(any()), times(4));
+
+            // sealed by the collector, the next identical call starts a new mocker
+            RepeatCounter.seal(recorded.get(0));
+            assertEquals(3, recorded.get(0).getTargetResponse().getAttribute(ArexConstants.REPEAT_COUNT));
+            RepeatCounter.seal(recorded.get(1));
+            assertNull(recorded.get(1).getTargetResponse().getAttribute(ArexConstants.REPEAT_COUNT));
+            RepeatCounter.seal(recorded.get(2));
+            assertEquals(2, recorded.get(2).getTargetResponse().getAttribute(ArexConstants.REPEAT_COUNT));
+            assertEquals(2, RepeatCounter.repeatCount(recorded.get(2)));
+            extractor.record("value");
+            mockService.verify(() -> MockUtils.recordMocker(any()), times(5));
+
+            // write commands are never collapsed, the request body does not contain the written value
+            recorded.clear();
+            RedisExtractor setExtractor = new RedisExtractor("url", "set", "key", null);
+            setExtractor.record("OK");
+            setExtractor.record("OK");
+            assertEquals(2, recorded.size());
+            assertNull(recorded.get(0).getTargetResponse().getAttribute(ArexConstants.REPEAT_COUNT));
+            // lettuce passes the command type name
+            RedisExtractor lettuceGet = new RedisExtractor("url", "GET", "key3", null);
+            lettuceGet.record("value");
+            lettuceGet.record("value");
+            assertEquals(3, recorded.size());
+        }
+    }
+
+    @Test
+    void isReadCommand() {
+        assertTrue(RedisExtractor.isReadCommand("hget"));
+        assertTrue(RedisExtractor.isReadCommand("HGETALL"));
+        assertFalse(RedisExtractor.isReadCommand("set"));
+        assertFalse(RedisExtractor.isReadCommand("incr"));
+        assertFalse(RedisExtractor.isReadCommand(null));
+    }
+
+    @Test
+    void replayRepeated() {
+        try (MockedStatic<MockUtils> mockService = mockStatic(MockUtils.class);
+            MockedStatic<ContextManager> contextManager = mockStatic(ContextManager.class)) {
+            contextManager.when(ContextManager::currentContext).thenReturn(ArexContext.of("record-id", "replay-id"));
+            mockService.when(() -> MockUtils.createRedis(any())).thenAnswer(invocation -> {
+                ArexMocker mocker = new ArexMocker();
+                mocker.setTargetRequest(new Target());
+                mocker.setTargetResponse(new Target());
+                return mocker;
+            });
+            ArexMocker mocker = new ArexMocker();
+            mocker.setTargetResponse(new Target());
+            mocker.getTargetResponse().setAttribute(ArexConstants.REPEAT_COUNT, 3);
+            mockService.when(() -> MockUtils.replayMocker(any())).thenReturn(mocker);
+            mockService.when(() -> MockUtils.replayMockerAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            RedisExtractor extractor = new RedisExtractor("url", "get", "key", null);
+            extractor.replay();
+            extractor.replayAsync().join();
+            extractor.replay();
+            mockService.verify(() -> MockUtils.replayMocker(any()), times(1));
+            mockService.verify(() -> MockUtils.replayMockerAsync(any()), times(0));
+            // served the recorded 3 times, then query the next mocker
+            extractor.replayAsync().join();
+            mockService.verify(() -> MockUtils.replayMockerAsync(any()), times(1));
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package io.arex.inst.redisson.v3.wrapper;
 
+import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
@@ -33,18 +34,27 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<Boolean> compareAndSetAsync(V expect, V update) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.compareAndSetAsync(expect, update);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "compareAndSet", getRawName(),
             () -> super.compareAndSetAsync(expect, update));
     }
 
     @Override
     public RFuture<V> getAndSetAsync(V newValue) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAndSetAsync(newValue);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.GETSET.getName(), getRawName(),
             () -> super.getAndSetAsync(newValue));
     }
 
     @Override
     public RFuture<V> getAndExpireAsync(Instant time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAndExpireAsync(time);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.GETEX.getName(), "PXAT"), getRawName(),
             () -> super.getAndExpireAsync(time));
@@ -52,12 +62,18 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<V> getAndExpireAsync(Duration duration) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAndExpireAsync(duration);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate(RedisCommands.GETEX.getName(), "PX"),
             getRawName(), () -> super.getAndExpireAsync(duration));
     }
 
     @Override
     public RFuture<V> getAndClearExpireAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAndClearExpireAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.GETEX.getName(), "PERSIST"), getRawName(),
             () -> super.getAndClearExpireAsync());
@@ -65,42 +81,63 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<V> getAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.GET.getName(), getRawName(),
             () -> super.getAsync());
     }
 
     @Override
     public RFuture<V> getAndDeleteAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAndDeleteAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "getAndDelete", getRawName(),
             () -> super.getAndDeleteAsync());
     }
 
     @Override
     public RFuture<Long> sizeAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sizeAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.STRLEN.getName(), getRawName(),
             () -> super.sizeAsync());
     }
 
     @Override
     public RFuture<Void> setAsync(V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setAsync(value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SET.getName(), getRawName(),
             () -> super.setAsync(value));
     }
 
     @Override
     public RFuture<Void> setAsync(V value, long timeToLive, TimeUnit timeUnit) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setAsync(value, timeToLive, timeUnit);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PSETEX.getName(), getRawName(),
             () -> super.setAsync(value, timeToLive, timeUnit));
     }
 
     @Override
     public RFuture<Boolean> trySetAsync(V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.trySetAsync(value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SETNX.getName(), getRawName(),
             () -> super.trySetAsync(value));
     }
 
     @Override
     public RFuture<Boolean> trySetAsync(V value, long timeToLive, TimeUnit timeUnit) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.trySetAsync(value, timeToLive, timeUnit);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.SET_BOOLEAN.getName(), "PX", "NX"), getRawName(),
             () -> super.trySetAsync(value, timeToLive, timeUnit));
@@ -108,6 +145,9 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<Boolean> setIfExistsAsync(V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setIfExistsAsync(value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.SET_BOOLEAN.getName(), "XX"), getRawName(),
             () -> super.setIfExistsAsync(value));
@@ -115,6 +155,9 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<Void> setAndKeepTTLAsync(V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setAndKeepTTLAsync(value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.SET.getName(), "KEEPTTL"), getRawName(),
             () -> super.setAndKeepTTLAsync(value));
@@ -122,6 +165,9 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<Boolean> setIfExistsAsync(V value, long timeToLive, TimeUnit timeUnit) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setIfExistsAsync(value, timeToLive, timeUnit);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.SET_BOOLEAN.getName(), "PX", "XX"), getRawName(),
             () -> super.setIfExistsAsync(value, timeToLive, timeUnit));
@@ -129,6 +175,9 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<V> getAndSetAsync(V value, long timeToLive, TimeUnit timeUnit) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAndSetAsync(value, timeToLive, timeUnit);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "getAndSet", getRawName(),
             () -> super.getAndSetAsync(value, timeToLive, timeUnit));
     }
@@ -139,30 +188,45 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAsync(timeToLive, timeUnit);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "pexpire", getRawName(),
             () -> super.expireAsync(timeToLive, timeUnit));
     }
 
     @Override
     public RFuture<Boolean> expireAtAsync(long timestamp) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAtAsync(timestamp);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "pexpireat", getRawName(),
             () -> super.expireAtAsync(timestamp));
     }
 
     @Override
     public RFuture<Boolean> expireIfSetAsync(Instant time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfSetAsync(time);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpireat", "XX"), getRawName(),
             () -> super.expireIfSetAsync(time));
     }
 
     @Override
     public RFuture<Boolean> expireIfNotSetAsync(Instant time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfNotSetAsync(time);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpireat", "NX"), getRawName(),
             () -> super.expireIfNotSetAsync(time));
     }
 
     @Override
     public RFuture<Boolean> expireIfGreaterAsync(Instant time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfGreaterAsync(time);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpireat", "GT"), getRawName(),
             () -> super.expireIfGreaterAsync(time));
     }
@@ -174,58 +238,88 @@ public class RedissonBucketWrapper<V> extends RedissonBucket<V> {
 
     @Override
     public RFuture<Boolean> expireIfLessAsync(Instant time) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfLessAsync(time);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpireat", "LT"), getRawName(),
             () -> super.expireIfLessAsync(time));
     }
 
     @Override
     public RFuture<Boolean> expireAsync(Instant instant) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAsync(instant);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "pexpire", getRawName(), () -> super.expireAsync(instant));
     }
 
     @Override
     public RFuture<Boolean> expireAsync(Duration duration) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAsync(duration);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "pexpire", getRawName(), () -> super.expireAsync(duration));
     }
 
     @Override
     public RFuture<Boolean> expireIfSetAsync(Duration duration) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfSetAsync(duration);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpire", "XX"), getRawName(),
             () -> super.expireIfSetAsync(duration));
     }
 
     @Override
     public RFuture<Boolean> expireIfNotSetAsync(Duration duration) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfNotSetAsync(duration);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpire", "NX"), getRawName(),
             () -> super.expireIfNotSetAsync(duration));
     }
 
     @Override
     public RFuture<Boolean> expireIfGreaterAsync(Duration duration) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfGreaterAsync(duration);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpire", "GT"), getRawName(),
             () -> super.expireIfGreaterAsync(duration));
     }
 
     @Override
     public RFuture<Boolean> expireIfLessAsync(Duration duration) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireIfLessAsync(duration);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("pexpire", "LT"), getRawName(),
             () -> super.expireIfLessAsync(duration));
     }
 
     @Override
     public RFuture<Boolean> clearExpireAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.clearExpireAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PERSIST.getName(), getRawName(),
             () -> super.clearExpireAsync());
     }
 
     @Override
     public RFuture<Long> remainTimeToLiveAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.remainTimeToLiveAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PTTL.getName(), getRawName(),
             () -> super.remainTimeToLiveAsync());
     }
 
     @Override
     public RFuture<Long> getExpireTimeAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getExpireTimeAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PEXPIRETIME.getName(), getRawName(),
             () -> super.getExpireTimeAsync());
     }
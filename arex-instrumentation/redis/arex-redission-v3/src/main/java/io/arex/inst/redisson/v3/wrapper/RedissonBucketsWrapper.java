@@ -1,5 +1,6 @@
 package io.arex.inst.redisson.v3.wrapper;
 
+import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
@@ -29,18 +30,27 @@ public class RedissonBucketsWrapper extends RedissonBuckets {
 
     @Override
     public <V> RFuture<Map<String, V>> getAsync(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAsync(keys);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MGET.getName(), RedisKeyUtil.generate(keys),
             () -> super.getAsync(keys));
     }
 
     @Override
     public RFuture<Boolean> trySetAsync(Map<String, ?> buckets) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.trySetAsync(buckets);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MSETNX.getName(),
             RedisKeyUtil.generate(buckets), () -> super.trySetAsync(buckets));
     }
 
     @Override
     public RFuture<Void> setAsync(Map<String, ?> buckets) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setAsync(buckets);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MSET.getName(),
             RedisKeyUtil.generate(buckets), () -> super.setAsync(buckets));
     }
@@ -1,5 +1,6 @@
 package io.arex.inst.redisson.v3.wrapper;
 
+import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
@@ -26,84 +27,126 @@ public class RedissonKeysWrapper extends RedissonKeys {
 
     @Override
     public RFuture<RType> getTypeAsync(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getTypeAsync(key);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.TYPE.getName(), key,
             () -> super.getTypeAsync(key));
     }
 
     @Override
     public RFuture<Integer> getSlotAsync(String key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getSlotAsync(key);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.KEYSLOT.getName(), key,
             () -> super.getSlotAsync(key));
     }
 
     @Override
     public RFuture<Long> touchAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.touchAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.TOUCH_LONG.getName(),
             RedisKeyUtil.generate(names), () -> super.touchAsync(names));
     }
 
     @Override
     public RFuture<Long> countExistsAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.countExistsAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.EXISTS_LONG.getName(),
             RedisKeyUtil.generate(names), () -> super.countExistsAsync(names));
     }
 
     @Override
     public RFuture<String> randomKeyAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.randomKeyAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.RANDOM_KEY.getName(), null,
             () -> super.randomKeyAsync());
     }
 
     @Override
     public RFuture<Long> unlinkAsync(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.unlinkAsync(keys);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.UNLINK.getName(), RedisKeyUtil.generate(keys),
             () -> super.unlinkAsync(keys));
     }
 
     @Override
     public RFuture<Long> deleteAsync(String... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.deleteAsync(keys);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.DEL.getName(), RedisKeyUtil.generate(keys),
             () -> super.deleteAsync(keys));
     }
 
     @Override
     public RFuture<Long> countAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.countAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.DBSIZE.getName(), null,
             () -> super.countAsync());
     }
 
     @Override
     public RFuture<Void> flushdbParallelAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.flushdbParallelAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.FLUSHDB_ASYNC.getName(), null,
             () -> super.flushdbParallelAsync());
     }
 
     @Override
     public RFuture<Void> flushallParallelAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.flushallParallelAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.FLUSHALL_ASYNC.getName(), null,
             () -> super.flushallParallelAsync());
     }
 
     @Override
     public RFuture<Void> flushdbAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.flushdbAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.FLUSHDB.getName(), null,
             () -> super.flushdbAsync());
     }
 
     @Override
     public RFuture<Void> flushallAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.flushallAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.FLUSHALL.getName(), null,
             () -> super.flushallAsync());
     }
 
     @Override
     public RFuture<Long> remainTimeToLiveAsync(String name) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.remainTimeToLiveAsync(name);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PTTL.getName(), name,
             () -> super.remainTimeToLiveAsync(name));
     }
 
     @Override
     public RFuture<Void> renameAsync(String currentName, String newName) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.renameAsync(currentName, newName);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.RENAME.getName(),
             RedisKeyUtil.generate(currentName, newName),
             () -> super.renameAsync(currentName, newName));
@@ -111,24 +154,36 @@ public class RedissonKeysWrapper extends RedissonKeys {
 
     @Override
     public RFuture<Boolean> renamenxAsync(String oldName, String newName) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.renamenxAsync(oldName, newName);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.RENAMENX.getName(),
             RedisKeyUtil.generate(oldName, newName), () -> super.renamenxAsync(oldName, newName));
     }
 
     @Override
     public RFuture<Boolean> clearExpireAsync(String name) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.clearExpireAsync(name);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PERSIST.getName(), name,
             () -> super.clearExpireAsync(name));
     }
 
     @Override
     public RFuture<Boolean> expireAtAsync(String name, long timestamp) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAtAsync(name, timestamp);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PEXPIREAT.getName(), name,
             () -> super.expireAtAsync(name, timestamp));
     }
 
     @Override
     public RFuture<Boolean> expireAsync(String name, long timeToLive, TimeUnit timeUnit) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.expireAsync(name, timeToLive, timeUnit);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.PEXPIRE.getName(), name,
             () -> super.expireAsync(name, timeToLive, timeUnit));
     }
@@ -1,5 +1,6 @@
 package io.arex.inst.redisson.v3.wrapper;
 
+import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
@@ -33,68 +34,104 @@ public class RedissonListWrapper<V> extends RedissonList<V> {
 
     @Override
     public RFuture<Integer> sizeAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sizeAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LLEN_INT.getName(), getRawName(),
             () -> super.sizeAsync());
     }
 
     @Override
     public RFuture<List<V>> readAllAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readAllAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listReadAll", getRawName(), () -> super.readAllAsync());
     }
 
     @Override
     protected <T> RFuture<T> addAsync(V e, RedisCommand<T> command) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAsync(e, command);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, command.getName(), getRawName(),
             () -> super.addAsync(e, command));
     }
 
     @Override
     public RFuture<Boolean> removeAsync(Object o, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeAsync(o, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LREM.getName(), getRawName(),
             RedisKeyUtil.generate("count", String.valueOf(count)), () -> super.removeAsync(o, count));
     }
 
     @Override
     public RFuture<Boolean> containsAllAsync(Collection<?> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.containsAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listContains", getRawName(), () -> super.containsAllAsync(c));
     }
 
     @Override
     public RFuture<Boolean> addAllAsync(Collection<? extends V> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.RPUSH_BOOLEAN.getName(), getRawName(),
             () -> super.addAllAsync(c));
     }
 
     @Override
     public RFuture<Boolean> addAllAsync(int index, Collection<? extends V> coll) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAllAsync(index, coll);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.RPUSH_BOOLEAN.getName(), getRawName(),
             RedisKeyUtil.generate("index", String.valueOf(index)), () -> super.addAllAsync(index, coll));
     }
 
     @Override
     public RFuture<Boolean> removeAllAsync(Collection<?> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listRemoveAll", getRawName(), () -> super.removeAllAsync(c));
     }
 
     @Override
     public RFuture<Boolean> retainAllAsync(Collection<?> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.retainAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listRetainAll", getRawName(), () -> super.retainAllAsync(c));
     }
 
     @Override
     public RFuture<V> getAsync(int index) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAsync(index);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LINDEX.getName(), getRawName(),
             String.valueOf(index), () -> super.getAsync(index));
     }
 
     @Override
     public RFuture<List<V>> getAsync(int... indexes) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAsync(indexes);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LINDEX.getName(), getRawName(),
             RedisKeyUtil.generate(indexes), () -> super.getAsync(indexes));
     }
 
     @Override
     public RFuture<V> setAsync(int index, V element) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.setAsync(index, element);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listSet", getRawName(), String.valueOf(index),
             () -> super.setAsync(index, element));
     }
@@ -106,60 +143,90 @@ public class RedissonListWrapper<V> extends RedissonList<V> {
 
     @Override
     public RFuture<Void> fastSetAsync(int index, V element) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastSetAsync(index, element);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listFastSet", getRawName(), String.valueOf(index),
             () -> super.fastSetAsync(index, element));
     }
 
     @Override
     public RFuture<V> removeAsync(int index) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeAsync(index);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listRemove", getRawName(), String.valueOf(index),
             () -> super.removeAsync(index));
     }
 
     @Override
     public RFuture<Void> fastRemoveAsync(int index) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastRemoveAsync(index);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listFastRemove", getRawName(), String.valueOf(index),
             () -> super.fastRemoveAsync(index));
     }
 
     @Override
     public <R> RFuture<R> indexOfAsync(Object o, Convertor<R> convertor) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.indexOfAsync(o, convertor);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listIndexOf", getRawName(),
             () -> super.indexOfAsync(o, convertor));
     }
 
     @Override
     public RFuture<Integer> lastIndexOfAsync(Object o) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.lastIndexOfAsync(o);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listLastIndexOf", getRawName(), String.valueOf(o),
             () -> super.lastIndexOfAsync(o));
     }
 
     @Override
     public <R> RFuture<R> lastIndexOfAsync(Object o, Convertor<R> convertor) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.lastIndexOfAsync(o, convertor);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "listLastIndexOf", getRawName(), String.valueOf(o),
             () -> super.lastIndexOfAsync(o, convertor));
     }
 
     @Override
     public RFuture<Void> trimAsync(int fromIndex, int toIndex) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.trimAsync(fromIndex, toIndex);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LTRIM.getName(), getRawName(),
             RedisKeyUtil.generate("from", fromIndex, "to", toIndex), () -> super.trimAsync(fromIndex, toIndex));
     }
 
     @Override
     public RFuture<Integer> addAfterAsync(V elementToFind, V element) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAfterAsync(elementToFind, element);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LINSERT_INT.getName(), getRawName(), "AFTER",
             () -> super.addAfterAsync(elementToFind, element));
     }
 
     @Override
     public RFuture<Integer> addBeforeAsync(V elementToFind, V element) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addBeforeAsync(elementToFind, element);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LINSERT_INT.getName(), getRawName(), "BEFORE",
             () -> super.addBeforeAsync(elementToFind, element));
     }
 
     @Override
     public RFuture<List<V>> rangeAsync(int fromIndex, int toIndex) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.rangeAsync(fromIndex, toIndex);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LRANGE.getName(), getRawName(),
             RedisKeyUtil.generate("from", fromIndex, "to", toIndex), () -> super.rangeAsync(fromIndex, toIndex));
     }
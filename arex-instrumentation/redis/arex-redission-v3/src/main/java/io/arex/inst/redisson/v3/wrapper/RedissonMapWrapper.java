@@ -1,5 +1,6 @@
 package io.arex.inst.redisson.v3.wrapper;
 
+import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
@@ -37,66 +38,99 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     public RFuture<Integer> sizeAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sizeAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HLEN.getName(), getRawName(),
             () -> super.sizeAsync());
     }
 
     @Override
     public RFuture<Integer> valueSizeAsync(K key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.valueSizeAsync(key);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HSTRLEN.getName(), getRawName(),
             String.valueOf(key), () -> super.valueSizeAsync(key));
     }
 
     @Override
     protected RFuture<Boolean> containsKeyOperationAsync(String name, Object key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.containsKeyOperationAsync(name, key);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HEXISTS.getName(), getRawName(),
             String.valueOf(key), () -> super.containsKeyOperationAsync(name, key));
     }
 
     @Override
     public RFuture<Boolean> containsValueAsync(Object value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.containsValueAsync(value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HVALS.getName(), getRawName(),
             String.valueOf(value), () -> super.containsValueAsync(value));
     }
 
     @Override
     public RFuture<Set<K>> randomKeysAsync(int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.randomKeysAsync(count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HRANDFIELD_KEYS.getName(), getRawName(),
             () -> super.randomKeysAsync(count));
     }
 
     @Override
     public RFuture<Map<K, V>> randomEntriesAsync(int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.randomEntriesAsync(count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HRANDFIELD.getName(), getRawName(),
             () -> super.randomEntriesAsync(count));
     }
 
     @Override
     public RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getAllOperationAsync(keys);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "HMGET", getRawName(), RedisKeyUtil.generate(keys),
             () -> super.getAllOperationAsync(keys));
     }
 
     @Override
     protected RFuture<Void> putAllOperationAsync(Map<? extends K, ? extends V> map) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.putAllOperationAsync(map);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HMSET.getName(), getRawName(),
             RedisKeyUtil.generate(map), () -> super.putAllOperationAsync(map));
     }
 
     @Override
     public RFuture<Set<K>> readAllKeySetAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readAllKeySetAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HKEYS.getName(), getRawName(),
             () -> super.readAllKeySetAsync());
     }
 
     @Override
     public RFuture<Collection<V>> readAllValuesAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readAllValuesAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HVALS.getName(), getRawName(),
             () -> super.readAllValuesAsync());
     }
 
     @Override
     public RFuture<Set<Entry<K, V>>> readAllEntrySetAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readAllEntrySetAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.HGETALL.getName(), "entry"), getRawName(),
             () -> super.readAllEntrySetAsync());
@@ -104,12 +138,18 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     public RFuture<Map<K, V>> readAllMapAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readAllMapAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HGETALL.getName(), getRawName(),
             () -> super.readAllMapAsync());
     }
 
     @Override
     protected RFuture<V> putIfExistsOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.putIfExistsOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate("hget", "hset", "putIfExistsOperation"), getRawName(), String.valueOf(key),
             () -> super.putIfExistsOperationAsync(key, value));
@@ -117,6 +157,9 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     protected RFuture<V> putIfAbsentOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.putIfAbsentOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate("hsetnx", "hget", "putIfAbsentOperation"), getRawName(), String.valueOf(key),
             () -> super.putIfAbsentOperationAsync(key, value));
@@ -124,12 +167,18 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     protected RFuture<Boolean> fastPutIfAbsentOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastPutIfAbsentOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HSETNX.getName(), getRawName(),
             String.valueOf(key), () -> super.fastPutIfAbsentOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> fastPutIfExistsOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastPutIfExistsOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate("hget", "hset", "fastPutIfExistsOperation"), getRawName(), String.valueOf(key),
             () -> super.fastPutIfExistsOperationAsync(key, value));
@@ -137,24 +186,36 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "replaceOperation2"),
             getRawName(), String.valueOf(key), () -> super.removeOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> replaceOperationAsync(K key, V oldValue, V newValue) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.replaceOperationAsync(key, oldValue, newValue);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "replaceOperation3"),
             getRawName(), String.valueOf(key), () -> super.replaceOperationAsync(key, oldValue, newValue));
     }
 
     @Override
     protected RFuture<V> replaceOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.replaceOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "replaceOperation"),
             getRawName(), String.valueOf(key), () -> super.replaceOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> fastReplaceOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastReplaceOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate("hexists", "hset", "fastReplaceOperation"), getRawName(), String.valueOf(key),
             () -> super.fastReplaceOperationAsync(key, value));
@@ -162,30 +223,45 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     public RFuture<V> getOperationAsync(K key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.getOperationAsync(key);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HGET.getName(), getRawName(),
             String.valueOf(key), () -> super.getOperationAsync(key));
     }
 
     @Override
     protected RFuture<V> putOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.putOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "putOperation"),
             getRawName(), String.valueOf(key), () -> super.putOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<V> removeOperationAsync(K key) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeOperationAsync(key);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HDEL.getName(), getRawName(),
             String.valueOf(key), () -> super.removeOperationAsync(key));
     }
 
     @Override
     protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastPutOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HSET.getName(), getRawName(),
             String.valueOf(key), () -> super.fastPutOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<List<Long>> fastRemoveOperationBatchAsync(K... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastRemoveOperationBatchAsync(keys);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.HDEL.getName(), "batch"), getRawName(), RedisKeyUtil.generate(keys),
             () -> super.fastRemoveOperationBatchAsync(keys));
@@ -193,12 +269,18 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     protected RFuture<Long> fastRemoveOperationAsync(K... keys) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.fastRemoveOperationAsync(keys);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HDEL.getName(), getRawName(),
             RedisKeyUtil.generate(keys), () -> super.fastRemoveOperationAsync(keys));
     }
 
     @Override
     protected RFuture<V> addAndGetOperationAsync(K key, Number value) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAndGetOperationAsync(key, value);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "HINCRBYFLOAT", getRawName(), String.valueOf(key),
             () -> super.addAndGetOperationAsync(key, value));
     }
@@ -1,6 +1,7 @@
 package io.arex.inst.redisson.v3.wrapper;
 
 import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
@@ -35,12 +36,18 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
 
     @Override
     public RFuture<Integer> sizeAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sizeAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SCARD_INT.getName(), getRawName(),
             () -> super.sizeAsync());
     }
 
     @Override
     public RFuture<Boolean> containsAsync(Object o) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.containsAsync(o);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.SMEMBERS.getName(), "contains"), getRawName(),
             () -> super.containsAsync(o));
@@ -48,6 +55,9 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
 
     @Override
     public RFuture<Set<V>> readAllAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readAllAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri,
             RedisKeyUtil.generate(RedisCommands.SMEMBERS.getName(), "readAll"), getRawName(),
             () -> super.readAllAsync());
@@ -55,144 +65,216 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
 
     @Override
     public RFuture<Boolean> addAsync(V e) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAsync(e);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SADD_SINGLE.getName(), getRawName(),
             () -> super.addAsync(e));
     }
 
     @Override
     public RFuture<V> removeRandomAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeRandomAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SPOP_SINGLE.getName(), getRawName(),
             () -> super.removeRandomAsync());
     }
 
     @Override
     public RFuture<Set<V>> removeRandomAsync(int amount) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeRandomAsync(amount);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SPOP.getName(), getRawName(),
             () -> super.removeRandomAsync(amount));
     }
 
     @Override
     public RFuture<V> randomAsync() {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.randomAsync();
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SRANDMEMBER_SINGLE.getName(), getRawName(),
             () -> super.randomAsync());
     }
 
     @Override
     public RFuture<Set<V>> randomAsync(int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.randomAsync(count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SRANDMEMBER.getName(), getRawName(),
             () -> super.randomAsync(count));
     }
 
     @Override
     public RFuture<Boolean> removeAsync(Object o) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeAsync(o);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SREM_SINGLE.getName(), getRawName(),
             () -> super.removeAsync(o));
     }
 
     @Override
     public RFuture<Boolean> moveAsync(String destination, V member) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.moveAsync(destination, member);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SMOVE.getName(), getRawName(),
             () -> super.moveAsync(destination, member));
     }
 
     @Override
     public RFuture<Boolean> containsAllAsync(Collection<?> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.containsAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "setContainsAll", getRawName(),
             () -> super.containsAllAsync(c));
     }
 
     @Override
     public RFuture<Boolean> addAllAsync(Collection<? extends V> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SADD_BOOL.getName(), getRawName(),
             () -> super.addAllAsync(c));
     }
 
     @Override
     public RFuture<Integer> addAllCountedAsync(Collection<? extends V> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.addAllCountedAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SADD.getName(), getRawName(),
             () -> super.addAllCountedAsync(c));
     }
 
     @Override
     public RFuture<Boolean> retainAllAsync(Collection<?> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.retainAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "setRetainAll", getRawName(),
             () -> super.retainAllAsync(c));
     }
 
     @Override
     public RFuture<Boolean> removeAllAsync(Collection<?> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeAllAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "setRemoveAll", getRawName(),
             () -> super.removeAllAsync(c));
     }
 
     @Override
     public RFuture<Integer> removeAllCountedAsync(Collection<? extends V> c) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.removeAllCountedAsync(c);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SREM.getName(), getRawName(),
             () -> super.removeAllCountedAsync(c));
     }
 
     @Override
     public RFuture<Integer> unionAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.unionAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SUNIONSTORE_INT.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.unionAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readUnionAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readUnionAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SUNION.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.readUnionAsync(names));
     }
 
     @Override
     public RFuture<Integer> diffAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.diffAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SDIFFSTORE_INT.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.diffAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readDiffAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readDiffAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SDIFF.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.readDiffAsync(names));
     }
 
     @Override
     public RFuture<Integer> intersectionAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.intersectionAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SINTERSTORE_INT.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.intersectionAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readIntersectionAsync(String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readIntersectionAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SINTER.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.readIntersectionAsync(names));
     }
 
     @Override
     public RFuture<Integer> countIntersectionAsync(int limit, String... names) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.countIntersectionAsync(names);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SINTERCARD_INT.getName(), getRawName(),
             RedisKeyUtil.generate(names), () -> super.countIntersectionAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readSortAsync(SortOrder order) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAsync(order);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             order.name(), () -> super.readSortAsync(order));
     }
 
     @Override
     public RFuture<Set<V>> readSortAsync(SortOrder order, int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAsync(order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate(order.name(), offset, count), () -> super.readSortAsync(order, offset, count));
     }
 
     @Override
     public RFuture<Set<V>> readSortAsync(String byPattern, SortOrder order) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAsync(byPattern, order);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate(byPattern, order.name()), () -> super.readSortAsync(byPattern, order));
     }
 
     @Override
     public RFuture<Set<V>> readSortAsync(String byPattern, SortOrder order, int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAsync(byPattern, order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate(byPattern, order.name(), offset, count),
             () -> super.readSortAsync(byPattern, order, offset, count));
@@ -201,6 +283,9 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
     @Override
     public <T> RFuture<Collection<T>> readSortAsync(String byPattern, List<String> getPatterns, SortOrder order,
         int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAsync(byPattern, getPatterns, order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate(byPattern, StringUtil.join(getPatterns, ","), order.name(), offset, count),
             () -> super.readSortAsync(byPattern, getPatterns, order, offset, count));
@@ -208,12 +293,18 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
 
     @Override
     public RFuture<Set<V>> readSortAlphaAsync(SortOrder order) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAlphaAsync(order);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate("ALPHA", order.name()), () -> super.readSortAlphaAsync(order));
     }
 
     @Override
     public RFuture<Set<V>> readSortAlphaAsync(SortOrder order, int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAlphaAsync(order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate("ALPHA", order.name(), offset, count),
             () -> super.readSortAlphaAsync(order, offset, count));
@@ -221,12 +312,18 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
 
     @Override
     public RFuture<Set<V>> readSortAlphaAsync(String byPattern, SortOrder order) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAlphaAsync(byPattern, order);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate("ALPHA", byPattern, order.name()), () -> super.readSortAlphaAsync(byPattern, order));
     }
 
     @Override
     public RFuture<Set<V>> readSortAlphaAsync(String byPattern, SortOrder order, int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAsync(byPattern, order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate("ALPHA", byPattern, order.name(), offset, count),
             () -> super.readSortAsync(byPattern, order, offset, count));
@@ -235,6 +332,9 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
     @Override
     public <T> RFuture<Collection<T>> readSortAlphaAsync(String byPattern, List<String> getPatterns, SortOrder order,
         int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.readSortAlphaAsync(byPattern, getPatterns, order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_SET.getName(), getRawName(),
             RedisKeyUtil.generate("ALPHA", byPattern, StringUtil.join(getPatterns, ","), order.name(), offset, count),
             () -> super.readSortAlphaAsync(byPattern, getPatterns, order, offset, count));
@@ -243,6 +343,9 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
     @Override
     public RFuture<Integer> sortToAsync(String destName, String byPattern, List<String> getPatterns, SortOrder order,
         int offset, int count) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.sortToAsync(destName, byPattern, getPatterns, order, offset, count);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SORT_TO.getName(), getRawName(),
             RedisKeyUtil.generate(destName, byPattern, StringUtil.join(getPatterns, ","), order.name(), offset, count),
             () -> super.sortToAsync(destName, byPattern, getPatterns, order, offset, count));
@@ -250,6 +353,9 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
 
     @Override
     public RFuture<Boolean> tryAddAsync(V... values) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return super.tryAddAsync(values);
+        }
         return RedissonWrapperCommon.delegateCall(redisUri, "tryAdd", getRawName(), () -> super.tryAddAsync(values));
     }
 }
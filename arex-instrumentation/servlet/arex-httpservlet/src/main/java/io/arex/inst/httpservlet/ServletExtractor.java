@@ -5,6 +5,7 @@ import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.inst.httpservlet.adapter.ServletAdapter;
 import io.arex.inst.httpservlet.converter.HttpMessageConvertFactory;
 import io.arex.inst.httpservlet.converter.HttpMessageConverter;
+import io.arex.inst.runtime.config.HeaderFilter;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.listener.CaseEvent;
@@ -17,7 +18,6 @@ import io.arex.inst.runtime.util.TypeUtil;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
@@ -58,8 +58,10 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
             return;
         }
 
-        if (adapter.getResponseHeader(httpServletResponse, ArexConstants.RECORD_ID) != null ||
-                adapter.getResponseHeader(httpServletResponse, ArexConstants.REPLAY_ID) != null) {
+        // the tee response carries the id header since it was wrapped, it may be committed already
+        boolean tee = adapter.isResponseTee(httpServletResponse);
+        if (!tee && (adapter.getResponseHeader(httpServletResponse, ArexConstants.RECORD_ID) != null ||
+                adapter.getResponseHeader(httpServletResponse, ArexConstants.REPLAY_ID) != null)) {
             adapter.copyBodyToResponse(httpServletResponse);
             return;
         }
@@ -69,7 +71,9 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
             return;
         }
 
-        setResponseHeader();
+        if (!tee) {
+            setResponseHeader();
+        }
         doExecute();
         CaseEventDispatcher.onEvent(CaseEvent.ofExitEvent());
         adapter.removeAttribute(httpServletRequest, ServletAdviceHelper.SERVLET_ASYNC_FLAG);
@@ -118,7 +122,14 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
 
         mocker.getTargetRequest().setAttributes(requestAttributes);
         mocker.getTargetRequest().setBody(getRequest());
-        mocker.getTargetResponse().setAttributes(Collections.singletonMap("Headers", getResponseHeaders()));
+        Map<String, Object> responseAttributes = new HashMap<>();
+        responseAttributes.put("Headers", getResponseHeaders());
+        if (adapter.isResponseTruncated(httpServletResponse)) {
+            responseAttributes.put(ArexConstants.BODY_TRUNCATED, Boolean.TRUE);
+            responseAttributes.put(ArexConstants.BODY_LENGTH, adapter.getResponseBodyLength(httpServletResponse));
+            responseAttributes.put(ArexConstants.BODY_HASH, adapter.getResponseBodyHash(httpServletResponse));
+        }
+        mocker.getTargetResponse().setAttributes(responseAttributes);
 
         Object response = getResponse();
         String responseString = response instanceof String ? (String) response : Serializer.serialize(response);
@@ -145,6 +156,7 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
 
     private Map<String, String> getRequestHeaders() {
         Map<String, String> headers = new HashMap<>();
+        HeaderFilter headerFilter = HeaderFilter.get();
         final Enumeration<String> headerNames = adapter.getRequestHeaderNames(httpServletRequest);
         while (headerNames.hasMoreElements()) {
             final String key = headerNames.nextElement();
@@ -152,16 +164,23 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
             if ("referer".equals(key)) {
                 continue;
             }
-            headers.put(key, adapter.getRequestHeader(httpServletRequest, key));
+            String name = headerFilter.capture(key);
+            if (name != null) {
+                headers.put(name, adapter.getRequestHeader(httpServletRequest, key));
+            }
         }
         return headers;
     }
 
     private Map<String, String> getResponseHeaders() {
         Map<String, String> headers = new HashMap<>();
+        HeaderFilter headerFilter = HeaderFilter.get();
         final Collection<String> headerNames = adapter.getResponseHeaderNames(httpServletResponse);
         for (String key : headerNames) {
-            headers.put(key, adapter.getResponseHeader(httpServletResponse, key));
+            String name = headerFilter.capture(key);
+            if (name != null) {
+                headers.put(name, adapter.getResponseHeader(httpServletResponse, key));
+            }
         }
         return headers;
     }
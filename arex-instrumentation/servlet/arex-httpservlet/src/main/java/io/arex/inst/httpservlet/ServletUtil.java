@@ -1,8 +1,10 @@
 package io.arex.inst.httpservlet;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.util.MapUtils;
 import io.arex.agent.bootstrap.util.CollectionUtil;
 import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.config.Config;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -96,4 +98,20 @@ public class ServletUtil {
         }
         return requestParamsMap;
     }
+
+    /**
+     * Whether the response wrapper writes through to the client instead of buffering the whole body until exit
+     */
+    public static boolean isResponseTee() {
+        Config config = Config.get();
+        return config != null && config.getBoolean(ConfigConstants.SERVLET_RESPONSE_TEE, false);
+    }
+
+    /**
+     * @return max bytes of the body to capture, 0 means unlimited
+     */
+    public static int getMaxCaptureSize() {
+        Config config = Config.get();
+        return config == null ? 0 : config.getInt(ConfigConstants.HTTP_BODY_MAX_CAPTURE_SIZE, 0);
+    }
 }
@@ -62,6 +62,23 @@ public interface ServletAdapter<HttpServletRequest, HttpServletResponse> {
 
     byte[] getResponseBytes(HttpServletResponse httpServletResponse);
 
+    boolean isResponseTruncated(HttpServletResponse httpServletResponse);
+
+    /**
+     * @return length of the whole body written through in tee mode, -1 if the response is not wrapped
+     */
+    long getResponseBodyLength(HttpServletResponse httpServletResponse);
+
+    /**
+     * @return CRC32 in hex of the whole body written through in tee mode, null if the response is not wrapped
+     */
+    String getResponseBodyHash(HttpServletResponse httpServletResponse);
+
+    /**
+     * @return true if the response is written through while captured, its record/replay id header is set when wrapped
+     */
+    boolean isResponseTee(HttpServletResponse httpServletResponse);
+
     HttpServletRequest asHttpServletRequest(Object servletRequest);
 
     HttpServletResponse asHttpServletResponse(Object servletResponse);
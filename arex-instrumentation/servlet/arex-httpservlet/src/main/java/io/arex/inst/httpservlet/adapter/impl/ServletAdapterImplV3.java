@@ -192,6 +192,34 @@ public class ServletAdapterImplV3 implements ServletAdapter<HttpServletRequest,
         return ((CachedBodyResponseWrapperV3) httpServletResponse).getContentAsByteArray();
     }
 
+    @Override
+    public boolean isResponseTee(HttpServletResponse httpServletResponse) {
+        return httpServletResponse instanceof CachedBodyResponseWrapperV3
+            && ((CachedBodyResponseWrapperV3) httpServletResponse).isTee();
+    }
+
+    @Override
+    public boolean isResponseTruncated(HttpServletResponse httpServletResponse) {
+        return httpServletResponse instanceof CachedBodyResponseWrapperV3
+            && ((CachedBodyResponseWrapperV3) httpServletResponse).isTruncated();
+    }
+
+    @Override
+    public long getResponseBodyLength(HttpServletResponse httpServletResponse) {
+        if (httpServletResponse instanceof CachedBodyResponseWrapperV3) {
+            return ((CachedBodyResponseWrapperV3) httpServletResponse).getTeeLength();
+        }
+        return -1;
+    }
+
+    @Override
+    public String getResponseBodyHash(HttpServletResponse httpServletResponse) {
+        if (httpServletResponse instanceof CachedBodyResponseWrapperV3) {
+            return ((CachedBodyResponseWrapperV3) httpServletResponse).getTeeHash();
+        }
+        return null;
+    }
+
     @Override
     public HttpServletRequest asHttpServletRequest(Object servletRequest) {
         if (servletRequest instanceof HttpServletRequest) {
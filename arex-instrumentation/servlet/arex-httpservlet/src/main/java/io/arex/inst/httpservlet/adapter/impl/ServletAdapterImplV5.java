@@ -192,6 +192,34 @@ public class ServletAdapterImplV5 implements ServletAdapter<HttpServletRequest,
         return ((CachedBodyResponseWrapperV5) httpServletResponse).getContentAsByteArray();
     }
 
+    @Override
+    public boolean isResponseTee(HttpServletResponse httpServletResponse) {
+        return httpServletResponse instanceof CachedBodyResponseWrapperV5
+            && ((CachedBodyResponseWrapperV5) httpServletResponse).isTee();
+    }
+
+    @Override
+    public boolean isResponseTruncated(HttpServletResponse httpServletResponse) {
+        return httpServletResponse instanceof CachedBodyResponseWrapperV5
+            && ((CachedBodyResponseWrapperV5) httpServletResponse).isTruncated();
+    }
+
+    @Override
+    public long getResponseBodyLength(HttpServletResponse httpServletResponse) {
+        if (httpServletResponse instanceof CachedBodyResponseWrapperV5) {
+            return ((CachedBodyResponseWrapperV5) httpServletResponse).getTeeLength();
+        }
+        return -1;
+    }
+
+    @Override
+    public String getResponseBodyHash(HttpServletResponse httpServletResponse) {
+        if (httpServletResponse instanceof CachedBodyResponseWrapperV5) {
+            return ((CachedBodyResponseWrapperV5) httpServletResponse).getTeeHash();
+        }
+        return null;
+    }
+
     @Override
     public HttpServletRequest asHttpServletRequest(Object servletRequest) {
         if (servletRequest instanceof HttpServletRequest) {
@@ -11,13 +11,18 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpServletResponseWrapper;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.io.UnsupportedEncodingException;
+import java.util.zip.CRC32;
 
 /**
  * CachedBodyResponseWrapperV3
- *
+ * <p>
+ * By default the body is buffered and sent to the client in {@link #copyBodyToResponse()}.
+ * In tee mode ({@link io.arex.agent.bootstrap.constants.ConfigConstants#SERVLET_RESPONSE_TEE}) the body is written
+ * through to the client immediately and only the first max capture size bytes are kept for recording.
+ * As the response may be committed before exit, the record/replay id header is set when wrapped in this mode.
  *
  * @date 2022/03/03
  */
@@ -31,13 +36,54 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
 
     private Integer contentLength;
 
+    private final boolean tee;
+
+    private final int maxCaptureSize;
+
+    private boolean truncated;
+
+    /**
+     * length and CRC32 of the whole body written through in tee mode, recorded when truncated
+     */
+    private long teeLength;
+
+    private final CRC32 teeChecksum = new CRC32();
 
     /**
      * Create a new CachedBodyResponseWrapper for the given servlet response.
      * @param response the original servlet response
      */
     public CachedBodyResponseWrapperV3(HttpServletResponse response) {
+        this(response, ServletUtil.isResponseTee(), ServletUtil.getMaxCaptureSize());
+    }
+
+    /**
+     * @param tee write through to the original response while capturing
+     * @param maxCaptureSize max bytes to capture in tee mode, 0 means unlimited
+     */
+    public CachedBodyResponseWrapperV3(HttpServletResponse response, boolean tee, int maxCaptureSize) {
         super(response);
+        this.tee = tee;
+        this.maxCaptureSize = maxCaptureSize;
+        if (tee) {
+            setIdHeader();
+        }
+    }
+
+    private void setIdHeader() {
+        ArexContext context = ContextManager.currentContext();
+        if (context == null) {
+            return;
+        }
+        if (context.isReplay()) {
+            super.setHeader(ArexConstants.REPLAY_ID, context.getReplayId());
+        } else {
+            super.setHeader(ArexConstants.RECORD_ID, context.getCaseId());
+        }
+    }
+
+    public boolean isTee() {
+        return this.tee;
     }
 
 
@@ -96,11 +142,18 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
 
     @Override
     public void flushBuffer() throws IOException {
-        // do not flush the underlying response as the content has not been copied to it yet
+        // in buffered mode do not flush the underlying response as the content has not been copied to it yet
+        if (this.tee) {
+            super.flushBuffer();
+        }
     }
 
     @Override
     public void setContentLength(int len) {
+        if (this.tee) {
+            super.setContentLength(len);
+            return;
+        }
         if (len > this.content.size()) {
             this.content.resize(len);
         }
@@ -110,6 +163,10 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
     // Overrides Servlet 3.1 setContentLengthLong(long) at runtime
     @Override
     public void setContentLengthLong(long len) {
+        if (this.tee) {
+            super.setContentLengthLong(len);
+            return;
+        }
         if (len > Integer.MAX_VALUE) {
             throw new IllegalArgumentException("Content-Length exceeds CachedBodyResponseWrapper's maximum (" +
                 Integer.MAX_VALUE + "): " + len);
@@ -123,6 +180,10 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
 
     @Override
     public void setBufferSize(int size) {
+        if (this.tee) {
+            super.setBufferSize(size);
+            return;
+        }
         if (size > this.content.size()) {
             this.content.resize(size);
         }
@@ -130,13 +191,26 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
 
     @Override
     public void resetBuffer() {
-        this.content.reset();
+        if (this.tee) {
+            super.resetBuffer();
+        }
+        resetContent();
     }
 
     @Override
     public void reset() {
         super.reset();
+        resetContent();
+        if (this.tee) {
+            setIdHeader();
+        }
+    }
+
+    private void resetContent() {
         this.content.reset();
+        this.truncated = false;
+        this.teeLength = 0;
+        this.teeChecksum.reset();
     }
 
     /**
@@ -155,6 +229,27 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
         return this.content.toByteArray();
     }
 
+    /**
+     * Whether the body exceeded the max capture size in tee mode, only the leading bytes are cached in that case.
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Length of the whole body written through in tee mode, including the bytes beyond the max capture size.
+     */
+    public long getTeeLength() {
+        return this.teeLength;
+    }
+
+    /**
+     * CRC32 in hex of the whole body written through in tee mode.
+     */
+    public String getTeeHash() {
+        return Long.toHexString(this.teeChecksum.getValue());
+    }
+
     /**
      * Return an {@link InputStream} to the cached content.
      * @since 4.2
@@ -186,6 +281,13 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
      * @since 4.2
      */
     protected void copyBodyToResponse(boolean complete) throws IOException {
+        if (this.tee) {
+            // the content has been written through, keep the captured bytes for recording
+            if (complete) {
+                super.flushBuffer();
+            }
+            return;
+        }
         if (this.content.size() > 0) {
             HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
             if ((complete || this.contentLength != null) && !rawResponse.isCommitted()) {
@@ -213,14 +315,31 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
 
         @Override
         public void write(int b) throws IOException {
+            if (tee) {
+                this.os.write(b);
+                capture(b);
+                return;
+            }
             content.write(b);
         }
 
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
+            if (tee) {
+                this.os.write(b, off, len);
+                capture(b, off, len);
+                return;
+            }
             content.write(b, off, len);
         }
 
+        @Override
+        public void flush() throws IOException {
+            if (tee) {
+                this.os.flush();
+            }
+        }
+
         @Override
         public boolean isReady() {
             return this.os.isReady();
@@ -235,8 +354,9 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
 
     private class ResponsePrintWriter extends PrintWriter {
 
-        public ResponsePrintWriter(String characterEncoding) throws UnsupportedEncodingException {
-            super(new OutputStreamWriter(content, characterEncoding));
+        public ResponsePrintWriter(String characterEncoding) throws IOException {
+            super(new OutputStreamWriter(tee ? new TeeOutputStream(getResponse().getOutputStream()) : content,
+                characterEncoding));
         }
 
         @Override
@@ -256,6 +376,70 @@ public class CachedBodyResponseWrapperV3 extends HttpServletResponseWrapper {
             super.write(c);
             super.flush();
         }
+
+        @Override
+        public void flush() {
+            super.flush();
+            if (tee) {
+                try {
+                    getResponse().flushBuffer();
+                } catch (IOException e) {
+                    setError();
+                }
+            }
+        }
+    }
+
+    private void capture(int b) throws IOException {
+        this.teeLength++;
+        this.teeChecksum.update(b);
+        if (this.truncated) {
+            return;
+        }
+        if (this.maxCaptureSize > 0 && this.content.size() >= this.maxCaptureSize) {
+            this.truncated = true;
+            return;
+        }
+        this.content.write(b);
     }
 
+    private void capture(byte[] b, int off, int len) throws IOException {
+        this.teeLength += len;
+        this.teeChecksum.update(b, off, len);
+        if (this.truncated) {
+            return;
+        }
+        int remaining = this.maxCaptureSize > 0 ? this.maxCaptureSize - this.content.size() : len;
+        if (len > remaining) {
+            this.content.write(b, off, remaining);
+            this.truncated = true;
+            return;
+        }
+        this.content.write(b, off, len);
+    }
+
+
+    /**
+     * Target of the writer in tee mode, the writer flushes after each write so the underlying stream is not flushed.
+     */
+    private class TeeOutputStream extends OutputStream {
+
+        private final OutputStream os;
+
+        public TeeOutputStream(OutputStream os) {
+            this.os = os;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.os.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.os.write(b, off, len);
+            capture(b, off, len);
+        }
+    }
 }
@@ -245,6 +245,27 @@ class ServletAdapterImplV3Test {
         assertEquals(0, instance.getResponseBytes(instance.wrapResponse(mockResponse)).length);
     }
 
+    @Test
+    void isResponseTee() {
+        assertFalse(instance.isResponseTee(mockResponse));
+        assertFalse(instance.isResponseTee(instance.wrapResponse(mockResponse)));
+    }
+
+    @Test
+    void isResponseTruncated() {
+        assertFalse(instance.isResponseTruncated(mockResponse));
+        assertFalse(instance.isResponseTruncated(instance.wrapResponse(mockResponse)));
+    }
+
+    @Test
+    void getResponseBodyLengthAndHash() {
+        assertEquals(-1, instance.getResponseBodyLength(mockResponse));
+        assertNull(instance.getResponseBodyHash(mockResponse));
+        HttpServletResponse wrapped = instance.wrapResponse(mockResponse);
+        assertEquals(0, instance.getResponseBodyLength(wrapped));
+        assertEquals("0", instance.getResponseBodyHash(wrapped));
+    }
+
     @Test
     void asHttpServletRequest() {
         assertNotNull(instance.asHttpServletRequest(mockRequest));
@@ -0,0 +1,119 @@
+package io.arex.inst.httpservlet.wrapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import io.arex.inst.runtime.context.ArexContext;
+import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.model.ArexConstants;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+class CachedBodyResponseWrapperV3Test {
+    HttpServletResponse mockResponse = Mockito.mock(HttpServletResponse.class);
+    ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(mockResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+        });
+    }
+
+    @Test
+    void buffered() throws IOException {
+        CachedBodyResponseWrapperV3 wrapper = new CachedBodyResponseWrapperV3(mockResponse, false, 0);
+        wrapper.getOutputStream().write("mock".getBytes(StandardCharsets.UTF_8));
+        assertEquals(0, sent.size());
+
+        wrapper.copyBodyToResponse();
+        assertEquals("mock", sent.toString());
+        Mockito.verify(mockResponse).setContentLength(4);
+    }
+
+    @Test
+    void tee() throws IOException {
+        CachedBodyResponseWrapperV3 wrapper = new CachedBodyResponseWrapperV3(mockResponse, true, 0);
+        wrapper.setContentLength(8);
+        Mockito.verify(mockResponse).setContentLength(8);
+
+        wrapper.getOutputStream().write("mock".getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().write('-');
+        assertEquals("mock-", sent.toString());
+
+        wrapper.copyBodyToResponse();
+        assertEquals("mock-", sent.toString());
+        assertEquals("mock-", new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        assertFalse(wrapper.isTruncated());
+        Mockito.verify(mockResponse, Mockito.never()).setContentLength(5);
+        Mockito.verify(mockResponse).flushBuffer();
+    }
+
+    @Test
+    void teeTruncated() throws IOException {
+        when(mockResponse.getCharacterEncoding()).thenReturn("UTF-8");
+        CachedBodyResponseWrapperV3 wrapper = new CachedBodyResponseWrapperV3(mockResponse, true, 6);
+        PrintWriter writer = wrapper.getWriter();
+        writer.write("mock");
+        writer.write("-body");
+        writer.write('!');
+        assertEquals("mock-body!", sent.toString());
+        assertEquals("mock-b", new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.isTruncated());
+        // the length and hash cover the whole body
+        assertEquals(10, wrapper.getTeeLength());
+        CRC32 crc32 = new CRC32();
+        crc32.update("mock-body!".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Long.toHexString(crc32.getValue()), wrapper.getTeeHash());
+
+        wrapper.resetBuffer();
+        Mockito.verify(mockResponse).resetBuffer();
+        assertEquals(0, wrapper.getContentSize());
+        assertFalse(wrapper.isTruncated());
+        assertEquals(0, wrapper.getTeeLength());
+    }
+
+    @Test
+    void teeSetsIdHeaderWhenWrapped() {
+        try (MockedStatic<ContextManager> contextManager = Mockito.mockStatic(ContextManager.class)) {
+            contextManager.when(ContextManager::currentContext).thenReturn(ArexContext.of("mock-record-id"));
+            CachedBodyResponseWrapperV3 wrapper = new CachedBodyResponseWrapperV3(mockResponse, true, 0);
+            assertTrue(wrapper.isTee());
+            Mockito.verify(mockResponse).setHeader(ArexConstants.RECORD_ID, "mock-record-id");
+
+            // reset clears the headers
+            wrapper.reset();
+            Mockito.verify(mockResponse, Mockito.times(2)).setHeader(ArexConstants.RECORD_ID, "mock-record-id");
+
+            contextManager.when(ContextManager::currentContext).thenReturn(ArexContext.of("mock-record-id", "mock-replay-id"));
+            new CachedBodyResponseWrapperV3(mockResponse, true, 0);
+            Mockito.verify(mockResponse).setHeader(ArexConstants.REPLAY_ID, "mock-replay-id");
+
+            // buffered mode sets the header at exit
+            assertFalse(new CachedBodyResponseWrapperV3(mockResponse, false, 0).isTee());
+            Mockito.verify(mockResponse).setHeader(ArexConstants.REPLAY_ID, "mock-replay-id");
+        }
+    }
+}